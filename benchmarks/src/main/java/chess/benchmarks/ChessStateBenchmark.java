@@ -0,0 +1,114 @@
+package chess.benchmarks;
+
+import chess.model.ChessState;
+import chess.model.Move;
+import chess.model.PackedChessState;
+import chess.model.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the operations of a single {@link ChessState}, next to their {@link PackedChessState} equivalents.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChessStateBenchmark {
+    private ChessState state;
+    private ChessState shuttle;
+    private TwoPhaseMove<Move> legalMove;
+    private TwoPhaseMove<Move> forth;
+    private TwoPhaseMove<Move> back;
+    private int packedState;
+    private final int[] moveBuffer = new int[PackedChessState.MAX_MOVES];
+
+    /**
+     * Prepares the states and moves used by the benchmarks.
+     */
+    @Setup
+    public void setUp() {
+        state = new ChessState(2, 1, 2, 2, 0);
+        legalMove = new TwoPhaseMove<>(state.getPlacement(Piece.KNIGHT), Move.of(Piece.KNIGHT, 4, 3));
+        packedState = PackedChessState.of(state);
+
+        // The knight on (0, 0) attacks both (1, 2) and (2, 1), so the king can shuttle between them forever
+        shuttle = new ChessState(1, 2, 0, 0, 0);
+        forth = new TwoPhaseMove<>(Move.of(Piece.KING, 1, 2), Move.of(Piece.KING, 2, 1));
+        back = new TwoPhaseMove<>(Move.of(Piece.KING, 2, 1), Move.of(Piece.KING, 1, 2));
+    }
+
+    /**
+     * @return The legal moves of the start position.
+     */
+    @Benchmark
+    public Set<TwoPhaseMove<Move>> getLegalMoves() {
+        return state.getLegalMoves();
+    }
+
+    /**
+     * @return Whether a knight move of the start position is legal.
+     */
+    @Benchmark
+    public boolean isLegalMove() {
+        return state.isLegalMove(legalMove);
+    }
+
+    /**
+     * Moves the king forth and back, so that the state is the same after every invocation.
+     * The history is cleared as well, so that it does not grow for the whole run.
+     *
+     * @return The state after the moves.
+     */
+    @Benchmark
+    public ChessState makeMove() {
+        shuttle.makeMove(forth);
+        shuttle.makeMove(back);
+        shuttle.getHistory().clear();
+        return shuttle;
+    }
+
+    /**
+     * @return A clone of the start position.
+     */
+    @Benchmark
+    public Object cloneState() {
+        return state.clone();
+    }
+
+    /**
+     * @return The hash code of the start position.
+     */
+    @Benchmark
+    public int hashCodeState() {
+        return state.hashCode();
+    }
+
+    /**
+     * Generates the legal moves of the packed start position into a reused buffer.
+     *
+     * @param blackhole Consumes the generated moves.
+     */
+    @Benchmark
+    public void generatePackedMoves(Blackhole blackhole) {
+        int count = PackedChessState.generateMoves(packedState, moveBuffer);
+        for (int i = 0; i < count; i++) {
+            blackhole.consume(moveBuffer[i]);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package chess.benchmarks;
+
+import chess.model.ChessSolver;
+import chess.model.ChessState;
+import chess.model.GameSession;
+import chess.model.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks playing whole games through a headless {@link GameSession}, the way the board does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSessionBenchmark {
+    private final GameSession session = new GameSession();
+    private int[] clicks;
+
+    /**
+     * Records the squares to click to play the optimal solution.
+     */
+    @Setup
+    public void setUp() {
+        List<TwoPhaseMove<Move>> moves = new ChessSolver().solve(new ChessState(2, 1, 2, 2, 0)).getMoves();
+        clicks = new int[moves.size() * 4];
+        int i = 0;
+        for (TwoPhaseMove<Move> move : moves) {
+            clicks[i++] = move.from().x();
+            clicks[i++] = move.from().y();
+            clicks[i++] = move.to().x();
+            clicks[i++] = move.to().y();
+        }
+    }
+
+    /**
+     * @return {@code true} if the session was won, after starting it and clicking through the optimal solution.
+     */
+    @Benchmark
+    public boolean playOptimalGame() {
+        session.start();
+        for (int i = 0; i < clicks.length; i += 2) {
+            session.click(clicks[i], clicks[i + 1]);
+        }
+        return session.isWon();
+    }
+}
@@ -0,0 +1,99 @@
+package chess.benchmarks;
+
+import chess.model.AStarSolver;
+import chess.model.BidirectionalSolver;
+import chess.model.BoardSpec;
+import chess.model.ChessSolver;
+import chess.model.ChessState;
+import chess.model.HeuristicTable;
+import chess.model.IdaStarSolver;
+import chess.model.Solution;
+import chess.model.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the solvers on the largest board, with the pieces far from the goal in the opposite corner.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LargeBoardSolverBenchmark {
+    private final BoardSpec board = new BoardSpec(BoardSpec.MAX_SIZE, BoardSpec.MAX_SIZE, 0, 0);
+    private final ChessState initialState = new ChessState(board, 60, 60, 61, 62, 0);
+    private final ChessSolver breadthFirstSolver = new ChessSolver();
+    private final AStarSolver aStarSolver = new AStarSolver();
+    private final BidirectionalSolver bidirectionalSolver = new BidirectionalSolver();
+    private final IdaStarSolver idaStarSolver = new IdaStarSolver();
+    private final IdaStarSolver idaStarTableSolver =
+            new IdaStarSolver(new TranspositionTable(1 << 20), Long.MAX_VALUE, null);
+
+    /**
+     * Computes the heuristic table of the board outside the measurement.
+     */
+    @Setup
+    public void setUp() {
+        HeuristicTable.forBoard(board);
+    }
+
+    /**
+     * @return The breadth-first solution.
+     */
+    @Benchmark
+    public Solution breadthFirstSolve() {
+        return breadthFirstSolver.solve(initialState);
+    }
+
+    /**
+     * @return The A* solution.
+     */
+    @Benchmark
+    public Solution aStarSolve() {
+        return aStarSolver.solve(initialState);
+    }
+
+    /**
+     * @return The bidirectional breadth-first solution.
+     */
+    @Benchmark
+    public Solution bidirectionalSolve() {
+        return bidirectionalSolver.solve(initialState);
+    }
+
+    /**
+     * @return The iterative-deepening A* solution.
+     */
+    @Benchmark
+    public Solution idaStarSolve() {
+        return idaStarSolver.solve(initialState);
+    }
+
+    /**
+     * @return The iterative-deepening A* solution, with the learned bounds in a transposition table.
+     */
+    @Benchmark
+    public Solution idaStarSolveWithTable() {
+        return idaStarTableSolver.solve(initialState);
+    }
+
+    /**
+     * @return The heuristic table of the board, computed from scratch.
+     */
+    @Benchmark
+    public HeuristicTable heuristicTable() {
+        return HeuristicTable.compute(board);
+    }
+}
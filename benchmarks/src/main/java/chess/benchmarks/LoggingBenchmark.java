@@ -0,0 +1,58 @@
+package chess.benchmarks;
+
+import chess.logging.HotPathLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tinylog.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a disabled log statement on the click path, the way the board used to log clicks
+ * and the way it does now. Info messages are disabled in the forked JVM.
+ * <p>
+ * Run with {@code -prof gc}: the {@code gc.alloc.rate.norm} of {@link #hotPathLogger()} is zero,
+ * while the concatenated message is built on every click although it is never written.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.level=warn")
+@State(Scope.Thread)
+public class LoggingBenchmark {
+    private int row = 3;
+    private int column = 5;
+
+    /**
+     * Logs a click the way the board used to, concatenating the message before the level is checked.
+     */
+    @Benchmark
+    public void concatenated() {
+        Logger.info("Detected click at the " + (row + 1) + "th row's " + (column + 1) + "th column.");
+    }
+
+    /**
+     * Logs a click with tinylog's varargs placeholders, which box the coordinates into an array before the level
+     * is checked, leaving it to escape analysis to remove them.
+     */
+    @Benchmark
+    public void parameterized() {
+        Logger.info("Detected click on row {}, column {}.", row + 1, column + 1);
+    }
+
+    /**
+     * Logs a click through {@link HotPathLogger}, which checks the level before touching the coordinates.
+     */
+    @Benchmark
+    public void hotPathLogger() {
+        HotPathLogger.info("Detected click on row {}, column {}.", row + 1, column + 1);
+    }
+}
@@ -0,0 +1,59 @@
+package chess.benchmarks;
+
+import chess.model.BoardSpec;
+import chess.model.ChessSolver;
+import chess.model.ChessState;
+import chess.model.DistanceTable;
+import chess.model.Solution;
+import chess.model.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks solving the chess puzzle from the start position.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+    private final ChessSolver solver = new ChessSolver();
+    private final ChessSolver tableSolver = new ChessSolver(TranspositionTable.forBoard(BoardSpec.DEFAULT));
+    private final ChessState initialState = new ChessState(2, 1, 2, 2, 0);
+
+    /**
+     * @return The breadth-first solution of the start position.
+     */
+    @Benchmark
+    public Solution breadthFirstSolve() {
+        return solver.solve(initialState);
+    }
+
+    /**
+     * @return The breadth-first solution of the start position, after the first invocation followed from the
+     * distance cache of a transposition table.
+     */
+    @Benchmark
+    public Solution breadthFirstSolveWithTable() {
+        return tableSolver.solve(initialState);
+    }
+
+    /**
+     * @return The full retrograde distance table of the standard board.
+     */
+    @Benchmark
+    public DistanceTable retrogradeSolve() {
+        return DistanceTable.compute(BoardSpec.DEFAULT);
+    }
+}
@@ -0,0 +1,71 @@
+package chess.benchmarks;
+
+import chess.model.ChessSolver;
+import chess.model.ChessState;
+import chess.model.LeaderboardManager;
+import chess.model.Move;
+import chess.model.SubmissionVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the replay of a leaderboard submission, on one thread and on every available processor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubmissionVerifierBenchmark {
+    private SubmissionVerifier verifier;
+    private int[] solution;
+
+    /**
+     * Prepares a verifier with a temporary leaderboard, and the optimal solution to verify.
+     *
+     * @throws IOException If the temporary leaderboard cannot be created.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        LeaderboardManager.FILE_PATH = Files.createTempDirectory("leaderboard").resolve("leaderboard.json").toString();
+        verifier = new SubmissionVerifier(new LeaderboardManager());
+
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        for (TwoPhaseMove<Move> move : new ChessSolver().solve(state).getMoves()) {
+            state.makeMove(move);
+        }
+        solution = state.getHistory().toArray();
+    }
+
+    /**
+     * @return The verdict of the optimal solution, verified on a single thread.
+     */
+    @Benchmark
+    public SubmissionVerifier.Verdict verify() {
+        return verifier.verify(solution);
+    }
+
+    /**
+     * @return The verdict of the optimal solution, verified on every available processor at once.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public SubmissionVerifier.Verdict verifyConcurrently() {
+        return verifier.verify(solution);
+    }
+}
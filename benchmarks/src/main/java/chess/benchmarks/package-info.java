@@ -0,0 +1,13 @@
+/**
+ * Provides the JMH benchmarks of the Chess Game application's model.
+ * Key classes:
+ * <ul>
+ *   <li>{@link chess.benchmarks.ChessStateBenchmark} - Benchmarks the operations of a single chess state.</li>
+ *   <li>{@link chess.benchmarks.GameSessionBenchmark} - Benchmarks playing whole games through a headless session.</li>
+ *   <li>{@link chess.benchmarks.LargeBoardSolverBenchmark} - Benchmarks the solvers on the largest board.</li>
+ *   <li>{@link chess.benchmarks.LoggingBenchmark} - Benchmarks disabled log statements on the click path.</li>
+ *   <li>{@link chess.benchmarks.SolverBenchmark} - Benchmarks solving the chess puzzle.</li>
+ *   <li>{@link chess.benchmarks.SubmissionVerifierBenchmark} - Benchmarks replaying leaderboard submissions.</li>
+ * </ul>
+ */
+package chess.benchmarks;
@@ -0,0 +1,149 @@
+package chess;
+
+import chess.model.BoardSpec;
+import chess.model.DistanceTable;
+import org.tinylog.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Command line entry point that solves every start placement for every goal square of a board offline.
+ * The per-goal retrograde solves run in parallel on a {@link ForkJoinPool},
+ * and the results are streamed in goal order to a CSV or binary output.
+ * <p>
+ * Usage: {@code BatchSolver [--format summary|csv|binary] [--width W] [--height H] [--threads N] [--out FILE]}
+ * <ul>
+ *   <li>{@code summary} - one CSV line per goal with the solvable and unsolvable counts and the hardest puzzle.</li>
+ *   <li>{@code csv} - one CSV line per solvable start placement with its optimal solution length.</li>
+ *   <li>{@code binary} - one distance table per goal, in the format written by {@link DistanceTable#writeTo}.</li>
+ * </ul>
+ */
+public class BatchSolver {
+
+    /**
+     * The entry point of the batch solver.
+     *
+     * @param args Command-line arguments, see the class documentation.
+     * @throws IOException If writing the output fails.
+     */
+    public static void main(String[] args) throws IOException {
+        String format = "summary";
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = null;
+        int width = BoardSpec.DEFAULT.getWidth();
+        int height = BoardSpec.DEFAULT.getHeight();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format" -> format = args[++i];
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--out" -> out = args[++i];
+                case "--width" -> width = Integer.parseInt(args[++i]);
+                case "--height" -> height = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        OutputStream outputStream = new BufferedOutputStream(
+                out == null ? System.out : Files.newOutputStream(Paths.get(out)));
+        try {
+            List<ForkJoinTask<DistanceTable>> tasks = new ArrayList<>();
+            for (int goalX = 0; goalX < height; goalX++) {
+                for (int goalY = 0; goalY < width; goalY++) {
+                    BoardSpec board = new BoardSpec(width, height, goalX, goalY);
+                    tasks.add(pool.submit(() -> DistanceTable.compute(board)));
+                }
+            }
+            write(format, tasks, outputStream);
+        } finally {
+            pool.shutdown();
+            if (out == null) {
+                outputStream.flush();
+            } else {
+                outputStream.close();
+            }
+        }
+        Logger.info("Solved {} goals on {} threads in {} ms.",
+                width * height, threads, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void write(String format, List<ForkJoinTask<DistanceTable>> tasks, OutputStream outputStream)
+            throws IOException {
+        if (format.equals("binary")) {
+            for (ForkJoinTask<DistanceTable> task : tasks) {
+                task.join().writeTo(outputStream);
+            }
+            return;
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        switch (format) {
+            case "summary" -> {
+                writer.write("goalX,goalY,solvable,unsolvable,maxDistance,hardestKingX,hardestKingY,hardestKnightX,hardestKnightY\n");
+                for (ForkJoinTask<DistanceTable> task : tasks) {
+                    writeSummary(task.join(), writer);
+                }
+            }
+            case "csv" -> {
+                writer.write("goalX,goalY,kingX,kingY,knightX,knightY,distance\n");
+                for (ForkJoinTask<DistanceTable> task : tasks) {
+                    writeDistances(task.join(), writer);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        writer.flush();
+    }
+
+    private static void writeSummary(DistanceTable table, Writer writer) throws IOException {
+        BoardSpec board = table.getBoard();
+        int maxDistance = table.getMaxDistance();
+        int hardestKing = -1;
+        int hardestKnight = -1;
+        for (int king = 0; king < board.getSquares() && hardestKing < 0; king++) {
+            for (int knight = 0; knight < board.getSquares(); knight++) {
+                if (table.getDistance(king, knight) == maxDistance) {
+                    hardestKing = king;
+                    hardestKnight = knight;
+                    break;
+                }
+            }
+        }
+        writer.write(table.getGoalX() + "," + table.getGoalY() + ","
+                + table.getSolvableCount() + "," + table.getUnsolvableCount() + "," + maxDistance + ","
+                + board.squareX(hardestKing) + "," + board.squareY(hardestKing) + ","
+                + board.squareX(hardestKnight) + "," + board.squareY(hardestKnight) + "\n");
+    }
+
+    private static void writeDistances(DistanceTable table, Writer writer) throws IOException {
+        BoardSpec board = table.getBoard();
+        String goal = table.getGoalX() + "," + table.getGoalY() + ",";
+        StringBuilder line = new StringBuilder(32);
+        for (int king = 0; king < board.getSquares(); king++) {
+            for (int knight = 0; knight < board.getSquares(); knight++) {
+                int distance = table.getDistance(king, knight);
+                if (distance > 0) {
+                    line.setLength(0);
+                    line.append(goal)
+                            .append(board.squareX(king)).append(',').append(board.squareY(king)).append(',')
+                            .append(board.squareX(knight)).append(',').append(board.squareY(knight)).append(',')
+                            .append(distance).append('\n');
+                    writer.append(line);
+                }
+            }
+        }
+    }
+}
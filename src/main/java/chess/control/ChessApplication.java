@@ -1,5 +1,9 @@
 package chess.control;
 
+import chess.metrics.MetricsRegistry;
+import chess.model.ConcurrentLeaderboard;
+import chess.model.GameSaverLoader;
+import chess.model.PersistenceQueue;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -15,6 +19,8 @@ import java.util.Objects;
  * This class extends {@link javafx.application.Application} and sets up the primary stage.
  */
 public class ChessApplication extends Application {
+    private static final long FLUSH_TIMEOUT_MILLIS = 5000;
+    private static final long METRICS_DUMP_INTERVAL_MILLIS = 60_000;
 
     /**
      * The main entry point for all JavaFX applications.
@@ -28,6 +34,8 @@ public class ChessApplication extends Application {
     @Override
     public void start(Stage stage) throws IOException {
         Logger.info("Starting Chess Game's UI...");
+        GameSaverLoader.recover();
+        MetricsRegistry.getDefault().startPeriodicDump(METRICS_DUMP_INTERVAL_MILLIS);
 
         Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("/ui.fxml")));
         stage.setTitle("Chess Game");
@@ -37,4 +45,17 @@ public class ChessApplication extends Application {
         stage.show();
     }
 
+    /**
+     * Called when the application exits.
+     * Waits for the saves and leaderboard updates still queued to be written before the JVM stops,
+     * then logs the metrics of the session.
+     */
+    @Override
+    public void stop() {
+        PersistenceQueue.closeDefault(FLUSH_TIMEOUT_MILLIS);
+        ConcurrentLeaderboard.closeAll();
+        MetricsRegistry.getDefault().stopPeriodicDump();
+        Logger.info("Metrics:\n" + MetricsRegistry.getDefault().dump());
+        Logger.info("Chess Game's UI stopped.");
+    }
 }
\ No newline at end of file
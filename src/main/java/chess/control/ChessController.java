@@ -1,10 +1,18 @@
 package chess.control;
 
+import chess.logging.HotPathLogger;
+import chess.metrics.LatencyHistogram;
+import chess.metrics.MetricsRegistry;
+import chess.model.BoardSpec;
 import chess.model.ChessState;
 import chess.model.GameSaverLoader;
+import chess.model.GameSession;
 import chess.model.LeaderboardManager;
+import chess.model.Move;
+import chess.model.PersistenceQueue;
+import chess.model.Piece;
 import org.tinylog.Logger;
-import puzzle.TwoPhaseMoveState;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -25,13 +33,23 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * Controller class for the Chess game UI.
- * Handles the user interactions and game logic.
+ * Forwards the user interactions to a {@link GameSession}, which holds the game logic,
+ * and renders the events the session reports.
+ * The squares and piece images are created once per board size; a move only relocates the images
+ * that changed and toggles the backgrounds of the highlighted squares, so the scene graph stays
+ * the same size however long the game is.
+ * Saving, loading and leaderboard updates run on the {@link PersistenceQueue}, off the JavaFX application thread,
+ * and report back to it when they are done.
  */
 public class ChessController {
+    private static final int SAVE_SLOT = 0;
+    private static final LatencyHistogram RENDER_LATENCY = MetricsRegistry.getDefault().histogram("ui.render");
+    private static final Background LIGHT_BACKGROUND = background(Color.WHITE);
+    private static final Background DARK_BACKGROUND = background(Color.GRAY);
+    private static final Background HIGHLIGHT_BACKGROUND = background(Color.GREEN);
 
     @FXML
     private GridPane board;
@@ -44,27 +62,38 @@ public class ChessController {
     @FXML
     private Button buttonLoadGame;
     @FXML
+    private Button buttonUndo;
+    @FXML
+    private Button buttonRedo;
+    @FXML
     private TextField textFieldUserName;
     @FXML
     private Label labelScoreNum;
     @FXML
     private Label labelMessage;
 
-    private ChessState chessState;
-    private String selectedPiece = null;
+    private final GameSession session = new GameSession();
 
-    private final Pane[][] squares = new Pane[8][8];
+    private BoardSpec boardSpec = BoardSpec.DEFAULT;
+    private Pane[][] squares;
+    private final int[] highlightedSquares = new int[ChessState.MAX_MOVES];
+    private int highlightCount = 0;
     private final Image kingImage = new Image(Objects.requireNonNull(getClass().getResourceAsStream("/king.png")));
     private final Image knightImage = new Image(Objects.requireNonNull(getClass().getResourceAsStream("/knight.png")));
     private final Image goalImage = new Image(Objects.requireNonNull(getClass().getResourceAsStream("/goal.png")));
+    private final ImageView kingView = new ImageView(kingImage);
+    private final ImageView knightView = new ImageView(knightImage);
+    private final ImageView goalView = new ImageView(goalImage);
 
     private final LeaderboardManager leaderboardManager = new LeaderboardManager();
     private final GameSaverLoader gameSaverLoader = new GameSaverLoader();
+    private final PersistenceQueue persistenceQueue = PersistenceQueue.getDefault();
 
     @FXML
     private void initialize() {
         initializeBoard();
         labelScoreNum.setText(String.valueOf(0));
+        session.setListener(new SessionRenderer());
 
         buttonStartGame.setDisable(true);
         buttonSaveGame.setDisable(true);
@@ -81,30 +110,55 @@ public class ChessController {
         buttonLoadGame.setOnAction(e -> handleLoadGame());
         buttonSaveGame.setOnAction(e -> handleSaveGame());
         buttonLeaderboard.setOnAction(e -> showLeaderboard());
+        buttonUndo.setOnAction(e -> handleUndo());
+        buttonRedo.setOnAction(e -> handleRedo());
+        updateHistoryButtons();
 
         Logger.info("Chess Game's UI is initialized.");
     }
 
     private void initializeBoard() {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
+        if (squares != null) {
+            if (squares.length == boardSpec.getHeight() && squares[0].length == boardSpec.getWidth()) {
+                return;
+            }
+            for (Pane[] row : squares) {
+                board.getChildren().removeAll(row);
+            }
+        }
+        squares = new Pane[boardSpec.getHeight()][boardSpec.getWidth()];
+        highlightCount = 0;
+        for (int i = 0; i < boardSpec.getHeight(); i++) {
+            for (int j = 0; j < boardSpec.getWidth(); j++) {
                 Pane square = createSquare(i, j);
                 board.add(square, j, i);
                 squares[i][j] = square;
                 addClickHandler(square, i, j);
             }
         }
+        for (ImageView view : new ImageView[]{goalView, kingView, knightView}) {
+            view.setFitWidth(squareSize());
+            view.setFitHeight(squareSize());
+        }
+    }
+
+    private double squareSize() {
+        return Math.min(50, 400.0 / Math.max(boardSpec.getWidth(), boardSpec.getHeight()));
     }
 
     private Pane createSquare(int row, int col) {
         Pane square = new Pane();
-        square.setBackground(new Background(new BackgroundFill(determineColor(row, col), CornerRadii.EMPTY, Insets.EMPTY)));
-        square.setMinSize(50, 50);
+        square.setBackground(determineBackground(row, col));
+        square.setMinSize(squareSize(), squareSize());
         return square;
     }
 
-    private Color determineColor(int row, int col) {
-        return (row + col) % 2 == 0 ? Color.WHITE : Color.GRAY;
+    private Background determineBackground(int row, int col) {
+        return (row + col) % 2 == 0 ? LIGHT_BACKGROUND : DARK_BACKGROUND;
+    }
+
+    private static Background background(Color color) {
+        return new Background(new BackgroundFill(color, CornerRadii.EMPTY, Insets.EMPTY));
     }
 
     private void addClickHandler(Pane square, int row, int col) {
@@ -112,71 +166,78 @@ public class ChessController {
     }
 
     private void handleSquareClick(int row, int col) {
-        Logger.info("Detected click at the " + (row + 1) + "th row's " + (col + 1) + "th column.");
-
-        if (selectedPiece == null) {
-            if (chessState.isLegalToMoveFrom("King") && row == chessState.getKingX() && col == chessState.getKingY()) {
-                selectedPiece = "King";
-                highlightMoves(selectedPiece);
-            } else if (chessState.isLegalToMoveFrom("Knight") && row == chessState.getKnightX() && col == chessState.getKnightY()) {
-                selectedPiece = "Knight";
-                highlightMoves(selectedPiece);
-            }
-        } else {
-            if (squares[row][col].getBackground().getFills().get(0).getFill() == Color.GREEN) {
-                movePiece(selectedPiece, row, col);
-                selectedPiece = null;
-                updateView();
-                if (chessState.isSolved()) {
-                    labelMessage.setText("YOU WON!");
-                    Logger.info("Game won by the User.");
-
-                    String username = textFieldUserName.getText();
-                    leaderboardManager.updateLeaderboard(username, chessState.getMoveCount());
-                }
-            } else {
-                selectedPiece = null;
-                clearHighlights();
-            }
-        }
+        HotPathLogger.debug("Detected click on row {}, column {}.", row + 1, col + 1);
+        session.click(row, col);
     }
 
     private void startGame() {
-        chessState = new ChessState(2, 1, 2, 2, 0);
-        updateView();
+        session.start();
         labelMessage.setText("Game Started!");
-        labelScoreNum.setText(String.valueOf(chessState.getMoveCount()));
 
         Logger.info("Game started.");
     }
 
+    private void handleUndo() {
+        if (session.undo()) {
+            labelMessage.setText("");
+            Logger.info("Move undone.");
+        }
+    }
+
+    private void handleRedo() {
+        if (session.redo()) {
+            labelMessage.setText(session.isWon() ? "YOU WON!" : "");
+            Logger.info("Move redone.");
+        }
+    }
+
+    private void updateHistoryButtons() {
+        ChessState chessState = session.getState();
+        buttonUndo.setDisable(chessState == null || !chessState.getHistory().canUndo());
+        buttonRedo.setDisable(chessState == null || !chessState.getHistory().canRedo());
+    }
+
     private void handleLoadGame() {
-        GameSaverLoader.GameState gameState = gameSaverLoader.loadGame();
+        String username = textFieldUserName.getText().trim();
+        persistenceQueue.submit(() -> gameSaverLoader.loadGame(username, SAVE_SLOT))
+                .thenAcceptAsync(this::applyLoadedGame, Platform::runLater);
+    }
+
+    private void applyLoadedGame(GameSaverLoader.GameState gameState) {
         if (gameState != null) {
-            chessState = new ChessState(
+            session.load(new ChessState(gameState.getBoardSpec(),
                     gameState.getKingPosition()[0], gameState.getKingPosition()[1],
                     gameState.getKnightPosition()[0], gameState.getKnightPosition()[1],
-                    gameState.getMoveCount()
-            );
-            updateView();
+                    gameState.getMoveCount(), gameState.getHistory()
+            ));
             labelMessage.setText("Game Loaded!");
         } else {
             labelMessage.setText("Failed to load game.");
         }
-
-        labelScoreNum.setText(String.valueOf(chessState.getMoveCount()));
         Logger.info("Game loaded.");
     }
 
     private void handleSaveGame() {
-        gameSaverLoader.saveGame(
-                new int[]{chessState.getKingX(), chessState.getKingY()},
-                new int[]{chessState.getKnightX(), chessState.getKnightY()},
-                new int[]{chessState.getGoalX(), chessState.getGoalY()},
-                chessState.getMoveCount()
-        );
-        labelMessage.setText("Game Saved!");
-        Logger.info("Game saved.");
+        ChessState chessState = session.getState();
+        if (chessState == null) {
+            labelMessage.setText("Start a game first.");
+            return;
+        }
+        int[] kingPosition = {chessState.getKingX(), chessState.getKingY()};
+        int[] knightPosition = {chessState.getKnightX(), chessState.getKnightY()};
+        int[] goalPosition = {chessState.getGoalX(), chessState.getGoalY()};
+        int[] boardSize = {boardSpec.getWidth(), boardSpec.getHeight()};
+        int moveCount = chessState.getMoveCount();
+        int[] moves = chessState.getHistory().toArray();
+        String username = textFieldUserName.getText().trim();
+        persistenceQueue.submit("save:" + username + ":" + SAVE_SLOT,
+                        () -> gameSaverLoader.saveGame(username, SAVE_SLOT,
+                                kingPosition, knightPosition, goalPosition, boardSize, moveCount, moves))
+                .thenAcceptAsync(saved -> {
+                    labelMessage.setText(saved ? "Game Saved!" : "Failed to save game.");
+                    Logger.info("Game saved.");
+                }, Platform::runLater);
+        labelMessage.setText("Saving...");
     }
 
     private void showLeaderboard() {
@@ -195,54 +256,89 @@ public class ChessController {
     }
 
     private void updateView() {
-        clearBoard();
+        long start = System.nanoTime();
+        ChessState chessState = session.getState();
         initializeBoard();
-        addPiece(chessState.getKingX(), chessState.getKingY(), kingImage);
-        addPiece(chessState.getKnightX(), chessState.getKnightY(), knightImage);
-        addPiece(chessState.getGoalX(), chessState.getGoalY(), goalImage);
-    }
-
-    private void addPiece(int x, int y, Image image) {
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(50);
-        imageView.setFitHeight(50);
-        squares[x][y].getChildren().add(imageView);
+        clearHighlights();
+        placePiece(goalView, chessState.getGoalX(), chessState.getGoalY());
+        placePiece(kingView, chessState.getKingX(), chessState.getKingY());
+        placePiece(knightView, chessState.getKnightX(), chessState.getKnightY());
+        labelScoreNum.setText(String.valueOf(chessState.getMoveCount()));
+        updateHistoryButtons();
+        RENDER_LATENCY.recordSince(start);
     }
 
-    private void clearBoard() {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                squares[i][j].getChildren().clear();
-            }
+    private void placePiece(ImageView imageView, int x, int y) {
+        Pane square = squares[x][y];
+        if (imageView.getParent() != square) {
+            square.getChildren().add(imageView);
         }
     }
 
-    private void highlightMoves(String piece) {
+    private void highlightMoves(Move[] targets, int count) {
         clearHighlights();
-        Set<TwoPhaseMoveState.TwoPhaseMove<String>> legalMoves = chessState.getLegalMoves();
-        for (TwoPhaseMoveState.TwoPhaseMove<String> move : legalMoves) {
-            if (move.from().equals(piece)) {
-                String[] parts = move.to().split(" ");
-                int newX = Integer.parseInt(parts[1]);
-                int newY = Integer.parseInt(parts[2]);
-                squares[newX][newY].setBackground(new Background(new BackgroundFill(Color.GREEN, CornerRadii.EMPTY, Insets.EMPTY)));
-            }
+        for (int i = 0; i < count; i++) {
+            Move move = targets[i];
+            squares[move.x()][move.y()].setBackground(HIGHLIGHT_BACKGROUND);
+            highlightedSquares[highlightCount++] = boardSpec.square(move.x(), move.y());
         }
     }
 
     private void clearHighlights() {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                squares[i][j].setBackground(new Background(new BackgroundFill(determineColor(i, j), CornerRadii.EMPTY, Insets.EMPTY)));
-            }
+        for (int i = 0; i < highlightCount; i++) {
+            int row = boardSpec.squareX(highlightedSquares[i]);
+            int col = boardSpec.squareY(highlightedSquares[i]);
+            squares[row][col].setBackground(determineBackground(row, col));
         }
+        highlightCount = 0;
     }
 
-    private void movePiece(String piece, int newX, int newY) {
-        TwoPhaseMoveState.TwoPhaseMove<String> move = new TwoPhaseMoveState.TwoPhaseMove<>(piece, piece + " " + newX + " " + newY);
-        chessState.makeMove(move);
-        labelScoreNum.setText(String.valueOf(chessState.getMoveCount()));
+    /**
+     * Renders the events of the game session on the board.
+     */
+    private class SessionRenderer implements GameSession.Listener {
+        @Override
+        public void pieceSelected(Piece piece, Move[] targets, int count) {
+            highlightMoves(targets, count);
+        }
+
+        @Override
+        public void selectionCleared() {
+            clearHighlights();
+        }
+
+        @Override
+        public void pieceMoved(Move from, Move to, int moveCount) {
+            clearHighlights();
+            placePiece(to.piece() == Piece.KING ? kingView : knightView, to.x(), to.y());
+            labelScoreNum.setText(String.valueOf(moveCount));
+            updateHistoryButtons();
 
-        Logger.info("Piece moved.");
+            HotPathLogger.debug("Piece moved to {}.", to);
+        }
+
+        @Override
+        public void gameWon(int moveCount) {
+            labelMessage.setText("YOU WON!");
+            Logger.info("Game won by the User.");
+
+            // The update is only queued, so there is no confirmation to show when it succeeds
+            String username = textFieldUserName.getText().trim();
+            persistenceQueue.submit(() -> {
+                        leaderboardManager.updateLeaderboard(username, moveCount);
+                        return null;
+                    })
+                    .whenCompleteAsync((ignored, error) -> {
+                        if (error != null) {
+                            labelMessage.setText("YOU WON! Failed to record the score.");
+                        }
+                    }, Platform::runLater);
+        }
+
+        @Override
+        public void positionChanged(ChessState state) {
+            boardSpec = state.getBoard();
+            updateView();
+        }
     }
-}
\ No newline at end of file
+}
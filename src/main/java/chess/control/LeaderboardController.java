@@ -1,29 +1,29 @@
 package chess.control;
 
 import chess.model.LeaderboardEntry;
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
-import javafx.beans.property.ReadOnlyObjectWrapper;
+import chess.model.LeaderboardManager;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import org.tinylog.Logger;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.List;
 
 /**
  * Controller class for the Leaderboard UI.
  * Handles the initialization and data loading for the leaderboard.
+ * Entries are loaded a page at a time: the first page when the table is shown,
+ * and the next one whenever the table is scrolled to its end.
  */
 public class LeaderboardController {
+    private static final int PAGE_SIZE = 100;
+
     @FXML
     private TableView<LeaderboardEntry> tableView;
     @FXML
@@ -35,8 +35,9 @@ public class LeaderboardController {
     @FXML
     private TableColumn<LeaderboardEntry, Integer> rankColumn;
 
-    private static final Gson gson = new Gson();
-    private static final String FILE_PATH = "leaderboard.json";
+    private final LeaderboardManager leaderboardManager = new LeaderboardManager();
+    private final ObservableList<LeaderboardEntry> data = FXCollections.observableArrayList();
+    private boolean exhausted = false;
 
     /**
      * Initializes the leaderboard UI.
@@ -48,38 +49,36 @@ public class LeaderboardController {
         scoreColumn.setCellValueFactory(new PropertyValueFactory<>("score"));
         datetimeColumn.setCellValueFactory(new PropertyValueFactory<>("datetime"));
 
-        rankColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(tableView.getItems().indexOf(cellData.getValue()) + 1));
+        rankColumn.setCellValueFactory(new PropertyValueFactory<>("rank"));
         rankColumn.setSortable(false);
 
-        loadLeaderboardData();
+        tableView.setItems(data);
+        tableView.skinProperty().addListener((observable, oldSkin, newSkin) -> watchScrollBar());
+        loadNextPage();
 
         Logger.info("Leaderboard UI's initialization finished.");
     }
 
-    private void loadLeaderboardData() {
-        Path path = Paths.get(FILE_PATH);
-        try (InputStream inputStream = Files.newInputStream(path);
-             InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
-
-            JsonObject jsonObj = gson.fromJson(reader, JsonObject.class);
-            if (jsonObj == null) {
-                jsonObj = new JsonObject();
+    private void watchScrollBar() {
+        for (Node node : tableView.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                scrollBar.valueProperty().addListener((observable, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= scrollBar.getMax()) {
+                        loadNextPage();
+                    }
+                });
             }
+        }
+    }
 
-            ObservableList<LeaderboardEntry> data = FXCollections.observableArrayList();
-
-            jsonObj.entrySet().forEach(entry -> {
-                JsonObject userObj = entry.getValue().getAsJsonObject();
-                String dateTime = userObj.get("dateTime").getAsString();
-                int moveCount = userObj.get("moveCount").getAsInt();
-                LeaderboardEntry leaderboardEntry = new LeaderboardEntry(entry.getKey(), moveCount, dateTime);
-                data.add(leaderboardEntry);
-            });
-
-            // Sort data based on moveCount in ascending order
-            FXCollections.sort(data, (entry1, entry2) -> Integer.compare(entry1.getScore(), entry2.getScore()));
-
-            tableView.setItems(data);
+    private void loadNextPage() {
+        if (exhausted) {
+            return;
+        }
+        try {
+            List<LeaderboardEntry> page = leaderboardManager.page(data.size(), PAGE_SIZE);
+            exhausted = page.size() < PAGE_SIZE;
+            data.addAll(page);
 
             Logger.info("Leaderboard data loaded.");
         } catch (Exception e) {
@@ -87,4 +86,4 @@ public class LeaderboardController {
             Logger.error("Failed to load Leaderboard data, error: " + e);
         }
     }
-}
\ No newline at end of file
+}
@@ -5,7 +5,7 @@
  * Key classes:
  * <ul>
  *   <li>{@link chess.control.ChessApplication} - The main application class that sets up the stage and loads the initial UI.</li>
- *   <li>{@link chess.control.ChessController} - The controller class for the chess game UI, handling game logic and user interactions.</li>
+ *   <li>{@link chess.control.ChessController} - The controller class for the chess game UI, rendering the game session and forwarding user interactions to it.</li>
  *   <li>{@link chess.control.LeaderboardController} - The controller class for displaying the leaderboard UI.</li>
  * </ul>
  */
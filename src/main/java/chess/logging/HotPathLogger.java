@@ -0,0 +1,174 @@
+package chess.logging;
+
+import org.tinylog.Level;
+import org.tinylog.configuration.Configuration;
+import org.tinylog.format.AdvancedMessageFormatter;
+import org.tinylog.format.MessageFormatter;
+import org.tinylog.provider.LoggingProvider;
+import org.tinylog.provider.ProviderRegistry;
+
+/**
+ * Logging for code that runs on every click, move or request, where the cost of a disabled log statement matters.
+ * <p>
+ * Messages use tinylog's {@code {}} placeholders and are only formatted by the writer. Unlike the varargs methods
+ * of {@link org.tinylog.Logger}, which box their arguments into an array before the level is checked and rely on
+ * escape analysis to remove it, the overloads taking {@code int} arguments box nothing unless the level is enabled,
+ * so a disabled statement allocates nothing even where the JIT does not inline it. Enabled messages are passed
+ * to tinylog as they are, with the class and method of the caller.
+ * <p>
+ * The levels are read from the tinylog configuration once; a minimum level of {@code info}, as configured by
+ * {@code tinylog.properties}, disables {@code debug} statements. Use {@code -Dtinylog.level=debug} to see them.
+ */
+public final class HotPathLogger {
+    // Frames between the provider and the code calling this class, as in org.tinylog.Logger
+    private static final int STACKTRACE_DEPTH = 2;
+
+    private static final LoggingProvider PROVIDER = ProviderRegistry.getLoggingProvider();
+    private static final MessageFormatter FORMATTER =
+            new AdvancedMessageFormatter(Configuration.getLocale(), Configuration.isEscapingEnabled());
+    private static final boolean DEBUG_ENABLED = covers(Level.DEBUG);
+    private static final boolean INFO_ENABLED = covers(Level.INFO);
+
+    private HotPathLogger() {
+    }
+
+    private static boolean covers(Level level) {
+        return PROVIDER.getMinimumLevel().ordinal() <= level.ordinal();
+    }
+
+    /**
+     * @return {@code true} if debug messages are logged.
+     */
+    public static boolean isDebugEnabled() {
+        return DEBUG_ENABLED;
+    }
+
+    /**
+     * @return {@code true} if info messages are logged.
+     */
+    public static boolean isInfoEnabled() {
+        return INFO_ENABLED;
+    }
+
+    /**
+     * Logs a debug message.
+     *
+     * @param message The message.
+     */
+    public static void debug(String message) {
+        if (DEBUG_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.DEBUG, null, null, message);
+        }
+    }
+
+    /**
+     * Logs a debug message with a placeholder.
+     *
+     * @param message The message, with a {@code {}} placeholder.
+     * @param argument The value of the placeholder.
+     */
+    public static void debug(String message, int argument) {
+        if (DEBUG_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.DEBUG, null, FORMATTER, message, argument);
+        }
+    }
+
+    /**
+     * Logs a debug message with two placeholders.
+     *
+     * @param message The message, with two {@code {}} placeholders.
+     * @param first The value of the first placeholder.
+     * @param second The value of the second placeholder.
+     */
+    public static void debug(String message, int first, int second) {
+        if (DEBUG_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.DEBUG, null, FORMATTER, message, first, second);
+        }
+    }
+
+    /**
+     * Logs a debug message with a placeholder.
+     *
+     * @param message The message, with a {@code {}} placeholder.
+     * @param argument The value of the placeholder, formatted only if the message is written.
+     */
+    public static void debug(String message, Object argument) {
+        if (DEBUG_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.DEBUG, null, FORMATTER, message, argument);
+        }
+    }
+
+    /**
+     * Logs a debug message with two placeholders.
+     *
+     * @param message The message, with two {@code {}} placeholders.
+     * @param first The value of the first placeholder, formatted only if the message is written.
+     * @param second The value of the second placeholder, formatted only if the message is written.
+     */
+    public static void debug(String message, Object first, Object second) {
+        if (DEBUG_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.DEBUG, null, FORMATTER, message, first, second);
+        }
+    }
+
+    /**
+     * Logs an info message.
+     *
+     * @param message The message.
+     */
+    public static void info(String message) {
+        if (INFO_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.INFO, null, null, message);
+        }
+    }
+
+    /**
+     * Logs an info message with a placeholder.
+     *
+     * @param message The message, with a {@code {}} placeholder.
+     * @param argument The value of the placeholder.
+     */
+    public static void info(String message, int argument) {
+        if (INFO_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.INFO, null, FORMATTER, message, argument);
+        }
+    }
+
+    /**
+     * Logs an info message with two placeholders.
+     *
+     * @param message The message, with two {@code {}} placeholders.
+     * @param first The value of the first placeholder.
+     * @param second The value of the second placeholder.
+     */
+    public static void info(String message, int first, int second) {
+        if (INFO_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.INFO, null, FORMATTER, message, first, second);
+        }
+    }
+
+    /**
+     * Logs an info message with a placeholder.
+     *
+     * @param message The message, with a {@code {}} placeholder.
+     * @param argument The value of the placeholder, formatted only if the message is written.
+     */
+    public static void info(String message, Object argument) {
+        if (INFO_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.INFO, null, FORMATTER, message, argument);
+        }
+    }
+
+    /**
+     * Logs an info message with two placeholders.
+     *
+     * @param message The message, with two {@code {}} placeholders.
+     * @param first The value of the first placeholder, formatted only if the message is written.
+     * @param second The value of the second placeholder, formatted only if the message is written.
+     */
+    public static void info(String message, Object first, Object second) {
+        if (INFO_ENABLED) {
+            PROVIDER.log(STACKTRACE_DEPTH, null, Level.INFO, null, FORMATTER, message, first, second);
+        }
+    }
+}
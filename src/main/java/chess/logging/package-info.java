@@ -0,0 +1,8 @@
+/**
+ * Contains the logging used on the hot paths of the Chess Game application.
+ * Key classes:
+ * <ul>
+ *   <li>{@link chess.logging.HotPathLogger} - Level-gated logging that allocates nothing when the level is disabled.</li>
+ * </ul>
+ */
+package chess.logging;
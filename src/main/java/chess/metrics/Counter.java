@@ -0,0 +1,58 @@
+package chess.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free counter that many threads can increment at once without contending on a single memory location.
+ */
+public final class Counter implements CounterMXBean {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructs a counter starting at zero.
+     *
+     * @param name The name of the counter.
+     */
+    public Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The name of the counter.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Adds one to the counter.
+     */
+    public void increment() {
+        if (MetricsRegistry.ENABLED) {
+            count.increment();
+        }
+    }
+
+    /**
+     * @param amount The amount to add to the counter.
+     */
+    public void add(long amount) {
+        if (MetricsRegistry.ENABLED) {
+            count.add(amount);
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The name and value of the counter.
+     */
+    @Override
+    public String toString() {
+        return name + " " + getCount();
+    }
+}
@@ -0,0 +1,11 @@
+package chess.metrics;
+
+/**
+ * The JMX view of a {@link Counter}.
+ */
+public interface CounterMXBean {
+    /**
+     * @return The current value of the counter.
+     */
+    long getCount();
+}
@@ -0,0 +1,36 @@
+package chess.metrics;
+
+/**
+ * The JMX view of a {@link LatencyHistogram}. Latencies are in nanoseconds.
+ */
+public interface HistogramMXBean {
+    /**
+     * @return The number of recorded latencies.
+     */
+    long getCount();
+
+    /**
+     * @return The mean of the recorded latencies.
+     */
+    double getMean();
+
+    /**
+     * @return The median of the recorded latencies.
+     */
+    long getP50();
+
+    /**
+     * @return The 99th percentile of the recorded latencies.
+     */
+    long getP99();
+
+    /**
+     * @return The 99.9th percentile of the recorded latencies.
+     */
+    long getP999();
+
+    /**
+     * @return The highest recorded latency.
+     */
+    long getMax();
+}
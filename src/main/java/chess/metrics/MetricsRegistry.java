@@ -0,0 +1,138 @@
+package chess.metrics;
+
+import org.tinylog.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Named {@link Counter}s and {@link LatencyHistogram}s of the application, created on first use.
+ * <p>
+ * Every metric of a registry with a JMX domain is registered on the platform MBean server as
+ * {@code <domain>:type=Counter,name=<name>} or {@code <domain>:type=Histogram,name=<name>}, so it can be watched
+ * with JConsole or any other JMX client without a profiler attached. {@link #dump()} renders every metric as text,
+ * and {@link #startPeriodicDump(long)} logs that text at a fixed interval.
+ * <p>
+ * Instrumented code looks its metrics up once, into static fields. Metrics are enabled unless the system property
+ * {@code chess.metrics} is {@code false}; recording into a disabled metric is a constant branch the JIT removes.
+ */
+public final class MetricsRegistry {
+    /**
+     * {@code true} unless the system property {@code chess.metrics} is {@code false}.
+     */
+    public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("chess.metrics"));
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry("chess");
+
+    private final String jmxDomain;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private Thread dumper;
+
+    /**
+     * Constructs an empty registry.
+     *
+     * @param jmxDomain The JMX domain the metrics are registered in, or {@code null} to not register them.
+     */
+    public MetricsRegistry(String jmxDomain) {
+        this.jmxDomain = jmxDomain;
+    }
+
+    /**
+     * @return The registry of the application, registering its metrics in the JMX domain {@code chess}.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the counter with the specified name, creating it on first use.
+     *
+     * @param name The name of the counter.
+     * @return The counter.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, register("Counter", Counter::new));
+    }
+
+    /**
+     * Returns the histogram with the specified name, creating it on first use.
+     *
+     * @param name The name of the histogram.
+     * @return The histogram.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, register("Histogram", LatencyHistogram::new));
+    }
+
+    private <T> Function<String, T> register(String type, Function<String, T> factory) {
+        return name -> {
+            T metric = factory.apply(name);
+            if (jmxDomain != null) {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                try {
+                    ObjectName objectName = new ObjectName(jmxDomain + ":type=" + type
+                            + ",name=" + ObjectName.quote(name));
+                    if (!server.isRegistered(objectName)) {
+                        server.registerMBean(metric, objectName);
+                    }
+                } catch (JMException e) {
+                    Logger.warn("Failed to register the metric " + name + " over JMX: " + e);
+                }
+            }
+            return metric;
+        };
+    }
+
+    /**
+     * Renders every metric, one per line, counters first, each group sorted by name.
+     *
+     * @return The text of the metrics.
+     */
+    public String dump() {
+        StringBuilder builder = new StringBuilder();
+        for (Counter counter : new TreeMap<>(counters).values()) {
+            builder.append(counter).append('\n');
+        }
+        for (LatencyHistogram histogram : new TreeMap<>(histograms).values()) {
+            builder.append(histogram).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Starts logging {@link #dump()} at a fixed interval on a background thread,
+     * replacing the periodic dump already running, if any.
+     *
+     * @param intervalMillis The interval between two dumps, in milliseconds.
+     */
+    public synchronized void startPeriodicDump(long intervalMillis) {
+        stopPeriodicDump();
+        dumper = Thread.ofVirtual().name("metrics-dump").start(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.sleep(intervalMillis);
+                    Logger.info("Metrics:\n" + dump());
+                }
+            } catch (InterruptedException e) {
+                // Stopped
+            }
+        });
+    }
+
+    /**
+     * Stops the periodic dump, if it is running.
+     */
+    public synchronized void stopPeriodicDump() {
+        if (dumper != null) {
+            dumper.interrupt();
+            dumper = null;
+        }
+    }
+}
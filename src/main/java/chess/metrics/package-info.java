@@ -0,0 +1,13 @@
+/**
+ * Contains the lightweight metrics of the Chess Game application, recorded on its hot paths
+ * and exposed over JMX and as periodic text dumps.
+ * Key classes:
+ * <ul>
+ *   <li>{@link chess.metrics.MetricsRegistry} - Creates the named metrics, registers them over JMX and dumps them.</li>
+ *   <li>{@link chess.metrics.Counter} - Lock-free counter of events.</li>
+ *   <li>{@link chess.metrics.LatencyHistogram} - Lock-free log-linear histogram of latencies, with percentiles.</li>
+ *   <li>{@link chess.metrics.CounterMXBean} - The JMX view of a counter.</li>
+ *   <li>{@link chess.metrics.HistogramMXBean} - The JMX view of a latency histogram.</li>
+ * </ul>
+ */
+package chess.metrics;
@@ -0,0 +1,146 @@
+package chess.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the shortest solution of a chess puzzle with an A* search guided by the {@link HeuristicTable} of its board.
+ * <p>
+ * The heuristic is consistent, so every placement is expanded at most once, and placements are taken from the open
+ * list in order of their estimated total length, deepest first among equals, which heads straight for the goal
+ * once the estimate is exact. The search works on placements encoded as integers and generates the same moves as
+ * {@link ChessState}, so it allocates only for the placements it reaches; on large boards it expands a small
+ * fraction of the placements a breadth-first search of the same depth visits.
+ */
+public class AStarSolver {
+    private static final int PLACEMENT_BITS = 24;
+    private static final int DEPTH_BITS = 16;
+    private static final int MAX_DEPTH = (1 << DEPTH_BITS) - 1;
+
+    /**
+     * Searches for the shortest move sequence that solves the given state.
+     * The given state is not modified.
+     *
+     * @param initialState The state to start the search from.
+     * @return The shortest solution, or an unsolved {@link Solution} if the goal is unreachable.
+     */
+    public Solution solve(ChessState initialState) {
+        if (initialState.isSolved()) {
+            return new Solution(List.of(), true, 1, 0);
+        }
+        BoardSpec board = initialState.getBoard();
+        if (!board.isOnBoard(initialState.getKingX(), initialState.getKingY())
+                || !board.isOnBoard(initialState.getKnightX(), initialState.getKnightY())) {
+            return new Solution(List.of(), false, 1, 0);
+        }
+        HeuristicTable heuristic = HeuristicTable.forBoard(board);
+        int goal = board.getGoalSquare();
+        PlacementMap tree = new PlacementMap(board);
+        int start = tree.placement(board.square(initialState.getKingX(), initialState.getKingY()),
+                board.square(initialState.getKnightX(), initialState.getKnightY()));
+        int startEstimate = heuristic.estimate(tree.kingSquare(start), tree.knightSquare(start));
+        if (startEstimate == HeuristicTable.UNREACHABLE) {
+            return new Solution(List.of(), false, 1, 0);
+        }
+
+        tree.put(start, PlacementMap.NONE, 0);
+        OpenList open = new OpenList();
+        open.add(startEstimate, 0, start);
+        long expanded = 0;
+        while (!open.isEmpty()) {
+            long entry = open.poll();
+            int placement = OpenList.placement(entry);
+            int depth = OpenList.depth(entry);
+            if (depth != tree.depth(placement)) {
+                // Reached again on a shorter path after this entry was added
+                continue;
+            }
+            int king = tree.kingSquare(placement);
+            int knight = tree.knightSquare(placement);
+            if (king == goal || knight == goal) {
+                return new Solution(tree.pathTo(placement), true, tree.size(), expanded);
+            }
+            expanded++;
+            if (depth == MAX_DEPTH) {
+                continue;
+            }
+            if (board.isKnightMove(knight, king)) {
+                for (int i = 0, count = board.kingMoveCount(king); i < count; i++) {
+                    relax(tree, open, heuristic, placement, tree.placement(board.kingMove(king, i), knight), depth + 1);
+                }
+            } else if (board.isKingMove(king, knight)) {
+                for (int i = 0, count = board.knightMoveCount(knight); i < count; i++) {
+                    relax(tree, open, heuristic, placement, tree.placement(king, board.knightMove(knight, i)), depth + 1);
+                }
+            }
+        }
+        return new Solution(List.of(), false, tree.size(), expanded);
+    }
+
+    private static void relax(PlacementMap tree, OpenList open, HeuristicTable heuristic,
+                              int parent, int child, int depth) {
+        int known = tree.depth(child);
+        if (known != PlacementMap.NONE && known <= depth) {
+            return;
+        }
+        int estimate = heuristic.estimate(tree.kingSquare(child), tree.knightSquare(child));
+        if (estimate == HeuristicTable.UNREACHABLE) {
+            return;
+        }
+        tree.put(child, parent, depth);
+        open.add(depth + estimate, depth, child);
+    }
+
+    /**
+     * Binary min-heap of placements, each packed into a {@code long} ordered by estimated total length,
+     * then by depth, deepest first.
+     */
+    private static final class OpenList {
+        private long[] heap = new long[1 << 10];
+        private int size;
+
+        static int placement(long entry) {
+            return (int) (entry & (1 << PLACEMENT_BITS) - 1);
+        }
+
+        static int depth(long entry) {
+            return MAX_DEPTH - (int) (entry >>> PLACEMENT_BITS & MAX_DEPTH);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int total, int depth, int placement) {
+            long entry = (long) total << (PLACEMENT_BITS + DEPTH_BITS)
+                    | (long) (MAX_DEPTH - depth) << PLACEMENT_BITS | placement;
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0 && heap[(i - 1) >>> 1] > entry) {
+                heap[i] = heap[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            heap[i] = entry;
+        }
+
+        long poll() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            for (int child = 1; child < size; child = 2 * i + 1) {
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package chess.model;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the shortest solution of a chess puzzle with a bidirectional breadth-first search: forwards from the
+ * initial placement and backwards from every solved placement, one whole layer at a time, always growing the
+ * smaller frontier, until the searches meet.
+ * <p>
+ * Backward moves follow the same rules as {@link DistanceTable}: the king steps back onto a square the knight
+ * attacks, and the knight jumps back next to the king. As each search only has to reach about half the solution
+ * length, it visits far fewer placements than a single breadth-first search on large boards, without needing
+ * a heuristic.
+ */
+public class BidirectionalSolver {
+
+    /**
+     * Searches for the shortest move sequence that solves the given state.
+     * The given state is not modified.
+     *
+     * @param initialState The state to start the search from.
+     * @return The shortest solution, or an unsolved {@link Solution} if the goal is unreachable.
+     */
+    public Solution solve(ChessState initialState) {
+        if (initialState.isSolved()) {
+            return new Solution(List.of(), true, 1, 0);
+        }
+        BoardSpec board = initialState.getBoard();
+        if (!board.isOnBoard(initialState.getKingX(), initialState.getKingY())
+                || !board.isOnBoard(initialState.getKnightX(), initialState.getKnightY())) {
+            return new Solution(List.of(), false, 1, 0);
+        }
+        int squares = board.getSquares();
+        int goal = board.getGoalSquare();
+        PlacementMap forward = new PlacementMap(board);
+        PlacementMap backward = new PlacementMap(board);
+        Frontier forwardFrontier = new Frontier();
+        Frontier backwardFrontier = new Frontier();
+
+        int start = forward.placement(board.square(initialState.getKingX(), initialState.getKingY()),
+                board.square(initialState.getKnightX(), initialState.getKnightY()));
+        forward.put(start, PlacementMap.NONE, 0);
+        forwardFrontier.add(start);
+        // Only the solved placements some move leads to, with the pieces close together, can be met
+        for (int other = 0; other < squares; other++) {
+            if (other != goal) {
+                seed(board, backward, backwardFrontier, backward.placement(goal, other));
+                seed(board, backward, backwardFrontier, backward.placement(other, goal));
+            }
+        }
+
+        long expanded = 0;
+        int meeting = PlacementMap.NONE;
+        while (meeting == PlacementMap.NONE && !forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            boolean forwards = forwardFrontier.size() <= backwardFrontier.size();
+            Frontier frontier = forwards ? forwardFrontier : backwardFrontier;
+            PlacementMap tree = forwards ? forward : backward;
+            PlacementMap other = forwards ? backward : forward;
+            Frontier next = new Frontier();
+            int best = Integer.MAX_VALUE;
+            for (int i = 0; i < frontier.size(); i++) {
+                int placement = frontier.get(i);
+                int depth = tree.depth(placement) + 1;
+                int[] neighbors = forwards ? successors(board, tree, placement) : predecessors(board, tree, placement);
+                expanded++;
+                for (int neighbor : neighbors) {
+                    if (neighbor == PlacementMap.NONE || tree.contains(neighbor)) {
+                        continue;
+                    }
+                    tree.put(neighbor, placement, depth);
+                    next.add(neighbor);
+                    int otherDepth = other.depth(neighbor);
+                    if (otherDepth != PlacementMap.NONE && depth + otherDepth < best) {
+                        best = depth + otherDepth;
+                        meeting = neighbor;
+                    }
+                }
+            }
+            if (forwards) {
+                forwardFrontier = next;
+            } else {
+                backwardFrontier = next;
+            }
+        }
+        long generated = forward.size() + backward.size();
+        if (meeting == PlacementMap.NONE) {
+            return new Solution(List.of(), false, generated, expanded);
+        }
+        List<TwoPhaseMove<Move>> moves = new ArrayList<>(forward.pathTo(meeting));
+        moves.addAll(backward.pathFrom(meeting));
+        return new Solution(moves, true, generated, expanded);
+    }
+
+    private static void seed(BoardSpec board, PlacementMap backward, Frontier frontier, int solved) {
+        if (predecessors(board, backward, solved)[0] != PlacementMap.NONE) {
+            backward.put(solved, PlacementMap.NONE, 0);
+            frontier.add(solved);
+        }
+    }
+
+    private static int[] successors(BoardSpec board, PlacementMap tree, int placement) {
+        int[] successors = new int[ChessState.MAX_MOVES];
+        Arrays.fill(successors, PlacementMap.NONE);
+        int king = tree.kingSquare(placement);
+        int knight = tree.knightSquare(placement);
+        int goal = board.getGoalSquare();
+        if (king == goal || knight == goal) {
+            return successors;
+        }
+        if (board.isKnightMove(knight, king)) {
+            for (int i = 0, count = board.kingMoveCount(king); i < count; i++) {
+                successors[i] = tree.placement(board.kingMove(king, i), knight);
+            }
+        } else if (board.isKingMove(king, knight)) {
+            for (int i = 0, count = board.knightMoveCount(knight); i < count; i++) {
+                successors[i] = tree.placement(king, board.knightMove(knight, i));
+            }
+        }
+        return successors;
+    }
+
+    private static int[] predecessors(BoardSpec board, PlacementMap tree, int placement) {
+        int[] predecessors = new int[2 * ChessState.MAX_MOVES];
+        Arrays.fill(predecessors, PlacementMap.NONE);
+        int king = tree.kingSquare(placement);
+        int knight = tree.knightSquare(placement);
+        int goal = board.getGoalSquare();
+        int count = 0;
+        // The king stepped here from a square the knight attacked
+        if (knight != goal) {
+            for (int i = 0, moves = board.kingMoveCount(king); i < moves; i++) {
+                int origin = board.kingMove(king, i);
+                if (origin != goal && board.isKnightMove(knight, origin)) {
+                    predecessors[count++] = tree.placement(origin, knight);
+                }
+            }
+        }
+        // The knight jumped here from a square next to the king
+        if (king != goal) {
+            for (int i = 0, moves = board.knightMoveCount(knight); i < moves; i++) {
+                int origin = board.knightMove(knight, i);
+                if (origin != goal && board.isKingMove(king, origin)) {
+                    predecessors[count++] = tree.placement(king, origin);
+                }
+            }
+        }
+        return predecessors;
+    }
+
+    /**
+     * The placements of one layer of a search, in the order they were reached.
+     */
+    private static final class Frontier {
+        private int[] placements = new int[16];
+        private int size;
+
+        void add(int placement) {
+            if (size == placements.length) {
+                placements = Arrays.copyOf(placements, size * 2);
+            }
+            placements[size++] = placement;
+        }
+
+        int get(int i) {
+            return placements[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package chess.model;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Describes the board a chess game is played on: its dimensions and the goal square.
+ * The x-coordinate of a square is its row, in {@code [0, height)}, and the y-coordinate is its column,
+ * in {@code [0, width)}, matching the way the board is laid out in the UI.
+ * The king and knight moves from every square are precomputed once per board size and shared,
+ * so generating moves on a large board costs the same as on the standard one.
+ */
+public final class BoardSpec {
+    /**
+     * The largest supported width and height.
+     */
+    public static final int MAX_SIZE = 64;
+
+    private static final int[][] KING_OFFSETS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int[][] KNIGHT_OFFSETS = {{-2, -1}, {-1, -2}, {1, -2}, {2, -1}, {2, 1}, {1, 2}, {-1, 2}, {-2, 1}};
+    private static final Map<Integer, MoveTables> TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * The standard 8x8 board with the goal at (0, 6).
+     */
+    public static final BoardSpec DEFAULT = new BoardSpec(8, 8, 0, 6);
+
+    private final int width;
+    private final int height;
+    private final int goalX;
+    private final int goalY;
+    private final MoveTables tables;
+
+    /**
+     * Constructs a board specification.
+     *
+     * @param width The number of columns.
+     * @param height The number of rows.
+     * @param goalX The x-coordinate (row) of the goal.
+     * @param goalY The y-coordinate (column) of the goal.
+     * @throws IllegalArgumentException If a dimension is out of range or the goal is off the board.
+     */
+    public BoardSpec(int width, int height, int goalX, int goalY) {
+        if (width < 1 || width > MAX_SIZE || height < 1 || height > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_SIZE + ": " + width + "x" + height);
+        }
+        if (goalX < 0 || goalX >= height || goalY < 0 || goalY >= width) {
+            throw new IllegalArgumentException("Goal (" + goalX + ", " + goalY + ") is off the board");
+        }
+        this.width = width;
+        this.height = height;
+        this.goalX = goalX;
+        this.goalY = goalY;
+        this.tables = TABLES.computeIfAbsent(height * (MAX_SIZE + 1) + width, key -> new MoveTables(width, height));
+    }
+
+    /**
+     * @return The number of columns.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return The x-coordinate of the goal.
+     */
+    public int getGoalX() {
+        return goalX;
+    }
+
+    /**
+     * @return The y-coordinate of the goal.
+     */
+    public int getGoalY() {
+        return goalY;
+    }
+
+    /**
+     * @return The number of squares on the board.
+     */
+    public int getSquares() {
+        return width * height;
+    }
+
+    /**
+     * @return The square of the goal.
+     */
+    public int getGoalSquare() {
+        return square(goalX, goalY);
+    }
+
+    /**
+     * Returns a specification of the same board with a different goal.
+     *
+     * @param goalX The x-coordinate of the new goal.
+     * @param goalY The y-coordinate of the new goal.
+     * @return The new board specification.
+     */
+    public BoardSpec withGoal(int goalX, int goalY) {
+        return new BoardSpec(width, height, goalX, goalY);
+    }
+
+    /**
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return {@code true} if the coordinates are on the board.
+     */
+    public boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < height && y >= 0 && y < width;
+    }
+
+    /**
+     * @param x The x-coordinate of the square.
+     * @param y The y-coordinate of the square.
+     * @return The index of the square, {@code x * width + y}.
+     */
+    public int square(int x, int y) {
+        return x * width + y;
+    }
+
+    /**
+     * @param square The index of the square.
+     * @return The x-coordinate of the square.
+     */
+    public int squareX(int square) {
+        return square / width;
+    }
+
+    /**
+     * @param square The index of the square.
+     * @return The y-coordinate of the square.
+     */
+    public int squareY(int square) {
+        return square % width;
+    }
+
+    /**
+     * @param square The index of the square.
+     * @return The number of squares a king standing on {@code square} can move to.
+     */
+    public int kingMoveCount(int square) {
+        return tables.kingCounts[square];
+    }
+
+    /**
+     * @param square The index of the square.
+     * @param i The index of the move, less than {@link #kingMoveCount(int)}.
+     * @return The {@code i}-th square a king standing on {@code square} can move to.
+     */
+    public int kingMove(int square, int i) {
+        return tables.kingTargets[square << 3 | i];
+    }
+
+    /**
+     * @param square The index of the square.
+     * @return The number of squares a knight standing on {@code square} can move to.
+     */
+    public int knightMoveCount(int square) {
+        return tables.knightCounts[square];
+    }
+
+    /**
+     * @param square The index of the square.
+     * @param i The index of the move, less than {@link #knightMoveCount(int)}.
+     * @return The {@code i}-th square a knight standing on {@code square} can move to.
+     */
+    public int knightMove(int square, int i) {
+        return tables.knightTargets[square << 3 | i];
+    }
+
+    /**
+     * @param from The index of the square a king stands on.
+     * @param to The index of another square.
+     * @return {@code true} if the king can move from {@code from} to {@code to} in a single step.
+     */
+    public boolean isKingMove(int from, int to) {
+        return contains(tables.kingTargets, from, tables.kingCounts[from], to);
+    }
+
+    /**
+     * @param from The index of the square a knight stands on.
+     * @param to The index of another square.
+     * @return {@code true} if the knight can jump from {@code from} to {@code to}.
+     */
+    public boolean isKnightMove(int from, int to) {
+        return contains(tables.knightTargets, from, tables.knightCounts[from], to);
+    }
+
+    private static boolean contains(int[] targets, int from, int count, int to) {
+        for (int i = from << 3, end = i + count; i < end; i++) {
+            if (targets[i] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the object is a board specification with the same dimensions and goal.
+     *
+     * @param o The object to compare with.
+     * @return {@code true} if the objects are equal, {@code false} otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BoardSpec that = (BoardSpec) o;
+        return width == that.width && height == that.height && goalX == that.goalX && goalY == that.goalY;
+    }
+
+    /**
+     * @return The hash code of the board specification.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(width, height, goalX, goalY);
+    }
+
+    /**
+     * @return A string representation of the board specification.
+     */
+    @Override
+    public String toString() {
+        return String.format("Board: %dx%d, Goal: (%d, %d)", width, height, goalX, goalY);
+    }
+
+    /**
+     * The king and knight targets of every square of a board size, at most eight per square.
+     */
+    private static final class MoveTables {
+        private final int[] kingTargets;
+        private final byte[] kingCounts;
+        private final int[] knightTargets;
+        private final byte[] knightCounts;
+
+        MoveTables(int width, int height) {
+            int squares = width * height;
+            kingTargets = new int[squares * 8];
+            kingCounts = new byte[squares];
+            knightTargets = new int[squares * 8];
+            knightCounts = new byte[squares];
+            fill(width, height, KING_OFFSETS, kingTargets, kingCounts);
+            fill(width, height, KNIGHT_OFFSETS, knightTargets, knightCounts);
+        }
+
+        private static void fill(int width, int height, int[][] offsets, int[] targets, byte[] counts) {
+            for (int x = 0; x < height; x++) {
+                for (int y = 0; y < width; y++) {
+                    int square = x * width + y;
+                    int count = 0;
+                    for (int[] offset : offsets) {
+                        int newX = x + offset[0];
+                        int newY = y + offset[1];
+                        if (newX >= 0 && newX < height && newY >= 0 && newY < width) {
+                            targets[square * 8 + count++] = newX * width + newY;
+                        }
+                    }
+                    counts[square] = (byte) count;
+                }
+            }
+        }
+    }
+}
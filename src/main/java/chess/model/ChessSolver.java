@@ -0,0 +1,164 @@
+package chess.model;
+
+import puzzle.TwoPhaseMoveState;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Finds the shortest solution of a chess puzzle with a breadth-first search.
+ * The search relies on the {@link TwoPhaseMoveState} contract of {@link ChessState}, copying states with
+ * {@link ChessState#copyPosition()} so none carries a history, and uses their {@code equals}/{@code hashCode}
+ * (king and knight positions) to detect visited states.
+ * A solver constructed with a {@link TranspositionTable} also uses it as a distance cache: every state on a
+ * solution found is recorded under its {@link Zobrist} hash with its distance to the goal and the first move of
+ * a shortest solution from it, so a later search from any of those states follows the table instead of
+ * searching. Losing an entry is safe, since a state whose chain of entries is incomplete is searched as usual.
+ */
+public class ChessSolver {
+    private final TranspositionTable table;
+    private BoardSpec tableBoard;
+
+    /**
+     * Constructs a solver without a distance cache.
+     */
+    public ChessSolver() {
+        this(null);
+    }
+
+    /**
+     * Constructs a solver that caches the distances of the solutions it finds in a transposition table.
+     *
+     * @param table The table to cache the distances in, or {@code null} to cache nothing; it is cleared
+     *              whenever the solver is given a state on a different board than the previous one.
+     */
+    public ChessSolver(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Searches for the shortest move sequence that solves the given state.
+     * The given state is not modified.
+     *
+     * @param initialState The state to start the search from.
+     * @return The shortest solution, or an unsolved {@link Solution} if the goal is unreachable.
+     */
+    public Solution solve(ChessState initialState) {
+        Node root = new Node(initialState.copyPosition(), null, null);
+        if (root.state.isSolved()) {
+            return new Solution(List.of(), true, 1, 0);
+        }
+        if (table != null) {
+            if (!root.state.getBoard().equals(tableBoard)) {
+                table.clear();
+                tableBoard = root.state.getBoard();
+            }
+            Solution cached = lookup(root.state);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Solution solution = search(root);
+        if (table != null && solution.isSolved()) {
+            record(root.state, solution.getMoves());
+        }
+        return solution;
+    }
+
+    private static Solution search(Node root) {
+        Set<TwoPhaseMoveState<Move>> visited = new HashSet<>();
+        Queue<Node> queue = new ArrayDeque<>();
+        visited.add(root.state);
+        queue.add(root);
+        long expanded = 0;
+
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            expanded++;
+            for (TwoPhaseMove<Move> move : node.state.getLegalMoves()) {
+                ChessState next = node.state.copyPosition();
+                next.makeMove(move);
+                if (!visited.add(next)) {
+                    continue;
+                }
+                Node child = new Node(next, node, move);
+                if (next.isSolved()) {
+                    return new Solution(child.path(), true, visited.size(), expanded);
+                }
+                queue.add(child);
+            }
+        }
+        return new Solution(List.of(), false, visited.size(), expanded);
+    }
+
+    /**
+     * Follows the cached first moves from the given state, each of which must lead to a state exactly one move
+     * closer to the goal.
+     *
+     * @return The cached solution, or {@code null} if an entry is missing or does not fit the position.
+     */
+    private Solution lookup(ChessState initialState) {
+        int distance = table.getDepth(initialState.getZobristHash());
+        if (distance <= 0) {
+            return null;
+        }
+        ChessState state = initialState.copyPosition();
+        List<TwoPhaseMove<Move>> moves = new ArrayList<>(distance);
+        for (int remaining = distance; remaining > 0; remaining--) {
+            long hash = state.getZobristHash();
+            if (table.getDepth(hash) != remaining) {
+                return null;
+            }
+            Move to = Move.of((short) table.get(hash));
+            Move from = state.getPlacement(to.piece());
+            if (!state.makeMove(to)) {
+                return null;
+            }
+            moves.add(new TwoPhaseMove<>(from, to));
+        }
+        return state.isSolved() ? new Solution(moves, true, distance + 1, distance) : null;
+    }
+
+    /**
+     * Caches every state of a shortest solution with its distance to the goal; the rest of a shortest solution
+     * is also a shortest solution from each state along it.
+     */
+    private void record(ChessState initialState, List<TwoPhaseMove<Move>> moves) {
+        ChessState state = initialState.copyPosition();
+        for (int i = 0; i < moves.size(); i++) {
+            int distance = moves.size() - i;
+            Move to = moves.get(i).to();
+            if (distance <= TranspositionTable.MAX_DEPTH) {
+                table.put(state.getZobristHash(), to.bits(), distance);
+            }
+            state.makeMove(to);
+        }
+    }
+
+    private static class Node {
+        private final ChessState state;
+        private final Node parent;
+        private final TwoPhaseMove<Move> move;
+
+        Node(ChessState state, Node parent, TwoPhaseMove<Move> move) {
+            this.state = state;
+            this.parent = parent;
+            this.move = move;
+        }
+
+        List<TwoPhaseMove<Move>> path() {
+            List<TwoPhaseMove<Move>> moves = new ArrayList<>();
+            for (Node node = this; node.parent != null; node = node.parent) {
+                moves.add(node.move);
+            }
+            Collections.reverse(moves);
+            return moves;
+        }
+    }
+}
@@ -1,23 +1,41 @@
 package chess.model;
 
+import chess.metrics.Counter;
+import chess.metrics.MetricsRegistry;
 import puzzle.TwoPhaseMoveState;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.Objects;
 
 /**
  * Represents the state of a chess game with a king and a knight, including their positions and move count.
- * Implements the {@link puzzle.TwoPhaseMoveState} interface.
+ * The board size and goal square are described by a {@link BoardSpec}.
+ * Implements the {@link puzzle.TwoPhaseMoveState} interface over {@link Move}s: the source of a move is the
+ * current placement of a piece and the destination is its new placement.
+ * Every move made is recorded in a {@link MoveHistory}, so moves can be undone and redone, except by the
+ * copies made for searches with {@link #copyPosition()}, which keep no history at all.
+ * The {@link Zobrist} hash of the position is updated with every move, so hashing a state costs nothing.
  */
-public class ChessState implements TwoPhaseMoveState<String> {
+public class ChessState implements TwoPhaseMoveState<Move> {
+    /**
+     * The largest number of legal moves a state can have, and therefore the minimum move buffer size.
+     */
+    public static final int MAX_MOVES = 8;
+
+    private static final Counter MOVES = MetricsRegistry.getDefault().counter("state.moves");
+    private static final Counter ILLEGAL_MOVES = MetricsRegistry.getDefault().counter("state.illegalMoves");
+    private static final Counter LEGAL_MOVE_QUERIES = MetricsRegistry.getDefault().counter("state.legalMoveQueries");
+
+    private final BoardSpec board;
     private int kingX, kingY;
     private int knightX, knightY;
-    private static final int TARGET_X = 0, TARGET_Y = 6; // Goal position
     private int moveCount = 0;
+    private long zobristHash;
+    // null for the copies of searches, which record no moves
+    private final MoveHistory history;
 
     /**
-     * Constructs a {@code ChessState} with the specified positions and move count.
+     * Constructs a {@code ChessState} on the standard board with the specified positions and move count.
      *
      * @param kingX The x-coordinate of the king.
      * @param kingY The y-coordinate of the king.
@@ -26,11 +44,51 @@ public class ChessState implements TwoPhaseMoveState<String> {
      * @param moveCount The number of moves made so far.
      */
     public ChessState(int kingX, int kingY, int knightX, int knightY, int moveCount) {
+        this(BoardSpec.DEFAULT, kingX, kingY, knightX, knightY, moveCount);
+    }
+
+    /**
+     * Constructs a {@code ChessState} on the specified board with the specified positions and move count.
+     *
+     * @param board The board the game is played on.
+     * @param kingX The x-coordinate of the king.
+     * @param kingY The y-coordinate of the king.
+     * @param knightX The x-coordinate of the knight.
+     * @param knightY The y-coordinate of the knight.
+     * @param moveCount The number of moves made so far.
+     */
+    public ChessState(BoardSpec board, int kingX, int kingY, int knightX, int knightY, int moveCount) {
+        this(board, kingX, kingY, knightX, knightY, moveCount, new MoveHistory());
+    }
+
+    /**
+     * Constructs a {@code ChessState} on the specified board with the specified positions, move count and
+     * the history of the moves that led to them.
+     *
+     * @param board The board the game is played on.
+     * @param kingX The x-coordinate of the king.
+     * @param kingY The y-coordinate of the king.
+     * @param knightX The x-coordinate of the knight.
+     * @param knightY The y-coordinate of the knight.
+     * @param moveCount The number of moves made so far.
+     * @param history The moves made so far, owned by the new state from now on.
+     */
+    public ChessState(BoardSpec board, int kingX, int kingY, int knightX, int knightY, int moveCount, MoveHistory history) {
+        this.board = board;
+        this.history = history;
         this.kingX = kingX;
         this.kingY = kingY;
         this.knightX = knightX;
         this.knightY = knightY;
         this.moveCount = moveCount;
+        this.zobristHash = Zobrist.hash(kingX, kingY, knightX, knightY);
+    }
+
+    /**
+     * @return The board the game is played on.
+     */
+    public BoardSpec getBoard() {
+        return board;
     }
 
     /**
@@ -65,14 +123,14 @@ public class ChessState implements TwoPhaseMoveState<String> {
      * @return The x-coordinate of the goal position.
      */
     public int getGoalX() {
-        return TARGET_X;
+        return board.getGoalX();
     }
 
     /**
      * @return The y-coordinate of the goal position.
      */
     public int getGoalY() {
-        return TARGET_Y;
+        return board.getGoalY();
     }
 
     /**
@@ -83,53 +141,48 @@ public class ChessState implements TwoPhaseMoveState<String> {
     }
 
     /**
-     * Determines if it is legal to move from the current position for the specified piece.
+     * @return The history of the moves made so far, empty if the state was made by {@link #copyPosition()}.
+     */
+    public MoveHistory getHistory() {
+        return history != null ? history : new MoveHistory();
+    }
+
+    /**
+     * Returns the current placement of the specified piece, the source of its next move.
      *
-     * @param piece The piece to check legality for ("King" or "Knight").
-     * @return {@code true} if it is legal to move from the current position, {@code false} otherwise.
+     * @param piece The piece.
+     * @return The placement of the piece.
      */
-    @Override
-    public boolean isLegalToMoveFrom(String piece) {
-        if (piece.equals("King")) {
-            return isAttackedByKnight(kingX, kingY);
-        } else if (piece.equals("Knight")) {
-            return isAttackedByKing(knightX, knightY);
-        }
-        return false;
+    public Move getPlacement(Piece piece) {
+        return piece == Piece.KING ? Move.of(Piece.KING, kingX, kingY) : Move.of(Piece.KNIGHT, knightX, knightY);
     }
 
     /**
-     * Determines if the specified position is attacked by the knight.
+     * Determines if the specified placement is a legal source of a move: it is the current placement
+     * of its piece, and the piece is allowed to move in the current phase.
      *
-     * @param x The x-coordinate of the position.
-     * @param y The y-coordinate of the position.
-     * @return {@code true} if the position is attacked by the knight, {@code false} otherwise.
-     */
-    private boolean isAttackedByKnight(int x, int y) {
-        int[][] knightMoves = {{-2, -1}, {-1, -2}, {1, -2}, {2, -1}, {2, 1}, {1, 2}, {-1, 2}, {-2, 1}};
-        for (int[] move : knightMoves) {
-            if (knightX + move[0] == x && knightY + move[1] == y) {
-                return true;
-            }
-        }
-        return false;
+     * @param from The placement to check.
+     * @return {@code true} if it is legal to move from the placement, {@code false} otherwise.
+     */
+    @Override
+    public boolean isLegalToMoveFrom(Move from) {
+        return from.equals(getPlacement(from.piece())) && isLegalToMoveFrom(from.piece());
     }
 
     /**
-     * Determines if the specified position is attacked by the king.
+     * Determines if the specified piece is allowed to move in the current phase: the king moves when
+     * the knight attacks it, the knight moves when it stands next to the king.
      *
-     * @param x The x-coordinate of the position.
-     * @param y The y-coordinate of the position.
-     * @return {@code true} if the position is attacked by the king, {@code false} otherwise.
-     */
-    private boolean isAttackedByKing(int x, int y) {
-        int[][] kingMoves = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
-        for (int[] move : kingMoves) {
-            if (kingX + move[0] == x && kingY + move[1] == y) {
-                return true;
-            }
+     * @param piece The piece to check legality for.
+     * @return {@code true} if the piece is allowed to move, {@code false} otherwise.
+     */
+    public boolean isLegalToMoveFrom(Piece piece) {
+        if (!board.isOnBoard(kingX, kingY) || !board.isOnBoard(knightX, knightY)) {
+            return false;
         }
-        return false;
+        int king = board.square(kingX, kingY);
+        int knight = board.square(knightX, knightY);
+        return piece == Piece.KING ? board.isKnightMove(knight, king) : board.isKingMove(king, knight);
     }
 
     /**
@@ -139,7 +192,9 @@ public class ChessState implements TwoPhaseMoveState<String> {
      */
     @Override
     public boolean isSolved() {
-        return (kingX == TARGET_X && kingY == TARGET_Y) || (knightX == TARGET_X && knightY == TARGET_Y);
+        int goalX = board.getGoalX();
+        int goalY = board.getGoalY();
+        return (kingX == goalX && kingY == goalY) || (knightX == goalX && knightY == goalY);
     }
 
     /**
@@ -149,41 +204,39 @@ public class ChessState implements TwoPhaseMoveState<String> {
      * @return {@code true} if the move is legal, {@code false} otherwise.
      */
     @Override
-    public boolean isLegalMove(TwoPhaseMove<String> move) {
-        String piece = move.from();
-        String[] parts = move.to().split(" ");
-        int newX = Integer.parseInt(parts[1]);
-        int newY = Integer.parseInt(parts[2]);
-        if (piece.equals("King")) {
-            return isLegalKingMove(newX, newY);
-        } else if (piece.equals("Knight")) {
-            return isLegalKnightMove(newX, newY);
-        }
-        return false;
+    public boolean isLegalMove(TwoPhaseMove<Move> move) {
+        return isLegalMove(move.from(), move.to());
     }
 
     /**
-     * Determines if the specified position is a legal move for the king.
+     * Determines if moving a piece from the specified placement to another is legal.
      *
-     * @param newX The new x-coordinate for the king.
-     * @param newY The new y-coordinate for the king.
-     * @return {@code true} if the move is legal for the king, {@code false} otherwise.
+     * @param from The current placement of the piece.
+     * @param to The new placement of the piece.
+     * @return {@code true} if the move is legal, {@code false} otherwise.
      */
-    private boolean isLegalKingMove(int newX, int newY) {
-        return Math.abs(newX - kingX) <= 1 && Math.abs(newY - kingY) <= 1;
+    public boolean isLegalMove(Move from, Move to) {
+        return from.equals(getPlacement(to.piece())) && isLegalMove(to);
     }
 
     /**
-     * Determines if the specified position is a legal move for the knight.
+     * Determines if moving a piece from its current placement to the specified one is legal:
+     * the piece is allowed to move in the current phase, the new placement is on the board,
+     * and it is reachable by a single move of the piece.
+     * The moves of both pieces are looked up in the precomputed tables of the {@link BoardSpec}.
      *
-     * @param newX The new x-coordinate for the knight.
-     * @param newY The new y-coordinate for the knight.
-     * @return {@code true} if the move is legal for the knight, {@code false} otherwise.
+     * @param to The new placement of the piece.
+     * @return {@code true} if the move is legal, {@code false} otherwise.
      */
-    private boolean isLegalKnightMove(int newX, int newY) {
-        int dx = Math.abs(newX - knightX);
-        int dy = Math.abs(newY - knightY);
-        return (dx == 2 && dy == 1) || (dx == 1 && dy == 2);
+    public boolean isLegalMove(Move to) {
+        if (!board.isOnBoard(to.x(), to.y()) || !isLegalToMoveFrom(to.piece())) {
+            return false;
+        }
+        int target = board.square(to.x(), to.y());
+        if (to.piece() == Piece.KING) {
+            return board.isKingMove(board.square(kingX, kingY), target);
+        }
+        return board.isKnightMove(board.square(knightX, knightY), target);
     }
 
     /**
@@ -192,22 +245,92 @@ public class ChessState implements TwoPhaseMoveState<String> {
      * @param move The move to make.
      */
     @Override
-    public void makeMove(TwoPhaseMove<String> move) {
-        if (isLegalMove(move)) {
-            String piece = move.from();
-            String[] parts = move.to().split(" ");
-            int newX = Integer.parseInt(parts[1]);
-            int newY = Integer.parseInt(parts[2]);
-            if (piece.equals("King")) {
-                kingX = newX;
-                kingY = newY;
-            } else if (piece.equals("Knight")) {
-                knightX = newX;
-                knightY = newY;
-            }
+    public void makeMove(TwoPhaseMove<Move> move) {
+        if (move.from().equals(getPlacement(move.to().piece()))) {
+            makeMove(move.to());
+        }
+    }
+
+    /**
+     * Moves a piece to the specified placement if it is legal, so callers need not check it beforehand.
+     *
+     * @param to The new placement of the piece.
+     * @return {@code true} if the move was made, {@code false} if it was illegal and the state is unchanged.
+     */
+    public boolean makeMove(Move to) {
+        if (!isLegalMove(to)) {
+            ILLEGAL_MOVES.increment();
+            return false;
+        }
+        if (history != null) {
+            history.record(getPlacement(to.piece()), to);
+        }
+        place(to);
+        moveCount = moveCount + 1;
+        MOVES.increment();
+        return true;
+    }
 
-            moveCount = moveCount + 1;
+    /**
+     * Takes back the last move made.
+     *
+     * @return {@code true} if a move was taken back, {@code false} if there was none.
+     */
+    public boolean undo() {
+        if (history == null || !history.canUndo()) {
+            return false;
         }
+        place(MoveHistory.from(history.undo()));
+        moveCount = moveCount - 1;
+        return true;
+    }
+
+    /**
+     * Makes the last move taken back again.
+     *
+     * @return {@code true} if a move was made again, {@code false} if there was none.
+     */
+    public boolean redo() {
+        if (history == null || !history.canRedo()) {
+            return false;
+        }
+        place(MoveHistory.to(history.redo()));
+        moveCount = moveCount + 1;
+        return true;
+    }
+
+    /**
+     * Puts the pieces back on the specified squares and forgets every move, reusing the history's storage,
+     * so a single state can replay many games without allocating.
+     *
+     * @param kingX The x-coordinate of the king.
+     * @param kingY The y-coordinate of the king.
+     * @param knightX The x-coordinate of the knight.
+     * @param knightY The y-coordinate of the knight.
+     */
+    void reset(int kingX, int kingY, int knightX, int knightY) {
+        this.kingX = kingX;
+        this.kingY = kingY;
+        this.knightX = knightX;
+        this.knightY = knightY;
+        moveCount = 0;
+        zobristHash = Zobrist.hash(kingX, kingY, knightX, knightY);
+        if (history != null) {
+            history.clear();
+        }
+    }
+
+    private void place(Move placement) {
+        if (placement.piece() == Piece.KING) {
+            zobristHash ^= Zobrist.key(Piece.KING, kingX, kingY);
+            kingX = placement.x();
+            kingY = placement.y();
+        } else {
+            zobristHash ^= Zobrist.key(Piece.KNIGHT, knightX, knightY);
+            knightX = placement.x();
+            knightY = placement.y();
+        }
+        zobristHash ^= Zobrist.key(placement.piece(), placement.x(), placement.y());
     }
 
     /**
@@ -216,36 +339,58 @@ public class ChessState implements TwoPhaseMoveState<String> {
      * @return A set of legal moves.
      */
     @Override
-    public Set<TwoPhaseMove<String>> getLegalMoves() {
-        Set<TwoPhaseMove<String>> legalMoves = new HashSet<>();
-        if (isLegalToMoveFrom("King")) {
-            int[][] kingMoves = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
-            for (int[] move : kingMoves) {
-                int newX = kingX + move[0];
-                int newY = kingY + move[1];
-                if (newX >= 0 && newX < 8 && newY >= 0 && newY < 8) {
-                    legalMoves.add(new TwoPhaseMove<>("King", "King " + newX + " " + newY));
-                }
+    public Set<TwoPhaseMove<Move>> getLegalMoves() {
+        Move[] buffer = new Move[MAX_MOVES];
+        int count = getLegalMoves(buffer);
+        Set<TwoPhaseMove<Move>> legalMoves = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            legalMoves.add(new TwoPhaseMove<>(getPlacement(buffer[i].piece()), buffer[i]));
+        }
+        return legalMoves;
+    }
+
+    /**
+     * Writes the destinations of the legal moves from the current state into the buffer, without allocating.
+     *
+     * @param buffer The buffer to write the moves to, at least {@link #MAX_MOVES} long.
+     * @return The number of moves written.
+     */
+    public int getLegalMoves(Move[] buffer) {
+        LEGAL_MOVE_QUERIES.increment();
+        int count = 0;
+        if (isLegalToMoveFrom(Piece.KING)) {
+            int square = board.square(kingX, kingY);
+            for (int i = 0, moves = board.kingMoveCount(square); i < moves; i++) {
+                int target = board.kingMove(square, i);
+                buffer[count++] = Move.of(Piece.KING, board.squareX(target), board.squareY(target));
             }
-        } else if (isLegalToMoveFrom("Knight")) {
-            int[][] knightMoves = {{-2, -1}, {-1, -2}, {1, -2}, {2, -1}, {2, 1}, {1, 2}, {-1, 2}, {-2, 1}};
-            for (int[] move : knightMoves) {
-                int newX = knightX + move[0];
-                int newY = knightY + move[1];
-                if (newX >= 0 && newX < 8 && newY >= 0 && newY < 8) {
-                    legalMoves.add(new TwoPhaseMove<>("Knight", "Knight " + newX + " " + newY));
-                }
+        } else if (isLegalToMoveFrom(Piece.KNIGHT)) {
+            int square = board.square(knightX, knightY);
+            for (int i = 0, moves = board.knightMoveCount(square); i < moves; i++) {
+                int target = board.knightMove(square, i);
+                buffer[count++] = Move.of(Piece.KNIGHT, board.squareX(target), board.squareY(target));
             }
         }
-        return legalMoves;
+        return count;
     }
 
     /**
      * @return A clone of the current state.
      */
     @Override
-    public TwoPhaseMoveState<String> clone() {
-        return new ChessState(kingX, kingY, knightX, knightY, moveCount);
+    public TwoPhaseMoveState<Move> clone() {
+        return new ChessState(board, kingX, kingY, knightX, knightY, moveCount, history != null ? history.copy() : null);
+    }
+
+    /**
+     * Copies the placement of the pieces and the move count for searches that keep their own path.
+     * The copy keeps no history, so neither copying it nor moving it allocates one: its moves cannot be
+     * undone or redone.
+     *
+     * @return A copy of the current state without a history.
+     */
+    public ChessState copyPosition() {
+        return new ChessState(board, kingX, kingY, knightX, knightY, moveCount, null);
     }
 
     /**
@@ -259,15 +404,22 @@ public class ChessState implements TwoPhaseMoveState<String> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ChessState that = (ChessState) o;
-        return kingX == that.kingX && kingY == that.kingY && knightX == that.knightX && knightY == that.knightY;
+        return zobristHash == that.zobristHash && kingX == that.kingX && kingY == that.kingY && knightX == that.knightX && knightY == that.knightY;
+    }
+
+    /**
+     * @return The {@link Zobrist} hash of the positions of the pieces, kept up to date by every move.
+     */
+    public long getZobristHash() {
+        return zobristHash;
     }
 
     /**
-     * @return The hash code of the current state.
+     * @return The hash code of the current state, folded from its {@link Zobrist} hash.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(kingX, kingY, knightX, knightY);
+        return Long.hashCode(zobristHash);
     }
 
     /**
@@ -0,0 +1,208 @@
+package chess.model;
+
+import chess.metrics.Counter;
+import chess.metrics.LatencyHistogram;
+import chess.metrics.MetricsRegistry;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent front of a {@link LeaderboardStore} that absorbs bursts of score updates without a global lock.
+ * <p>
+ * The best known move count of every player is kept in a {@link ConcurrentHashMap} and lowered atomically,
+ * so concurrent updates of different players never contend, and an update that does not beat the player's
+ * best score is rejected without touching the store. Only the first update of a player reads its stored
+ * score, before the map is touched. Improved scores wait in a second map, where concurrent improvements of
+ * the same player keep only the best one, until a background flusher writes them to the store as a single
+ * batch: every {@value #FLUSH_INTERVAL_MILLIS} ms, or as soon as {@value #BATCH_SIZE} players are waiting.
+ * A batch the store fails to record, for example because the log cannot be written, waits for the next flush.
+ * Readers call {@link #flush()} first to see every update made before.
+ * <p>
+ * The cache of best scores is dropped whenever the store is reloaded, for example because the snapshot
+ * was replaced; a change made on disk by someone else is therefore noticed at the next flush.
+ */
+public final class ConcurrentLeaderboard implements AutoCloseable {
+    /**
+     * The number of waiting players that triggers a flush before the interval has passed.
+     */
+    public static final int BATCH_SIZE = 1024;
+
+    /**
+     * The longest time an improved score waits before it is written to the store, in milliseconds.
+     */
+    public static final long FLUSH_INTERVAL_MILLIS = 20;
+
+    private static final int NO_SCORE = Integer.MAX_VALUE;
+    private static final Map<LeaderboardStore, ConcurrentLeaderboard> INSTANCES = new ConcurrentHashMap<>();
+    private static final LatencyHistogram FLUSH_LATENCY = MetricsRegistry.getDefault().histogram("leaderboard.flush");
+    private static final Counter FLUSHED_SCORES = MetricsRegistry.getDefault().counter("leaderboard.flushedScores");
+
+    private final LeaderboardStore store;
+    private final ConcurrentHashMap<String, Integer> best = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LeaderboardStore.Score> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Thread flusher;
+    private volatile long cachedGeneration;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a concurrent front of the store with its own flusher, bypassing the shared instances
+     * of {@link #forStore(LeaderboardStore)}.
+     *
+     * @param store The store the scores are written to.
+     */
+    ConcurrentLeaderboard(LeaderboardStore store) {
+        this.store = store;
+        this.cachedGeneration = store.getGeneration();
+        this.flusher = Thread.ofVirtual().name("leaderboard-flusher").start(this::runFlusher);
+    }
+
+    /**
+     * Returns the concurrent front of the store, creating it on first use.
+     * Every caller using the same store shares the same front.
+     *
+     * @param store The store the scores are written to.
+     * @return The concurrent front of the store.
+     */
+    public static ConcurrentLeaderboard forStore(LeaderboardStore store) {
+        return INSTANCES.computeIfAbsent(store, ConcurrentLeaderboard::new);
+    }
+
+    /**
+     * Writes the waiting scores of every shared front to its store and stops the flushers.
+     */
+    public static void closeAll() {
+        for (ConcurrentLeaderboard leaderboard : INSTANCES.values()) {
+            leaderboard.close();
+        }
+        INSTANCES.clear();
+    }
+
+    /**
+     * @return The store the scores are written to.
+     */
+    public LeaderboardStore getStore() {
+        return store;
+    }
+
+    /**
+     * Records a score if it beats the best score of the player, without waiting for it to be written.
+     *
+     * @param username The username of the player.
+     * @param moveCount The number of moves the player won in.
+     * @param dateTime The date and time the score was achieved.
+     * @return {@code true} if the score became the player's best score, {@code false} otherwise.
+     */
+    public boolean update(String username, int moveCount, String dateTime) {
+        long generation = store.getGeneration();
+        if (generation != cachedGeneration) {
+            best.clear();
+            cachedGeneration = generation;
+        }
+        // Read the stored score outside the map, so its bin is never locked while the store is
+        Integer cached = best.get(username);
+        int stored = cached != null ? cached : storedMoveCount(username);
+        boolean[] improved = {false};
+        best.compute(username, (name, current) -> {
+            int known = current != null ? current : stored;
+            if (known <= moveCount) {
+                return known;
+            }
+            improved[0] = true;
+            return moveCount;
+        });
+        if (!improved[0]) {
+            return false;
+        }
+        pending.merge(username, new LeaderboardStore.Score(username, moveCount, dateTime), ConcurrentLeaderboard::better);
+        if (closed) {
+            flush();
+        } else if (pending.mappingCount() >= BATCH_SIZE) {
+            LockSupport.unpark(flusher);
+        }
+        return true;
+    }
+
+    private int storedMoveCount(String username) {
+        LeaderboardStore.Score score = store.get(username);
+        return score == null ? NO_SCORE : score.getMoveCount();
+    }
+
+    /**
+     * @return The number of players whose improved score is waiting to be written.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes every waiting score to the store, waiting for a flush already in progress to finish first.
+     *
+     * @return The number of scores that became their player's best score in the store.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            List<LeaderboardStore.Score> batch = new ArrayList<>(pending.size());
+            for (String username : pending.keySet()) {
+                LeaderboardStore.Score score = pending.remove(username);
+                if (score != null) {
+                    batch.add(score);
+                }
+            }
+            try {
+                int written = store.updateAll(batch);
+                FLUSH_LATENCY.recordSince(start);
+                FLUSHED_SCORES.add(batch.size());
+                return written;
+            } catch (RuntimeException e) {
+                Logger.error("Failed to flush Leaderboard updates, retrying at the next flush: " + e);
+                // The cached best scores already count the batch, so it must not be lost
+                for (LeaderboardStore.Score score : batch) {
+                    pending.merge(score.getUsername(), score, ConcurrentLeaderboard::better);
+                }
+                return 0;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static LeaderboardStore.Score better(LeaderboardStore.Score waiting, LeaderboardStore.Score score) {
+        return waiting.getMoveCount() <= score.getMoveCount() ? waiting : score;
+    }
+
+    private void runFlusher() {
+        long interval = TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS);
+        while (!closed) {
+            LockSupport.parkNanos(this, interval);
+            flush();
+        }
+    }
+
+    /**
+     * Stops the flusher and writes every waiting score to the store. Later updates are written immediately.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
@@ -0,0 +1,328 @@
+package chess.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The exact distance to the goal of every king and knight placement on a board,
+ * computed once by a backward breadth-first search (retrograde analysis) from the solved placements.
+ * Distances are stored in a {@code byte[]} indexed by {@code kingSquare * squares + knightSquare};
+ * on the standard board this is a {@code byte[4096]} indexed by the lower 12 bits of a {@link PackedChessState},
+ * so a lookup is a single array access.
+ */
+public final class DistanceTable {
+    /**
+     * The distance reported for placements from which the goal cannot be reached.
+     */
+    public static final int UNREACHABLE = -1;
+
+    private static final int MAX_DISTANCE = 0xFE;
+    private static final Map<BoardSpec, DistanceTable> CACHE = new ConcurrentHashMap<>();
+
+    private final BoardSpec board;
+    private final int squares;
+    private final byte[] distances;
+
+    private DistanceTable(BoardSpec board, byte[] distances) {
+        this.board = board;
+        this.squares = board.getSquares();
+        this.distances = distances;
+    }
+
+    /**
+     * Returns the table for the given goal on the standard board, computing it on first use and caching it afterwards.
+     *
+     * @param goalX The x-coordinate of the goal.
+     * @param goalY The y-coordinate of the goal.
+     * @return The distance table of the goal.
+     */
+    public static DistanceTable forGoal(int goalX, int goalY) {
+        return forBoard(BoardSpec.DEFAULT.withGoal(goalX, goalY));
+    }
+
+    /**
+     * Returns the table for the given board, computing it on first use and caching it afterwards.
+     *
+     * @param board The board, including its goal.
+     * @return The distance table of the board.
+     */
+    public static DistanceTable forBoard(BoardSpec board) {
+        return CACHE.computeIfAbsent(board, DistanceTable::compute);
+    }
+
+    /**
+     * Returns the table for the given board, reading it from the given file if it exists,
+     * otherwise computing it and persisting it to that file.
+     *
+     * @param board The board, including its goal.
+     * @param file The file the table is persisted in.
+     * @return The distance table of the board.
+     * @throws IOException If reading or writing the file fails.
+     */
+    public static DistanceTable forBoard(BoardSpec board, Path file) throws IOException {
+        if (Files.exists(file)) {
+            DistanceTable table = load(file);
+            if (table.board.equals(board)) {
+                return CACHE.computeIfAbsent(board, key -> table);
+            }
+        }
+        DistanceTable table = forBoard(board);
+        table.save(file);
+        return table;
+    }
+
+    /**
+     * Computes the table for the given board without consulting the cache.
+     *
+     * @param board The board, including its goal.
+     * @return The distance table of the board.
+     * @throws IllegalStateException If a distance does not fit into the table.
+     */
+    public static DistanceTable compute(BoardSpec board) {
+        int squares = board.getSquares();
+        int goal = board.getGoalSquare();
+        byte[] distances = new byte[squares * squares];
+        Arrays.fill(distances, (byte) UNREACHABLE);
+        int[] queue = new int[squares * squares];
+        int head = 0;
+        int tail = 0;
+
+        for (int other = 0; other < squares; other++) {
+            if (other != goal) {
+                queue[tail++] = goal * squares + other;
+                queue[tail++] = other * squares + goal;
+            }
+        }
+        for (int i = 0; i < tail; i++) {
+            distances[queue[i]] = 0;
+        }
+
+        while (head < tail) {
+            int placement = queue[head++];
+            int king = placement / squares;
+            int knight = placement % squares;
+            int distance = (distances[placement] & 0xFF) + 1;
+            if (distance > MAX_DISTANCE) {
+                throw new IllegalStateException("Distance exceeds the table's range on " + board);
+            }
+
+            // The king moved here from a square where the knight attacked it
+            if (knight != goal) {
+                for (int i = 0, count = board.kingMoveCount(king); i < count; i++) {
+                    int origin = board.kingMove(king, i);
+                    int predecessor = origin * squares + knight;
+                    if (origin != goal && distances[predecessor] == UNREACHABLE && isKnightStep(board, origin, knight)) {
+                        distances[predecessor] = (byte) distance;
+                        queue[tail++] = predecessor;
+                    }
+                }
+            }
+            // The knight moved here from a square where the king attacked it
+            if (king != goal) {
+                for (int i = 0, count = board.knightMoveCount(knight); i < count; i++) {
+                    int origin = board.knightMove(knight, i);
+                    int predecessor = king * squares + origin;
+                    if (origin != goal && distances[predecessor] == UNREACHABLE && isKingStep(board, king, origin)) {
+                        distances[predecessor] = (byte) distance;
+                        queue[tail++] = predecessor;
+                    }
+                }
+            }
+        }
+        return new DistanceTable(board, distances);
+    }
+
+    private static boolean isKnightStep(BoardSpec board, int from, int to) {
+        int dx = Math.abs(board.squareX(from) - board.squareX(to));
+        int dy = Math.abs(board.squareY(from) - board.squareY(to));
+        return (dx == 2 && dy == 1) || (dx == 1 && dy == 2);
+    }
+
+    private static boolean isKingStep(BoardSpec board, int from, int to) {
+        int dx = Math.abs(board.squareX(from) - board.squareX(to));
+        int dy = Math.abs(board.squareY(from) - board.squareY(to));
+        return dx <= 1 && dy <= 1 && from != to;
+    }
+
+    /**
+     * @return The board, including the goal, this table was computed for.
+     */
+    public BoardSpec getBoard() {
+        return board;
+    }
+
+    /**
+     * @return The x-coordinate of the goal this table was computed for.
+     */
+    public int getGoalX() {
+        return board.getGoalX();
+    }
+
+    /**
+     * @return The y-coordinate of the goal this table was computed for.
+     */
+    public int getGoalY() {
+        return board.getGoalY();
+    }
+
+    /**
+     * @param kingSquare The square of the king.
+     * @param knightSquare The square of the knight.
+     * @return The number of moves of the optimal solution, or {@link #UNREACHABLE}.
+     */
+    public int getDistance(int kingSquare, int knightSquare) {
+        byte distance = distances[kingSquare * squares + knightSquare];
+        return distance == UNREACHABLE ? UNREACHABLE : distance & 0xFF;
+    }
+
+    /**
+     * @param packedState A state encoded by {@link PackedChessState}, for a table of the standard board size.
+     * @return The number of moves of the optimal solution, or {@link #UNREACHABLE}.
+     */
+    public int getDistance(int packedState) {
+        return getDistance(PackedChessState.kingSquare(packedState), PackedChessState.knightSquare(packedState));
+    }
+
+    /**
+     * @param state The state to look up.
+     * @return The number of moves of the optimal solution, or {@link #UNREACHABLE}.
+     */
+    public int getDistance(ChessState state) {
+        return getDistance(board.square(state.getKingX(), state.getKingY()),
+                board.square(state.getKnightX(), state.getKnightY()));
+    }
+
+    /**
+     * Collects the legal moves of the state that lie on an optimal solution.
+     *
+     * @param state The state to look up.
+     * @return The destinations of the optimal moves, empty if the state is solved or the goal is unreachable.
+     */
+    public Set<Move> getOptimalMoves(ChessState state) {
+        Set<Move> optimalMoves = new HashSet<>();
+        int king = board.square(state.getKingX(), state.getKingY());
+        int knight = board.square(state.getKnightX(), state.getKnightY());
+        int distance = getDistance(king, knight);
+        if (distance <= 0) {
+            return optimalMoves;
+        }
+        if (state.isLegalToMoveFrom(Piece.KING)) {
+            for (int i = 0, count = board.kingMoveCount(king); i < count; i++) {
+                int target = board.kingMove(king, i);
+                if (getDistance(target, knight) == distance - 1) {
+                    optimalMoves.add(Move.of(Piece.KING, board.squareX(target), board.squareY(target)));
+                }
+            }
+        } else {
+            for (int i = 0, count = board.knightMoveCount(knight); i < count; i++) {
+                int target = board.knightMove(knight, i);
+                if (getDistance(king, target) == distance - 1) {
+                    optimalMoves.add(Move.of(Piece.KNIGHT, board.squareX(target), board.squareY(target)));
+                }
+            }
+        }
+        return optimalMoves;
+    }
+
+    /**
+     * @return The largest finite distance in the table.
+     */
+    public int getMaxDistance() {
+        int max = 0;
+        for (byte distance : distances) {
+            if (distance != UNREACHABLE) {
+                max = Math.max(max, distance & 0xFF);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return The number of placements that are not solved yet but from which the goal can be reached.
+     */
+    public int getSolvableCount() {
+        int count = 0;
+        for (byte distance : distances) {
+            if (distance != UNREACHABLE && distance != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of placements, with the pieces on different squares, from which the goal cannot be reached.
+     */
+    public int getUnsolvableCount() {
+        int count = 0;
+        for (int placement = 0; placement < distances.length; placement++) {
+            if (distances[placement] == UNREACHABLE && placement / squares != placement % squares) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the table to the given file.
+     *
+     * @param file The file to write to.
+     * @throws IOException If writing the file fails.
+     */
+    public void save(Path file) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            writeTo(outputStream);
+        }
+    }
+
+    /**
+     * Writes the table to the given stream: the width, height, goal x and goal y of the board in one byte each,
+     * followed by the distances.
+     *
+     * @param outputStream The stream to write to.
+     * @throws IOException If writing to the stream fails.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(board.getWidth());
+        outputStream.write(board.getHeight());
+        outputStream.write(board.getGoalX());
+        outputStream.write(board.getGoalY());
+        outputStream.write(distances);
+    }
+
+    /**
+     * Reads a table previously written by {@link #save(Path)}.
+     *
+     * @param file The file to read from.
+     * @return The distance table read.
+     * @throws IOException If reading the file fails or it does not contain a distance table.
+     */
+    public static DistanceTable load(Path file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            byte[] header = inputStream.readNBytes(4);
+            if (header.length != 4) {
+                throw new IOException("Not a distance table: " + file);
+            }
+            BoardSpec board;
+            try {
+                board = new BoardSpec(header[0] & 0xFF, header[1] & 0xFF, header[2] & 0xFF, header[3] & 0xFF);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Not a distance table: " + file, e);
+            }
+            int placements = board.getSquares() * board.getSquares();
+            byte[] distances = inputStream.readNBytes(placements);
+            if (distances.length != placements || inputStream.read() != -1) {
+                throw new IOException("Not a distance table: " + file);
+            }
+            return new DistanceTable(board, distances);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package chess.model;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash-safe file writes shared by the classes that persist game data.
+ * <p>
+ * A file is replaced by writing the new content to a temporary file next to it, forcing it to disk and
+ * atomically moving it over the target, so a crash leaves either the old or the new content, never a mix.
+ * Line-based journals are appended to and, after a crash, cut back to their last complete line.
+ * How much is forced to disk is controlled by the {@link FsyncPolicy}, read from the {@code chess.fsync}
+ * system property and defaulting to {@link FsyncPolicy#ALWAYS}.
+ */
+public final class DurableFiles {
+    /**
+     * The suffix appended to the name of a file to name its temporary file.
+     */
+    public static final String TEMP_SUFFIX = ".tmp";
+
+    private static volatile FsyncPolicy fsyncPolicy = FsyncPolicy.fromProperty(System.getProperty("chess.fsync"));
+
+    private DurableFiles() {
+    }
+
+    /**
+     * How much of a write is forced to the storage device before the write returns.
+     */
+    public enum FsyncPolicy {
+        /**
+         * Nothing is forced; the content survives a crash of the application, but not of the operating system.
+         */
+        NEVER,
+        /**
+         * The content of the file is forced before it replaces the target.
+         */
+        DATA,
+        /**
+         * The content of the file, and the directory entry that makes it replace the target, are both forced.
+         */
+        ALWAYS;
+
+        private static FsyncPolicy fromProperty(String value) {
+            if (value == null || value.isBlank()) {
+                return ALWAYS;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                Logger.warn("Unknown fsync policy " + value + ", using " + ALWAYS);
+                return ALWAYS;
+            }
+        }
+    }
+
+    /**
+     * @return The fsync policy of the writes.
+     */
+    public static FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    /**
+     * @param policy The new fsync policy of the writes.
+     */
+    public static void setFsyncPolicy(FsyncPolicy policy) {
+        fsyncPolicy = policy;
+    }
+
+    /**
+     * @param target The path of a file.
+     * @return The path of the temporary file used while replacing {@code target}.
+     */
+    public static Path tempFile(Path target) {
+        return target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+    }
+
+    /**
+     * Atomically replaces the content of the target file, creating it if needed.
+     *
+     * @param target The file to write.
+     * @param content The new content of the file.
+     * @throws IOException If writing or moving the file fails; the target is left untouched in that case.
+     */
+    public static void write(Path target, byte[] content) throws IOException {
+        FsyncPolicy policy = fsyncPolicy;
+        Path temp = tempFile(target);
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, content);
+            if (policy != FsyncPolicy.NEVER) {
+                channel.force(true);
+            }
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (policy == FsyncPolicy.ALWAYS) {
+            forceDirectory(target);
+        }
+    }
+
+    /**
+     * Appends to the end of a journal file, creating it if needed.
+     *
+     * @param journal The file to append to.
+     * @param content The content to append, normally one or more complete lines.
+     * @throws IOException If writing fails.
+     */
+    public static void append(Path journal, byte[] content) throws IOException {
+        FsyncPolicy policy = fsyncPolicy;
+        boolean created = !Files.exists(journal);
+        try (FileChannel channel = FileChannel.open(journal,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            writeFully(channel, content);
+            if (policy != FsyncPolicy.NEVER) {
+                channel.force(false);
+            }
+        }
+        if (created && policy == FsyncPolicy.ALWAYS) {
+            forceDirectory(journal);
+        }
+    }
+
+    /**
+     * Cleans up after a write to the target file that was interrupted by a crash.
+     * The target itself is always intact, so the stale temporary file is simply deleted.
+     *
+     * @param target The file to recover.
+     * @return {@code true} if a stale temporary file was deleted.
+     * @throws IOException If deleting the temporary file fails.
+     */
+    public static boolean recover(Path target) throws IOException {
+        boolean deleted = Files.deleteIfExists(tempFile(target));
+        if (deleted) {
+            Logger.warn("Discarded the interrupted write of " + target);
+        }
+        return deleted;
+    }
+
+    /**
+     * Cuts a line-based journal back to its last complete line, dropping a line torn by a crash while appending,
+     * so the next append starts on a line of its own.
+     *
+     * @param journal The journal to recover.
+     * @return The number of bytes dropped.
+     * @throws IOException If reading or truncating the journal fails.
+     */
+    public static long recoverJournal(Path journal) throws IOException {
+        if (!Files.exists(journal)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long end = size;
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            while (end > 0) {
+                int length = (int) Math.min(buffer.capacity(), end);
+                buffer.clear().limit(length);
+                channel.read(buffer, end - length);
+                int newline = -1;
+                for (int i = length - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        newline = i;
+                        break;
+                    }
+                }
+                if (newline >= 0) {
+                    end = end - length + newline + 1;
+                    break;
+                }
+                end -= length;
+            }
+            if (end < size) {
+                channel.truncate(end);
+                channel.force(true);
+                Logger.warn("Dropped " + (size - end) + " bytes of a torn line from " + journal);
+            }
+            return size - end;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void forceDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform allows opening or forcing a directory; the rename is still atomic there.
+            Logger.debug("Could not force directory " + directory + ": " + e);
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package chess.model;
 
+import chess.logging.HotPathLogger;
+import chess.metrics.Counter;
+import chess.metrics.LatencyHistogram;
+import chess.metrics.MetricsRegistry;
 import com.google.gson.Gson;
 import org.tinylog.Logger;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -15,57 +15,219 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * A class that handles saving and loading the game state of a chess game to and from a JSON file.
- * This class uses the Gson library for JSON serialization and deserialization.
+ * A class that handles saving and loading the game state of a chess game.
+ * Every user has their own numbered save slots, kept in the {@link SaveSlotStore} at {@link #SLOTS_PATH},
+ * where games are stored in the compact binary format of {@link GameStateCodec}.
+ * The methods without a username are convenience wrappers around slot {@link #DEFAULT_SLOT} of the
+ * {@link #DEFAULT_USERNAME}; loading from it falls back to the single JSON or binary file at {@link #FILE_PATH}
+ * written by earlier versions, so a game saved there is not lost.
  */
 public class GameSaverLoader {
     /**
-     * The file path where the game state will be saved to and loaded from.
+     * The file path of the single saved game of earlier versions, only read when the default slot is empty.
      * The default path is "gameState.json".
      */
     public static String FILE_PATH = "gameState.json";
+
+    /**
+     * The file path of the store holding the save slots of every user.
+     * The default path is "saves.dat".
+     */
+    public static String SLOTS_PATH = "saves.dat";
+
+    /**
+     * The user the methods without a username save for: a single space, which is never the name of a player,
+     * as usernames are trimmed.
+     */
+    public static final String DEFAULT_USERNAME = " ";
+
+    /**
+     * The slot the methods without a username save to.
+     */
+    public static final int DEFAULT_SLOT = 0;
+
     private static final Gson gson = new Gson();
+    private static final LatencyHistogram SAVE_LATENCY = MetricsRegistry.getDefault().histogram("game.save");
+    private static final LatencyHistogram LOAD_LATENCY = MetricsRegistry.getDefault().histogram("game.load");
+    private static final Counter SAVE_FAILURES = MetricsRegistry.getDefault().counter("game.save.failures");
+    private static final Counter LOAD_FAILURES = MetricsRegistry.getDefault().counter("game.load.failures");
 
     /**
-     * Saves the current game state to a JSON file.
+     * Saves the current game state of a game played on the standard board into the default slot.
      * This includes positions of the king and knight, the goal position, and the move count.
      * @param kingPosition Current position of the king on the board.
      * @param knightPosition Current position of the knight on the board.
      * @param goalPosition Target position to achieve on the board.
      * @param moveCount Number of moves made so far.
+     * @return {@code true} if the game was saved, {@code false} if an error occurred.
      */
-    public void saveGame(int[] kingPosition, int[] knightPosition, int[] goalPosition, int moveCount) {
-        GameState gameData = new GameState(kingPosition, knightPosition, goalPosition, moveCount);
-        String json = gson.toJson(gameData);
+    public boolean saveGame(int[] kingPosition, int[] knightPosition, int[] goalPosition, int moveCount) {
+        return saveGame(kingPosition, knightPosition, goalPosition, GameState.DEFAULT_BOARD_SIZE.clone(), moveCount);
+    }
 
-        Path path = Paths.get(FILE_PATH);
-        try (OutputStream outputStream = Files.newOutputStream(path);
-             OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
-            writer.write(json);
+    /**
+     * Saves the current game state into the default slot.
+     * This includes positions of the king and knight, the goal position, the board size, and the move count.
+     * @param kingPosition Current position of the king on the board.
+     * @param knightPosition Current position of the knight on the board.
+     * @param goalPosition Target position to achieve on the board.
+     * @param boardSize Width and height of the board.
+     * @param moveCount Number of moves made so far.
+     * @return {@code true} if the game was saved, {@code false} if an error occurred.
+     */
+    public boolean saveGame(int[] kingPosition, int[] knightPosition, int[] goalPosition, int[] boardSize, int moveCount) {
+        return saveGame(kingPosition, knightPosition, goalPosition, boardSize, moveCount, null);
+    }
+
+    /**
+     * Saves the current game state, including the moves that led to it, into the default slot.
+     * @param kingPosition Current position of the king on the board.
+     * @param knightPosition Current position of the knight on the board.
+     * @param goalPosition Target position to achieve on the board.
+     * @param boardSize Width and height of the board.
+     * @param moveCount Number of moves made so far.
+     * @param moves The moves made so far, packed as by {@link MoveHistory}, or {@code null} to save none.
+     * @return {@code true} if the game was saved, {@code false} if an error occurred.
+     */
+    public boolean saveGame(int[] kingPosition, int[] knightPosition, int[] goalPosition, int[] boardSize, int moveCount,
+                            int[] moves) {
+        return saveGame(DEFAULT_USERNAME, DEFAULT_SLOT, kingPosition, knightPosition, goalPosition, boardSize,
+                moveCount, moves);
+    }
+
+    /**
+     * Saves the current game state into a save slot of the given user, replacing the game saved there before.
+     * @param username The username of the player.
+     * @param slot The save slot, between 0 and {@link SaveSlotStore#MAX_SLOT}.
+     * @param kingPosition Current position of the king on the board.
+     * @param knightPosition Current position of the knight on the board.
+     * @param goalPosition Target position to achieve on the board.
+     * @param boardSize Width and height of the board.
+     * @param moveCount Number of moves made so far.
+     * @return {@code true} if the game was saved, {@code false} if an error occurred.
+     */
+    public boolean saveGame(String username, int slot, int[] kingPosition, int[] knightPosition, int[] goalPosition,
+                            int[] boardSize, int moveCount) {
+        return saveGame(username, slot, kingPosition, knightPosition, goalPosition, boardSize, moveCount, null);
+    }
+
+    /**
+     * Saves the current game state, including the moves that led to it, into a save slot of the given user,
+     * replacing the game saved there before.
+     * @param username The username of the player.
+     * @param slot The save slot, between 0 and {@link SaveSlotStore#MAX_SLOT}.
+     * @param kingPosition Current position of the king on the board.
+     * @param knightPosition Current position of the knight on the board.
+     * @param goalPosition Target position to achieve on the board.
+     * @param boardSize Width and height of the board.
+     * @param moveCount Number of moves made so far.
+     * @param moves The moves made so far, packed as by {@link MoveHistory}, or {@code null} to save none.
+     * @return {@code true} if the game was saved, {@code false} if an error occurred.
+     */
+    public boolean saveGame(String username, int slot, int[] kingPosition, int[] knightPosition, int[] goalPosition,
+                            int[] boardSize, int moveCount, int[] moves) {
+        long start = System.nanoTime();
+        try {
+            slotStore().save(username, slot,
+                    new GameState(kingPosition, knightPosition, goalPosition, boardSize, moveCount, moves));
             Logger.info("Game saved successfully.");
+            return true;
         } catch (Exception e) {
             e.printStackTrace();
             Logger.error("Error while saving game: " + e);
+            SAVE_FAILURES.increment();
+            return false;
+        } finally {
+            SAVE_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Loads the game state saved in a save slot of the given user.
+     * @param username The username of the player.
+     * @param slot The save slot.
+     * @return GameState object if successful, null if the slot is empty or an error occurs.
+     */
+    public GameState loadGame(String username, int slot) {
+        long start = System.nanoTime();
+        try {
+            GameState gameState = slotStore().load(username, slot);
+            if (gameState == null) {
+                Logger.info("No game saved in the slot.");
+            } else {
+                Logger.info("Game loaded successfully.");
+            }
+            return gameState;
+        } catch (Exception e) {
+            e.printStackTrace();
+            Logger.error("Error while loading game: " + e);
+            LOAD_FAILURES.increment();
+            return null;
+        } finally {
+            LOAD_LATENCY.recordSince(start);
         }
     }
 
     /**
-     * Loads a game state from a JSON file.
-     * Reads the game data file specified by `FILE_PATH` and converts it back into a GameState object.
-     * @return GameState object if successful, null if an error occurs during file reading or JSON parsing.
+     * Lists the save slots the given user has saved games in.
+     * @param username The username of the player.
+     * @return The occupied slots in ascending order, empty if an error occurs.
+     */
+    public List<Integer> listSlots(String username) {
+        try {
+            return slotStore().listSlots(username);
+        } catch (Exception e) {
+            Logger.error("Error while listing save slots: " + e);
+            return Collections.emptyList();
+        }
+    }
+
+    private static SaveSlotStore slotStore() {
+        return SaveSlotStore.forPath(Paths.get(SLOTS_PATH));
+    }
+
+    /**
+     * Cleans up after a save of an earlier version to {@link #FILE_PATH} that was interrupted by a crash,
+     * so its game can still be loaded. Called once on startup.
+     */
+    public static void recover() {
+        try {
+            DurableFiles.recover(Paths.get(FILE_PATH));
+        } catch (Exception e) {
+            Logger.error("Error while recovering saved game: " + e);
+        }
+    }
+
+    /**
+     * Loads the game state saved in the default slot, or else the one saved by an earlier version
+     * in the JSON or binary file at {@link #FILE_PATH}.
+     * @return GameState object if successful, null if no game was saved or an error occurs.
      */
     public GameState loadGame() {
-        Path path = Paths.get(FILE_PATH);
-        try (InputStream inputStream = Files.newInputStream(path);
-             InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+        GameState gameState = loadGame(DEFAULT_USERNAME, DEFAULT_SLOT);
+        return gameState != null ? gameState : loadLegacyGame();
+    }
 
-            GameState gameState = gson.fromJson(reader, GameState.class);
-            Logger.info("Game loaded successfully.");
+    private GameState loadLegacyGame() {
+        Path path = Paths.get(FILE_PATH);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] content = Files.readAllBytes(path);
+            GameState gameState = GameStateCodec.isBinary(content)
+                    ? GameStateCodec.decode(content)
+                    : gson.fromJson(new String(content, StandardCharsets.UTF_8), GameState.class);
+            Logger.info("Game loaded successfully from " + path + ".");
             return gameState;
         } catch (Exception e) {
             e.printStackTrace();
             Logger.error("Error while loading game: " + e);
+            LOAD_FAILURES.increment();
             return null;
+        } finally {
+            LOAD_LATENCY.recordSince(start);
         }
     }
 
@@ -77,26 +239,56 @@ public class GameSaverLoader {
      * This class is utilized primarily for serialization and deserialization of game states to and from JSON.
      */
     public static class GameState {
+        private static final int[] DEFAULT_BOARD_SIZE = {BoardSpec.DEFAULT.getWidth(), BoardSpec.DEFAULT.getHeight()};
+
         private int[] kingPosition;
         private int[] knightPosition;
         private int[] goalPosition;
+        private int[] boardSize;
         private int moveCount;
+        private int[] moves;
 
         /**
-         * Constructor that initializes a new GameState object with specified positions and move count.
-         * Logs the creation of a new GameState object.
+         * Constructor that initializes a new GameState object on the standard board with specified positions and move count.
          * @param kingPosition Initial position of the king on the chess board.
          * @param knightPosition Initial position of the knight on the chess board.
          * @param goalPosition Target position on the chess board.
          * @param moveCount Initial number of moves made in the game.
          */
         public GameState(int[] kingPosition, int[] knightPosition, int[] goalPosition, int moveCount) {
+            this(kingPosition, knightPosition, goalPosition, DEFAULT_BOARD_SIZE.clone(), moveCount);
+        }
+
+        /**
+         * Constructor that initializes a new GameState object with specified positions, board size and move count.
+         * @param kingPosition Initial position of the king on the chess board.
+         * @param knightPosition Initial position of the knight on the chess board.
+         * @param goalPosition Target position on the chess board.
+         * @param boardSize Width and height of the chess board.
+         * @param moveCount Initial number of moves made in the game.
+         */
+        public GameState(int[] kingPosition, int[] knightPosition, int[] goalPosition, int[] boardSize, int moveCount) {
             this.kingPosition = kingPosition;
             this.knightPosition = knightPosition;
             this.goalPosition = goalPosition;
+            this.boardSize = boardSize;
             this.moveCount = moveCount;
+        }
 
-            Logger.info("GameState object created.");
+        /**
+         * Constructor that initializes a new GameState object with specified positions, board size, move count
+         * and the moves that led to them.
+         * @param kingPosition Initial position of the king on the chess board.
+         * @param knightPosition Initial position of the knight on the chess board.
+         * @param goalPosition Target position on the chess board.
+         * @param boardSize Width and height of the chess board.
+         * @param moveCount Initial number of moves made in the game.
+         * @param moves The moves made so far, packed as by {@link MoveHistory}, or {@code null} if unknown.
+         */
+        public GameState(int[] kingPosition, int[] knightPosition, int[] goalPosition, int[] boardSize, int moveCount,
+                         int[] moves) {
+            this(kingPosition, knightPosition, goalPosition, boardSize, moveCount);
+            this.moves = moves;
         }
 
         /**
@@ -123,6 +315,27 @@ public class GameSaverLoader {
             return goalPosition;
         }
 
+        /**
+         * Returns the width and height of the board. Saves made before the board size was stored
+         * are played on the standard board.
+         * @return Array holding the width and height of the board.
+         */
+        public int[] getBoardSize() {
+            return boardSize != null ? boardSize : DEFAULT_BOARD_SIZE.clone();
+        }
+
+        /**
+         * Returns the board, including the goal, the saved game is played on.
+         * @return The board specification of the saved game.
+         */
+        public BoardSpec getBoardSpec() {
+            int[] size = getBoardSize();
+            if (goalPosition == null) {
+                return new BoardSpec(size[0], size[1], BoardSpec.DEFAULT.getGoalX(), BoardSpec.DEFAULT.getGoalY());
+            }
+            return new BoardSpec(size[0], size[1], goalPosition[0], goalPosition[1]);
+        }
+
         /**
          * Returns the number of moves made so far in the game.
          * @return The total move count.
@@ -131,6 +344,24 @@ public class GameSaverLoader {
             return moveCount;
         }
 
+        /**
+         * Returns the moves made so far, packed as by {@link MoveHistory}.
+         * Saves made before moves were stored have none.
+         * @return The packed moves, in the order they were made.
+         */
+        public int[] getMoves() {
+            return moves != null ? moves : new int[0];
+        }
+
+        /**
+         * Returns the moves made so far as a history that can be undone.
+         * @return A new history of the saved moves.
+         * @throws IllegalArgumentException If a saved move is malformed.
+         */
+        public MoveHistory getHistory() {
+            return MoveHistory.of(getMoves());
+        }
+
         /**
          * Sorts a list of GameState objects by the number of moves, in ascending order.
          * Useful for comparing and sorting game states based on game progress.
@@ -138,7 +369,7 @@ public class GameSaverLoader {
          */
         public static void sortGameStatesByMoveCount(List<GameState> gameStates) {
             Collections.sort(gameStates, (gs1, gs2) -> Integer.compare(gs1.getMoveCount(), gs2.getMoveCount()));
-            Logger.info("Game State collection sorted.");
+            HotPathLogger.debug("Game State collection sorted.");
         }
     }
 }
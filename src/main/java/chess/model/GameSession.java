@@ -0,0 +1,243 @@
+package chess.model;
+
+/**
+ * Headless game flow of a single player: selecting a piece, moving it and winning,
+ * independent of any user interface.
+ * <p>
+ * A session owns its {@link ChessState} and reports everything that happens to a {@link Listener},
+ * which a user interface renders and a simulation may simply ignore. Selecting and moving allocate nothing,
+ * and starting a new game on the same board reuses the state, so a single thread can play a very large
+ * number of sessions.
+ */
+public class GameSession {
+    private static final Listener NO_LISTENER = new Listener() {
+    };
+
+    private final Move[] targets = new Move[ChessState.MAX_MOVES];
+    private ChessState state;
+    private Piece selectedPiece;
+    private int targetCount;
+    private Listener listener = NO_LISTENER;
+
+    /**
+     * Receives the events of a {@link GameSession}. Every method does nothing by default.
+     */
+    public interface Listener {
+        /**
+         * Called when a piece is selected.
+         *
+         * @param piece The selected piece.
+         * @param targets The placements the piece can move to, in the first {@code count} elements;
+         *                only valid during the call.
+         * @param count The number of placements.
+         */
+        default void pieceSelected(Piece piece, Move[] targets, int count) {
+        }
+
+        /**
+         * Called when the selected piece is deselected without moving.
+         */
+        default void selectionCleared() {
+        }
+
+        /**
+         * Called after a piece was moved.
+         *
+         * @param from The previous placement of the piece.
+         * @param to The new placement of the piece.
+         * @param moveCount The number of moves made so far.
+         */
+        default void pieceMoved(Move from, Move to, int moveCount) {
+        }
+
+        /**
+         * Called after the move that solved the game, following {@link #pieceMoved(Move, Move, int)}.
+         *
+         * @param moveCount The number of moves the game was solved in.
+         */
+        default void gameWon(int moveCount) {
+        }
+
+        /**
+         * Called when the whole position changed: a game was started or loaded, or a move was undone or redone.
+         *
+         * @param state The new state of the game.
+         */
+        default void positionChanged(ChessState state) {
+        }
+    }
+
+    /**
+     * @param listener The listener to report the events to, or {@code null} to ignore them.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+    }
+
+    /**
+     * Starts a new game from the standard start position on the standard board.
+     */
+    public void start() {
+        if (state != null && state.getBoard() == BoardSpec.DEFAULT) {
+            state.reset(2, 1, 2, 2);
+        } else {
+            state = new ChessState(BoardSpec.DEFAULT, 2, 1, 2, 2, 0);
+        }
+        positionChanged();
+    }
+
+    /**
+     * Continues a game from the specified state.
+     *
+     * @param state The state of the game, owned by the session from now on.
+     */
+    public void load(ChessState state) {
+        this.state = state;
+        positionChanged();
+    }
+
+    /**
+     * @return The state of the game, or {@code null} if no game was started.
+     */
+    public ChessState getState() {
+        return state;
+    }
+
+    /**
+     * @return The selected piece, or {@code null} if none is selected.
+     */
+    public Piece getSelectedPiece() {
+        return selectedPiece;
+    }
+
+    /**
+     * @return {@code true} if a game is in progress or finished.
+     */
+    public boolean isStarted() {
+        return state != null;
+    }
+
+    /**
+     * @return {@code true} if the game is solved.
+     */
+    public boolean isWon() {
+        return state != null && state.isSolved();
+    }
+
+    /**
+     * Handles a click on a square the way the board does: selects the piece on it if none is selected,
+     * moves the selected piece to it if it is one of its targets, and deselects the piece otherwise.
+     *
+     * @param x The x-coordinate of the square.
+     * @param y The y-coordinate of the square.
+     * @return {@code true} if a piece was selected or moved.
+     */
+    public boolean click(int x, int y) {
+        if (state == null) {
+            return false;
+        }
+        if (selectedPiece == null) {
+            Piece piece = pieceAt(x, y);
+            return piece != null && select(piece);
+        }
+        for (int i = 0; i < targetCount; i++) {
+            if (targets[i].x() == x && targets[i].y() == y) {
+                return move(targets[i]);
+            }
+        }
+        clearSelection();
+        return false;
+    }
+
+    private Piece pieceAt(int x, int y) {
+        if (x == state.getKingX() && y == state.getKingY()) {
+            return Piece.KING;
+        }
+        if (x == state.getKnightX() && y == state.getKnightY()) {
+            return Piece.KNIGHT;
+        }
+        return null;
+    }
+
+    /**
+     * Selects a piece if it is allowed to move.
+     *
+     * @param piece The piece to select.
+     * @return {@code true} if the piece was selected.
+     */
+    public boolean select(Piece piece) {
+        if (state == null || state.isSolved() || !state.isLegalToMoveFrom(piece)) {
+            return false;
+        }
+        selectedPiece = piece;
+        targetCount = state.getLegalMoves(targets);
+        listener.pieceSelected(piece, targets, targetCount);
+        return true;
+    }
+
+    /**
+     * Deselects the selected piece, if any.
+     */
+    public void clearSelection() {
+        if (selectedPiece != null) {
+            selectedPiece = null;
+            targetCount = 0;
+            listener.selectionCleared();
+        }
+    }
+
+    /**
+     * Moves a piece, whether it is selected or not, if the move is legal and the game is not yet won.
+     *
+     * @param to The new placement of the piece.
+     * @return {@code true} if the move was made.
+     */
+    public boolean move(Move to) {
+        if (state == null || state.isSolved()) {
+            return false;
+        }
+        Move from = state.getPlacement(to.piece());
+        if (!state.makeMove(to)) {
+            return false;
+        }
+        selectedPiece = null;
+        targetCount = 0;
+        listener.pieceMoved(from, to, state.getMoveCount());
+        if (state.isSolved()) {
+            listener.gameWon(state.getMoveCount());
+        }
+        return true;
+    }
+
+    /**
+     * Takes back the last move made.
+     *
+     * @return {@code true} if a move was taken back.
+     */
+    public boolean undo() {
+        if (state == null || !state.undo()) {
+            return false;
+        }
+        positionChanged();
+        return true;
+    }
+
+    /**
+     * Makes the last move taken back again.
+     *
+     * @return {@code true} if a move was made again.
+     */
+    public boolean redo() {
+        if (state == null || !state.redo()) {
+            return false;
+        }
+        positionChanged();
+        return true;
+    }
+
+    private void positionChanged() {
+        selectedPiece = null;
+        targetCount = 0;
+        listener.positionChanged(state);
+    }
+}
@@ -0,0 +1,186 @@
+package chess.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary encoding of a {@link GameSaverLoader.GameState}, an alternative to JSON without reflection.
+ * <p>
+ * A version 1 record holds the position only and is {@value #RECORD_SIZE} bytes, big-endian:
+ * <pre>
+ *  0  magic "CHSS"
+ *  4  version (1 byte), flags (1 byte, reserved, 0)
+ *  6  width, height (1 byte each)
+ *  8  king x, king y, knight x, knight y, goal x, goal y (1 byte each)
+ * 14  reserved (2 bytes, 0)
+ * 16  move count (4 bytes)
+ * 20  CRC-32 of bytes 0-19 (4 bytes)
+ * </pre>
+ * A version 2 record also holds the moves of the game: bytes 0-19 are laid out as in version 1,
+ * followed by the number of moves (4 bytes), the moves packed as by {@link MoveHistory} (4 bytes each)
+ * and a CRC-32 of everything before it. Games without moves are written as version 1.
+ */
+public final class GameStateCodec {
+    /**
+     * The first four bytes of every binary save.
+     */
+    public static final byte[] MAGIC = "CHSS".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The version of a record holding the position only.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The version of a record holding the position and the moves.
+     */
+    public static final int VERSION_WITH_MOVES = 2;
+
+    /**
+     * The size of a version 1 record, in bytes.
+     */
+    public static final int RECORD_SIZE = 24;
+
+    private static final int BODY_SIZE = RECORD_SIZE - Integer.BYTES;
+
+    private GameStateCodec() {
+    }
+
+    /**
+     * @param data The content of a save file.
+     * @return {@code true} if the data starts with the magic of a binary save.
+     */
+    public static boolean isBinary(byte[] data) {
+        if (data.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes a game state with its moves, as a version 2 record, or as a version 1 record if it has no moves.
+     *
+     * @param gameState The game state to encode; a missing goal is encoded as the goal of the standard board.
+     * @return The encoded game state.
+     * @throws IllegalArgumentException If a position is missing or a coordinate does not fit the format.
+     */
+    public static byte[] encode(GameSaverLoader.GameState gameState) {
+        int[] moves = gameState.getMoves();
+        if (moves.length == 0) {
+            return encodePosition(gameState);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BODY_SIZE + Integer.BYTES * (moves.length + 2));
+        putBody(buffer, gameState, VERSION_WITH_MOVES);
+        buffer.putInt(moves.length);
+        for (int move : moves) {
+            buffer.putInt(move);
+        }
+        buffer.putInt((int) checksum(buffer.array(), buffer.position()));
+        return buffer.array();
+    }
+
+    /**
+     * Encodes the position of a game state, without its moves, as a version 1 record.
+     *
+     * @param gameState The game state to encode; a missing goal is encoded as the goal of the standard board.
+     * @return The encoded game state, {@value #RECORD_SIZE} bytes long.
+     * @throws IllegalArgumentException If a position is missing or a coordinate does not fit the format.
+     */
+    public static byte[] encodePosition(GameSaverLoader.GameState gameState) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        putBody(buffer, gameState, VERSION);
+        buffer.putInt((int) checksum(buffer.array(), BODY_SIZE));
+        return buffer.array();
+    }
+
+    private static void putBody(ByteBuffer buffer, GameSaverLoader.GameState gameState, int version) {
+        int[] king = gameState.getKingPosition();
+        int[] knight = gameState.getKnightPosition();
+        if (king == null || knight == null) {
+            throw new IllegalArgumentException("The positions of both pieces are required");
+        }
+        BoardSpec board = gameState.getBoardSpec();
+        buffer.put(MAGIC)
+                .put((byte) version)
+                .put((byte) 0)
+                .put(coordinate(board.getWidth()))
+                .put(coordinate(board.getHeight()))
+                .put(coordinate(king[0]))
+                .put(coordinate(king[1]))
+                .put(coordinate(knight[0]))
+                .put(coordinate(knight[1]))
+                .put(coordinate(board.getGoalX()))
+                .put(coordinate(board.getGoalY()))
+                .putShort((short) 0)
+                .putInt(gameState.getMoveCount());
+    }
+
+    /**
+     * Decodes a game state.
+     *
+     * @param data The encoded game state.
+     * @return The decoded game state.
+     * @throws IOException If the data is not a binary save, has an unsupported version or a wrong checksum.
+     */
+    public static GameSaverLoader.GameState decode(byte[] data) throws IOException {
+        if (!isBinary(data)) {
+            throw new IOException("Not a binary save");
+        }
+        if (data.length < RECORD_SIZE) {
+            throw new IOException("Truncated binary save: " + data.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int version = buffer.get(MAGIC.length) & 0xFF;
+        int size = RECORD_SIZE;
+        if (version == VERSION_WITH_MOVES) {
+            long moveTotal = buffer.getInt(BODY_SIZE);
+            long recordSize = BODY_SIZE + Integer.BYTES * (moveTotal + 2);
+            if (moveTotal < 0 || recordSize > data.length) {
+                throw new IOException("Truncated binary save: " + data.length + " bytes");
+            }
+            size = (int) recordSize;
+        } else if (version != VERSION) {
+            throw new IOException("Unsupported binary save version: " + version);
+        }
+        int checksumOffset = size - Integer.BYTES;
+        if (buffer.getInt(checksumOffset) != (int) checksum(data, checksumOffset)) {
+            throw new IOException("Checksum mismatch in binary save");
+        }
+        buffer.position(MAGIC.length + 2);
+        int width = buffer.get();
+        int height = buffer.get();
+        int[] king = {buffer.get(), buffer.get()};
+        int[] knight = {buffer.get(), buffer.get()};
+        int[] goal = {buffer.get(), buffer.get()};
+        buffer.getShort();
+        int moveCount = buffer.getInt();
+        int[] moves = null;
+        if (version == VERSION_WITH_MOVES) {
+            moves = new int[buffer.getInt()];
+            for (int i = 0; i < moves.length; i++) {
+                moves[i] = buffer.getInt();
+            }
+        }
+        return new GameSaverLoader.GameState(king, knight, goal, new int[]{width, height}, moveCount, moves);
+    }
+
+    private static byte coordinate(int value) {
+        if (value < 0 || value > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Coordinate out of range: " + value);
+        }
+        return (byte) value;
+    }
+
+    private static long checksum(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return crc.getValue();
+    }
+}
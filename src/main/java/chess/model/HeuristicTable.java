@@ -0,0 +1,262 @@
+package chess.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admissible and consistent estimates of the distance to the goal, for informed searches on boards too large
+ * for a {@link DistanceTable}. The table takes {@code O(squares)} memory and time instead of {@code O(squares^2)}.
+ * <p>
+ * The estimate of a placement is the largest of two kinds of lower bounds, folded into one lookup table
+ * indexed by the king's square and the knight's offset from it:
+ * <ul>
+ *   <li>Single-piece distances: the goal is reached by the king, in at least as many moves as its Chebyshev
+ *       distance to the goal, or by the knight, in at least as many moves as its knight distance to the goal.</li>
+ *   <li>Projections: the exact distance of a relaxed game that only tracks the knight's offset from the king
+ *       and the king's position along one of eight directions, and is won once either piece is level with the
+ *       goal. Every game maps to a relaxed game of the same length, so its distance is a lower bound; unlike
+ *       the single-piece distances, it accounts for the pieces having to take turns, which makes it several
+ *       times larger on a large board.</li>
+ * </ul>
+ * The pieces can only move while the knight is within three rows and columns of the king, so placements
+ * farther apart, and others that can never reach the goal, are estimated as {@link #UNREACHABLE}.
+ */
+public final class HeuristicTable {
+    /**
+     * The estimate of placements from which the goal cannot be reached.
+     */
+    public static final int UNREACHABLE = -1;
+
+    private static final int MAX_OFFSET = 3;
+    private static final int OFFSET_SIDE = 2 * MAX_OFFSET + 1;
+    private static final int OFFSETS = OFFSET_SIDE * OFFSET_SIDE;
+    private static final int[][] KING_STEPS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int[][] KNIGHT_JUMPS = {{-2, -1}, {-1, -2}, {1, -2}, {2, -1}, {2, 1}, {1, 2}, {-1, 2}, {-2, 1}};
+    // The coefficients (a, b) of the projections a * x + b * y
+    private static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {-1, -1}, {1, -1}, {-1, 1}};
+    private static final Map<BoardSpec, HeuristicTable> CACHE = new ConcurrentHashMap<>();
+
+    private final BoardSpec board;
+    private final int goal;
+    private final short[] estimates;
+
+    private HeuristicTable(BoardSpec board, short[] estimates) {
+        this.board = board;
+        this.goal = board.getGoalSquare();
+        this.estimates = estimates;
+    }
+
+    /**
+     * Returns the table for the given board, computing it on first use and caching it afterwards.
+     *
+     * @param board The board, including its goal.
+     * @return The heuristic table of the board.
+     */
+    public static HeuristicTable forBoard(BoardSpec board) {
+        return CACHE.computeIfAbsent(board, HeuristicTable::compute);
+    }
+
+    /**
+     * Computes the table for the given board without consulting the cache.
+     *
+     * @param board The board, including its goal.
+     * @return The heuristic table of the board.
+     */
+    public static HeuristicTable compute(BoardSpec board) {
+        int squares = board.getSquares();
+        int[] knightDistances = knightDistances(board);
+        int[][] projections = new int[DIRECTIONS.length][];
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            projections[d] = projection(board, DIRECTIONS[d][0], DIRECTIONS[d][1]);
+        }
+
+        short[] estimates = new short[squares * OFFSETS];
+        Arrays.fill(estimates, (short) UNREACHABLE);
+        for (int king = 0; king < squares; king++) {
+            int kingX = board.squareX(king);
+            int kingY = board.squareY(king);
+            for (int offset = 0; offset < OFFSETS; offset++) {
+                int knightX = kingX + offsetX(offset);
+                int knightY = kingY + offsetY(offset);
+                if (offset == OFFSETS / 2 || !board.isOnBoard(knightX, knightY)) {
+                    continue;
+                }
+                int estimate = singlePieceEstimate(board, kingX, kingY, knightDistances[board.square(knightX, knightY)]);
+                for (int d = 0; d < DIRECTIONS.length && estimate != UNREACHABLE; d++) {
+                    int level = level(board, DIRECTIONS[d][0], DIRECTIONS[d][1], kingX, kingY);
+                    int projected = projections[d][offset * levels(board, DIRECTIONS[d]) + level];
+                    estimate = projected == UNREACHABLE ? UNREACHABLE : Math.max(estimate, projected);
+                }
+                if (estimate > Short.MAX_VALUE) {
+                    throw new IllegalStateException("Estimate exceeds the table's range on " + board);
+                }
+                estimates[king * OFFSETS + offset] = (short) estimate;
+            }
+        }
+        return new HeuristicTable(board, estimates);
+    }
+
+    private static int singlePieceEstimate(BoardSpec board, int kingX, int kingY, int knightDistance) {
+        int kingDistance = Math.max(Math.abs(kingX - board.getGoalX()), Math.abs(kingY - board.getGoalY()));
+        return knightDistance == UNREACHABLE ? kingDistance : Math.min(kingDistance, knightDistance);
+    }
+
+    private static int[] knightDistances(BoardSpec board) {
+        int squares = board.getSquares();
+        int[] distances = new int[squares];
+        Arrays.fill(distances, UNREACHABLE);
+        int[] queue = new int[squares];
+        int head = 0;
+        int tail = 0;
+        distances[board.getGoalSquare()] = 0;
+        queue[tail++] = board.getGoalSquare();
+        while (head < tail) {
+            int square = queue[head++];
+            for (int i = 0, count = board.knightMoveCount(square); i < count; i++) {
+                int target = board.knightMove(square, i);
+                if (distances[target] == UNREACHABLE) {
+                    distances[target] = distances[square] + 1;
+                    queue[tail++] = target;
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Solves the game relaxed to the knight's offset from the king and the level {@code a * x + b * y} of the king,
+     * by a backward breadth-first search from the states where either piece is level with the goal.
+     *
+     * @return The distances indexed by {@code offset * levels + level}, where level 0 is the lowest on the board.
+     */
+    private static int[] projection(BoardSpec board, int a, int b) {
+        int levels = levels(board, new int[]{a, b});
+        int goalLevel = level(board, a, b, board.getGoalX(), board.getGoalY());
+        int[] distances = new int[OFFSETS * levels];
+        Arrays.fill(distances, UNREACHABLE);
+        int[] queue = new int[OFFSETS * levels];
+        int head = 0;
+        int tail = 0;
+
+        for (int offset = 0; offset < OFFSETS; offset++) {
+            for (int level = 0; level < levels; level++) {
+                if (isRelaxedState(offset, level, a, b, levels) && isRelaxedGoal(offset, level, a, b, goalLevel)) {
+                    distances[offset * levels + level] = 0;
+                    queue[tail++] = offset * levels + level;
+                }
+            }
+        }
+
+        while (head < tail) {
+            int state = queue[head++];
+            int offset = state / levels;
+            int level = state % levels;
+            int distance = distances[state] + 1;
+            int offsetX = offsetX(offset);
+            int offsetY = offsetY(offset);
+            // The king stepped here from a square the knight attacked
+            for (int[] step : KING_STEPS) {
+                int originX = offsetX + step[0];
+                int originY = offsetY + step[1];
+                int originLevel = level - (a * step[0] + b * step[1]);
+                if (isKnightJump(originX, originY)) {
+                    int origin = offset(originX, originY);
+                    if (isRelaxedState(origin, originLevel, a, b, levels)
+                            && !isRelaxedGoal(origin, originLevel, a, b, goalLevel)
+                            && distances[origin * levels + originLevel] == UNREACHABLE) {
+                        distances[origin * levels + originLevel] = distance;
+                        queue[tail++] = origin * levels + originLevel;
+                    }
+                }
+            }
+            // The knight jumped here from a square next to the king
+            for (int[] jump : KNIGHT_JUMPS) {
+                int originX = offsetX - jump[0];
+                int originY = offsetY - jump[1];
+                if (Math.max(Math.abs(originX), Math.abs(originY)) == 1) {
+                    int origin = offset(originX, originY);
+                    if (isRelaxedState(origin, level, a, b, levels)
+                            && !isRelaxedGoal(origin, level, a, b, goalLevel)
+                            && distances[origin * levels + level] == UNREACHABLE) {
+                        distances[origin * levels + level] = distance;
+                        queue[tail++] = origin * levels + level;
+                    }
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static boolean isRelaxedState(int offset, int level, int a, int b, int levels) {
+        int knightLevel = level + a * offsetX(offset) + b * offsetY(offset);
+        return level >= 0 && level < levels && knightLevel >= 0 && knightLevel < levels;
+    }
+
+    private static boolean isRelaxedGoal(int offset, int level, int a, int b, int goalLevel) {
+        return level == goalLevel || level + a * offsetX(offset) + b * offsetY(offset) == goalLevel;
+    }
+
+    private static boolean isKnightJump(int dx, int dy) {
+        int x = Math.abs(dx);
+        int y = Math.abs(dy);
+        return (x == 1 && y == 2) || (x == 2 && y == 1);
+    }
+
+    private static int levels(BoardSpec board, int[] direction) {
+        return Math.abs(direction[0]) * (board.getHeight() - 1) + Math.abs(direction[1]) * (board.getWidth() - 1) + 1;
+    }
+
+    private static int level(BoardSpec board, int a, int b, int x, int y) {
+        int lowest = Math.min(0, a * (board.getHeight() - 1)) + Math.min(0, b * (board.getWidth() - 1));
+        return a * x + b * y - lowest;
+    }
+
+    private static int offset(int dx, int dy) {
+        return (dx + MAX_OFFSET) * OFFSET_SIDE + dy + MAX_OFFSET;
+    }
+
+    private static int offsetX(int offset) {
+        return offset / OFFSET_SIDE - MAX_OFFSET;
+    }
+
+    private static int offsetY(int offset) {
+        return offset % OFFSET_SIDE - MAX_OFFSET;
+    }
+
+    /**
+     * @return The board, including the goal, this table was computed for.
+     */
+    public BoardSpec getBoard() {
+        return board;
+    }
+
+    /**
+     * Estimates the number of moves needed to reach the goal, never overestimating it. The estimates of a placement
+     * and the placement after any legal move differ by at most one.
+     *
+     * @param kingSquare The square of the king.
+     * @param knightSquare The square of the knight.
+     * @return The estimate, {@code 0} if the placement is solved, or {@link #UNREACHABLE}.
+     */
+    public int estimate(int kingSquare, int knightSquare) {
+        if (kingSquare == goal || knightSquare == goal) {
+            return 0;
+        }
+        int dx = board.squareX(knightSquare) - board.squareX(kingSquare);
+        int dy = board.squareY(knightSquare) - board.squareY(kingSquare);
+        if (Math.abs(dx) > MAX_OFFSET || Math.abs(dy) > MAX_OFFSET) {
+            return UNREACHABLE;
+        }
+        return estimates[kingSquare * OFFSETS + offset(dx, dy)];
+    }
+
+    /**
+     * @param state The state to estimate.
+     * @return The estimate of the placement of the state, as by {@link #estimate(int, int)}.
+     */
+    public int estimate(ChessState state) {
+        return estimate(board.square(state.getKingX(), state.getKingY()),
+                board.square(state.getKnightX(), state.getKnightY()));
+    }
+}
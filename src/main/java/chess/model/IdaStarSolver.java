@@ -0,0 +1,289 @@
+package chess.model;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the shortest solution of a chess puzzle with an iterative-deepening A* search guided by the
+ * {@link HeuristicTable} of its board, for boards too large to keep every visited placement.
+ * <p>
+ * Every iteration is a depth-first search of a single {@link ChessState}, moved forwards and taken back,
+ * that prunes placements whose estimated total length exceeds the bound of the iteration; the next bound is
+ * the smallest estimate that exceeded it. Apart from the optional table, the search takes memory proportional
+ * to the length of the solution. The moves of a placement are tried in order of their estimates, and moving
+ * straight back to the previous placement is never tried, as no shortest solution does.
+ * <p>
+ * A solver constructed with a {@link TranspositionTable} remembers the distance bounds learned by failed
+ * searches of a placement, keyed by its {@link Zobrist} hash, and uses them in place of smaller estimates,
+ * so placements reached again along other paths are pruned earlier. The table is cleared before every search
+ * and may be much smaller than the number of placements; it only forgets bounds when full.
+ * <p>
+ * The search stops when it exceeds its node or time budget, and then returns an incomplete {@link Solution}
+ * with the bound of the interrupted iteration, which no solution is shorter than. The node counts of a
+ * solution include the placements generated and expanded again by every iteration.
+ */
+public class IdaStarSolver {
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+    // How many expansions pass between checks of the clock
+    private static final int CLOCK_INTERVAL = 1 << 10;
+
+    private final TranspositionTable table;
+    private final long nodeBudget;
+    private final long timeBudgetNanos;
+
+    /**
+     * Constructs a solver without a transposition table or budget.
+     */
+    public IdaStarSolver() {
+        this(null, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Constructs a solver.
+     *
+     * @param table The table to remember distance bounds in, or {@code null} to search without one.
+     * @param nodeBudget The number of placements the search may expand before it is stopped.
+     * @param timeBudget How long the search may take before it is stopped, or {@code null} for no limit.
+     * @throws IllegalArgumentException If a budget is not positive.
+     */
+    public IdaStarSolver(TranspositionTable table, long nodeBudget, Duration timeBudget) {
+        if (nodeBudget <= 0 || timeBudget != null && (timeBudget.isNegative() || timeBudget.isZero())) {
+            throw new IllegalArgumentException("Invalid budget: " + nodeBudget + " nodes, " + timeBudget);
+        }
+        this.table = table;
+        this.nodeBudget = nodeBudget;
+        this.timeBudgetNanos = timeBudget == null ? Long.MAX_VALUE : saturatedNanos(timeBudget);
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Searches for the shortest move sequence that solves the given state.
+     * The given state is not modified.
+     *
+     * @param initialState The state to start the search from.
+     * @return The shortest solution, an unsolved {@link Solution} if the goal is unreachable,
+     *         or an incomplete one if the budget ran out.
+     */
+    public Solution solve(ChessState initialState) {
+        if (initialState.isSolved()) {
+            return new Solution(List.of(), true, 1, 0);
+        }
+        BoardSpec board = initialState.getBoard();
+        if (!board.isOnBoard(initialState.getKingX(), initialState.getKingY())
+                || !board.isOnBoard(initialState.getKnightX(), initialState.getKnightY())) {
+            return new Solution(List.of(), false, 1, 0);
+        }
+        if (table != null) {
+            table.clear();
+        }
+        Search search = new Search(initialState);
+        int bound = search.estimate(initialState.getZobristHash(),
+                board.square(initialState.getKingX(), initialState.getKingY()),
+                board.square(initialState.getKnightX(), initialState.getKnightY()));
+        while (bound != UNBOUNDED) {
+            int next = search.search(0, bound);
+            if (search.found) {
+                return new Solution(search.path(), true, search.generated, search.expanded);
+            }
+            if (search.stopped) {
+                return Solution.incomplete(bound, search.generated, search.expanded);
+            }
+            bound = next;
+        }
+        return new Solution(List.of(), false, search.generated, search.expanded);
+    }
+
+    /**
+     * The state of one search: the placement being searched, the moves leading to it and the budget spent.
+     */
+    private final class Search {
+        private final ChessState state;
+        private final BoardSpec board;
+        private final HeuristicTable heuristic;
+        private final boolean timed;
+        private final long deadline;
+        // The moves of every depth, the estimates after them, and the placements left and taken by the path
+        private Move[][] moves = new Move[16][ChessState.MAX_MOVES];
+        private int[][] estimates = new int[16][ChessState.MAX_MOVES];
+        private Move[] origins = new Move[16];
+        private Move[] targets = new Move[16];
+        private long generated = 1;
+        private long expanded;
+        private boolean found;
+        private boolean stopped;
+        private int length;
+
+        Search(ChessState initialState) {
+            // Moves are taken back, so the state keeps a history, reused by every iteration
+            state = new ChessState(initialState.getBoard(), initialState.getKingX(), initialState.getKingY(),
+                    initialState.getKnightX(), initialState.getKnightY(), initialState.getMoveCount());
+            board = state.getBoard();
+            heuristic = HeuristicTable.forBoard(board);
+            timed = timeBudgetNanos != Long.MAX_VALUE;
+            deadline = System.nanoTime() + timeBudgetNanos;
+        }
+
+        /**
+         * @return The best known bound on the distance of a placement, or {@link #UNBOUNDED} if it is unsolvable.
+         */
+        int estimate(long hash, int kingSquare, int knightSquare) {
+            int estimate = heuristic.estimate(kingSquare, knightSquare);
+            if (estimate == HeuristicTable.UNREACHABLE) {
+                return UNBOUNDED;
+            }
+            if (table != null) {
+                int learned = table.get(hash);
+                if (learned != TranspositionTable.NOT_FOUND) {
+                    estimate = Math.max(estimate, learned);
+                }
+            }
+            return estimate;
+        }
+
+        /**
+         * Searches the current placement, reached in {@code depth} moves, for solutions within the bound.
+         *
+         * @return The smallest estimated total length exceeding the bound, or {@link #UNBOUNDED} if there is none.
+         */
+        int search(int depth, int bound) {
+            if (state.isSolved()) {
+                found = true;
+                length = depth;
+                return depth;
+            }
+            if (expanded >= nodeBudget || timed && (expanded & CLOCK_INTERVAL - 1) == 0 && System.nanoTime() - deadline > 0) {
+                stopped = true;
+                return UNBOUNDED;
+            }
+            expanded++;
+            if (depth == moves.length) {
+                grow();
+            }
+            Move[] children = moves[depth];
+            int[] childEstimates = estimates[depth];
+            int count = order(depth, children, childEstimates);
+            generated += count;
+
+            int next = UNBOUNDED;
+            for (int i = 0; i < count && !found && !stopped; i++) {
+                int total = childEstimates[i] == UNBOUNDED ? UNBOUNDED : depth + 1 + childEstimates[i];
+                if (total > bound) {
+                    // The children are in order, so every remaining one exceeds the bound too
+                    next = Math.min(next, total);
+                    break;
+                }
+                origins[depth] = state.getPlacement(children[i].piece());
+                targets[depth] = children[i];
+                state.makeMove(children[i]);
+                next = Math.min(next, search(depth + 1, bound));
+                if (!found) {
+                    state.undo();
+                }
+            }
+            if (table != null && !found && !stopped) {
+                learn(depth, next);
+            }
+            return next;
+        }
+
+        /**
+         * Writes the moves of the current placement, but for the one straight back, into the buffer in order
+         * of their estimates.
+         *
+         * @return The number of moves written.
+         */
+        private int order(int depth, Move[] children, int[] childEstimates) {
+            int legalCount = state.getLegalMoves(children);
+            Move previous = depth == 0 ? null : origins[depth - 1];
+            int king = board.square(state.getKingX(), state.getKingY());
+            int knight = board.square(state.getKnightX(), state.getKnightY());
+            long hash = state.getZobristHash();
+            int count = 0;
+            for (int i = 0; i < legalCount; i++) {
+                Move child = children[i];
+                if (child.equals(previous)) {
+                    continue;
+                }
+                Move from = state.getPlacement(child.piece());
+                long childHash = hash ^ Zobrist.key(child.piece(), from.x(), from.y())
+                        ^ Zobrist.key(child.piece(), child.x(), child.y());
+                int target = board.square(child.x(), child.y());
+                int estimate = child.piece() == Piece.KING
+                        ? estimate(childHash, target, knight)
+                        : estimate(childHash, king, target);
+                // Insertion sort in place, as there are at most eight moves and the kept ones come first
+                int j = count++;
+                for (; j > 0 && childEstimates[j - 1] > estimate; j--) {
+                    children[j] = children[j - 1];
+                    childEstimates[j] = childEstimates[j - 1];
+                }
+                children[j] = child;
+                childEstimates[j] = estimate;
+            }
+            return count;
+        }
+
+        /**
+         * Remembers the distance bound proven for the current placement by a failed search.
+         */
+        private void learn(int depth, int next) {
+            long hash = state.getZobristHash();
+            int king = board.square(state.getKingX(), state.getKingY());
+            int knight = board.square(state.getKnightX(), state.getKnightY());
+            int distance = next == UNBOUNDED ? UNBOUNDED : next - depth;
+            if (depth > 0) {
+                // The move straight back was not searched, so the placement may be closer through its parent
+                Move parent = origins[depth - 1];
+                Move current = state.getPlacement(parent.piece());
+                long parentHash = hash ^ Zobrist.key(parent.piece(), current.x(), current.y())
+                        ^ Zobrist.key(parent.piece(), parent.x(), parent.y());
+                int parentSquare = board.square(parent.x(), parent.y());
+                int parentEstimate = parent.piece() == Piece.KING
+                        ? estimate(parentHash, parentSquare, knight)
+                        : estimate(parentHash, king, parentSquare);
+                if (parentEstimate != UNBOUNDED) {
+                    distance = Math.min(distance, parentEstimate + 1);
+                }
+            }
+            // Never replace a better bound learned through another path
+            distance = Math.max(distance, estimate(hash, king, knight));
+            if (distance != UNBOUNDED) {
+                table.put(hash, distance, Math.min(distance, TranspositionTable.MAX_DEPTH));
+            }
+        }
+
+        private void grow() {
+            int capacity = moves.length * 2;
+            moves = Arrays.copyOf(moves, capacity);
+            estimates = Arrays.copyOf(estimates, capacity);
+            for (int i = capacity / 2; i < capacity; i++) {
+                moves[i] = new Move[ChessState.MAX_MOVES];
+                estimates[i] = new int[ChessState.MAX_MOVES];
+            }
+            origins = Arrays.copyOf(origins, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+        }
+
+        /**
+         * @return The moves leading to the solved placement the search stopped at.
+         */
+        List<TwoPhaseMove<Move>> path() {
+            List<TwoPhaseMove<Move>> path = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                path.add(new TwoPhaseMove<>(origins[i], targets[i]));
+            }
+            return path;
+        }
+    }
+}
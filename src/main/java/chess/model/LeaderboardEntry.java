@@ -7,12 +7,13 @@ import javafx.beans.property.StringProperty;
 
 /**
  * Data model class for entries in the leaderboard.
- * This class represents a single entry in the leaderboard with username, score, and datetime properties.
+ * This class represents a single entry in the leaderboard with rank, username, score, and datetime properties.
  */
 public class LeaderboardEntry {
     private StringProperty username;
     private IntegerProperty score;
     private StringProperty datetime;
+    private IntegerProperty rank;
 
     /**
      * Constructs a new leaderboard entry with specified username, score, and datetime.
@@ -21,11 +22,39 @@ public class LeaderboardEntry {
      * @param datetime the datetime when the score was recorded
      */
     public LeaderboardEntry(String username, int score, String datetime) {
+        this(0, username, score, datetime);
+    }
+
+    /**
+     * Constructs a new leaderboard entry with specified rank, username, score, and datetime.
+     * @param rank the 1-based position of the player on the leaderboard
+     * @param username the username of the player
+     * @param score the score of the player
+     * @param datetime the datetime when the score was recorded
+     */
+    public LeaderboardEntry(int rank, String username, int score, String datetime) {
+        this.rank = new SimpleIntegerProperty(rank);
         this.username = new SimpleStringProperty(username);
         this.score = new SimpleIntegerProperty(score);
         this.datetime = new SimpleStringProperty(datetime);
     }
 
+    /**
+     * Returns the 1-based position of the player on the leaderboard.
+     * @return the rank as an int, or 0 if it is not known
+     */
+    public int getRank() {
+        return rank.get();
+    }
+
+    /**
+     * Sets the position of the player on the leaderboard.
+     * @param rank the new rank as an int
+     */
+    public void setRank(int rank) {
+        this.rank.set(rank);
+    }
+
     /**
      * Returns the username of the player.
      * @return the username as a String
@@ -100,4 +129,13 @@ public class LeaderboardEntry {
     public StringProperty datetimeProperty() {
         return datetime;
     }
+
+    /**
+     * Returns the IntegerProperty for the rank.
+     * This property allows the rank to be bound to UI components and be observed for changes.
+     * @return the observable property for rank
+     */
+    public IntegerProperty rankProperty() {
+        return rank;
+    }
 }
\ No newline at end of file
@@ -1,22 +1,28 @@
 package chess.model;
 
+import chess.logging.HotPathLogger;
+import chess.metrics.LatencyHistogram;
+import chess.metrics.MetricsRegistry;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import org.tinylog.Logger;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Manager class for handling operations related to the leaderboard data storage.
  * It provides functionality to read, write, and update leaderboard data in JSON format.
+ * The data is kept in the {@link LeaderboardStore} of the leaderboard file, so an update costs
+ * a lookup in memory and a single appended line rather than a rewrite of the whole file.
+ * Updates go through the store's {@link ConcurrentLeaderboard}, so any number of threads can record scores
+ * at once without losing any; the queries first write the updates waiting in it.
  */
 public class LeaderboardManager {
     /**
@@ -25,20 +31,26 @@ public class LeaderboardManager {
      */
     public static String FILE_PATH = "leaderboard.json";
     private static final Gson gson = new Gson();
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LatencyHistogram UPDATE_LATENCY = MetricsRegistry.getDefault().histogram("leaderboard.update");
+    private final LeaderboardStore store;
+    private final ConcurrentLeaderboard leaderboard;
 
     /**
      * Constructs a LeaderboardManager that ensures the leaderboard file exists in the resource directory.
      */
     public LeaderboardManager() {
         ensureFileExists();
+        store = LeaderboardStore.forPath(Paths.get(FILE_PATH));
+        leaderboard = ConcurrentLeaderboard.forStore(store);
     }
 
     private void ensureFileExists() {
         Path path = Paths.get(FILE_PATH);
         if (!Files.exists(path)) {
-            try (OutputStream outputStream = Files.newOutputStream(path)) {
+            try {
                 JsonObject emptyLeaderboard = new JsonObject();
-                outputStream.write(gson.toJson(emptyLeaderboard).getBytes(StandardCharsets.UTF_8));
+                DurableFiles.write(path, gson.toJson(emptyLeaderboard).getBytes(StandardCharsets.UTF_8));
                 Logger.info("Created new leaderboard file.");
             } catch (Exception e) {
                 e.printStackTrace();
@@ -48,69 +60,98 @@ public class LeaderboardManager {
     }
 
     /**
-     * Reads the leaderboard data from the resource file and returns it as a JsonObject.
-     * @return JsonObject containing the leaderboard data, or an empty JsonObject if an error occurs
+     * Reads the leaderboard data and returns it as a JsonObject.
+     * @return JsonObject containing the leaderboard data
      */
     public JsonObject readLeaderboard() {
-        Path path = Paths.get(FILE_PATH);
-        try (InputStream inputStream = Files.newInputStream(path);
-             InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
-            return gson.fromJson(reader, JsonObject.class);
-        } catch (Exception e) {
-            e.printStackTrace();
-            Logger.error("Failed to read Leaderboard data: " + e);
-            return new JsonObject();
-        }
+        leaderboard.flush();
+        return store.toJson();
     }
 
     /**
-     * Writes the provided JSON object containing leaderboard data to the resource file.
-     * This method serializes the JsonObject to a JSON string and writes it to the disk.
+     * Writes the provided JSON object containing leaderboard data to the resource file,
+     * replacing the whole leaderboard.
      * If an error occurs during writing, it logs the error message.
      * @param jsonObj the JsonObject to be written to the file
      */
     public void writeLeaderboard(JsonObject jsonObj) {
-        Path path = Paths.get(FILE_PATH);
-        try (OutputStream outputStream = Files.newOutputStream(path)) {
-            outputStream.write(gson.toJson(jsonObj).getBytes(StandardCharsets.UTF_8));
+        try {
+            leaderboard.flush();
+            store.replace(jsonObj);
         } catch (Exception e) {
             e.printStackTrace();
             Logger.error("Failed to write to Leaderboard: " + e);
         }
     }
 
+    /**
+     * Returns the entries of the leaderboard, from the best score to the worst.
+     * @return the list of leaderboard entries in rank order
+     */
+    public List<LeaderboardEntry> getEntries() {
+        return page(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the best entries of the leaderboard.
+     * @param k the number of entries to return
+     * @return the best {@code k} entries in rank order
+     */
+    public List<LeaderboardEntry> topN(int k) {
+        return page(0, k);
+    }
+
+    /**
+     * Returns a page of the leaderboard, without building entries for the players outside of it.
+     * @param offset the 0-based position of the first entry on the page
+     * @param limit the maximum number of entries on the page
+     * @return the entries on the page in rank order, with their ranks set
+     */
+    public List<LeaderboardEntry> page(int offset, int limit) {
+        leaderboard.flush();
+        List<LeaderboardStore.Score> scores = store.page(offset, limit);
+        List<LeaderboardEntry> entries = new ArrayList<>(scores.size());
+        int rank = Math.max(0, offset);
+        for (LeaderboardStore.Score score : scores) {
+            entries.add(new LeaderboardEntry(++rank, score.getUsername(), score.getMoveCount(), score.getDateTime()));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the position of a player on the leaderboard.
+     * @param username the username of the player
+     * @return the 1-based rank of the player, or -1 if the player is not on the leaderboard
+     */
+    public int rankOf(String username) {
+        leaderboard.flush();
+        return store.rankOf(username);
+    }
+
+    /**
+     * Returns the number of players on the leaderboard.
+     * @return the number of players
+     */
+    public int size() {
+        leaderboard.flush();
+        return store.size();
+    }
+
     /**
      * Updates the leaderboard with the provided username and score.
      * If the username exists, it updates the score if the new score is better.
      * If the username doesn't exist, it adds a new entry with the score and current datetime.
+     * Safe to call from any number of threads at once; the update is written to the file shortly afterwards.
      * @param username the username of the player
      * @param moveCount the score of the player, typically the number of moves in a game
      */
     public void updateLeaderboard(String username, int moveCount) {
-        JsonObject leaderboard = readLeaderboard();
-        if (leaderboard == null) {
-            leaderboard = new JsonObject();
-        }
+        long start = System.nanoTime();
+        String dateTime = LocalDateTime.now().format(DATE_FORMAT);
 
-        JsonObject userDetails = leaderboard.getAsJsonObject(username);
-
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        String dateTime = dateFormat.format(new Date());
-
-        if (userDetails == null) {
-            userDetails = new JsonObject();
-            userDetails.addProperty("moveCount", moveCount);
-            userDetails.addProperty("dateTime", dateTime);
-            leaderboard.add(username, userDetails);
-        } else {
-            int currentBest = userDetails.get("moveCount").getAsInt();
-            if (moveCount < currentBest) {
-                userDetails.addProperty("moveCount", moveCount);
-                userDetails.addProperty("dateTime", dateTime);
-            }
+        if (leaderboard.update(username, moveCount, dateTime)) {
+            HotPathLogger.debug("Leaderboard updated for {}.", username);
         }
-
-        writeLeaderboard(leaderboard);
-        Logger.info("Leaderboard updated.");
+        UPDATE_LATENCY.recordSince(start);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,482 @@
+package chess.model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import org.tinylog.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indexed leaderboard that keeps the best score of every player in memory and persists updates incrementally.
+ * <p>
+ * The scores are indexed twice: by username, and in an order-statistic tree ordered by move count and then
+ * username, so an update, a lookup and a rank query all cost {@code O(log n)}, and a page of {@code k} scores
+ * costs {@code O(log n + k)}. An improved score is persisted by appending a single
+ * JSON line to a log next to the snapshot (the snapshot path with {@code .log} appended). Once the log has
+ * grown past the size of the leaderboard, it is compacted: the snapshot is rewritten in the
+ * {@code leaderboard.json} format and the log is deleted. Both files are written through {@link DurableFiles},
+ * so a crash loses at most the update being appended. Opening a store loads the snapshot and replays the log;
+ * replaying is idempotent because only the best score of a player is kept.
+ * <p>
+ * If the snapshot is changed by someone else, the store notices the changed size or modification time
+ * and reloads it before the next operation.
+ */
+public final class LeaderboardStore {
+    /**
+     * The minimum number of log entries before the log is compacted into the snapshot.
+     */
+    public static final int MIN_COMPACTION_THRESHOLD = 1024;
+
+    private static final Gson gson = new Gson();
+    private static final Map<Path, LeaderboardStore> STORES = new ConcurrentHashMap<>();
+    private static final Comparator<Score> BY_RANK =
+            Comparator.comparingInt(Score::getMoveCount).thenComparing(Score::getUsername);
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final Map<String, Score> byUsername = new HashMap<>();
+    private final RankedSet<Score> byRank = new RankedSet<>(BY_RANK);
+    private int logEntries;
+    private FileTime snapshotTime;
+    private long snapshotSize = -1;
+    private volatile long generation;
+
+    /**
+     * Opens a store for the given snapshot, bypassing the shared instances of {@link #forPath(Path)}.
+     *
+     * @param snapshotPath The path of the leaderboard snapshot.
+     */
+    LeaderboardStore(Path snapshotPath) {
+        this.snapshotPath = snapshotPath;
+        this.logPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".log");
+        try {
+            DurableFiles.recover(snapshotPath);
+            DurableFiles.recoverJournal(logPath);
+        } catch (IOException e) {
+            Logger.error("Failed to recover Leaderboard files: " + e);
+        }
+        reload();
+    }
+
+    /**
+     * Returns the store of the given snapshot, opening it on first use.
+     * Every caller using the same path shares the same store.
+     *
+     * @param snapshotPath The path of the leaderboard snapshot.
+     * @return The store of the snapshot.
+     */
+    public static LeaderboardStore forPath(Path snapshotPath) {
+        Path key = snapshotPath.toAbsolutePath().normalize();
+        return STORES.computeIfAbsent(key, LeaderboardStore::new);
+    }
+
+    /**
+     * @return The path of the leaderboard snapshot.
+     */
+    public Path getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * @return The path of the append-only update log.
+     */
+    public Path getLogPath() {
+        return logPath;
+    }
+
+    /**
+     * Records a score, keeping it only if it is the first or a better score of the player.
+     *
+     * @param username The username of the player.
+     * @param moveCount The number of moves the player won in.
+     * @param dateTime The date and time the score was achieved.
+     * @return {@code true} if the score became the player's best score, {@code false} otherwise.
+     * @throws UncheckedIOException If the score cannot be appended to the log; the store is then unchanged.
+     */
+    public synchronized boolean update(String username, int moveCount, String dateTime) {
+        refreshIfChanged();
+        Score score = new Score(username, moveCount, dateTime);
+        Score previous = byUsername.get(username);
+        if (!apply(score)) {
+            return false;
+        }
+        try {
+            DurableFiles.append(logPath, (gson.toJson(score) + "\n").getBytes(StandardCharsets.UTF_8));
+            logEntries++;
+        } catch (IOException e) {
+            revert(score, previous);
+            throw new UncheckedIOException(e);
+        }
+        if (logEntries >= Math.max(MIN_COMPACTION_THRESHOLD, byUsername.size())) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Records a batch of scores, keeping each only if it is the first or a better score of its player,
+     * and appends all the improved scores to the log in a single write.
+     *
+     * @param scores The scores to record.
+     * @return The number of scores that became their player's best score.
+     * @throws UncheckedIOException If the scores cannot be appended to the log; the store is then unchanged.
+     */
+    public synchronized int updateAll(Collection<Score> scores) {
+        refreshIfChanged();
+        StringBuilder lines = new StringBuilder();
+        // The improved scores, each followed by the score it replaced, to take them back if the append fails
+        List<Score> applied = new ArrayList<>();
+        for (Score score : scores) {
+            Score previous = byUsername.get(score.getUsername());
+            if (apply(score)) {
+                lines.append(gson.toJson(score)).append('\n');
+                applied.add(score);
+                applied.add(previous);
+            }
+        }
+        int improved = applied.size() / 2;
+        if (improved == 0) {
+            return 0;
+        }
+        try {
+            DurableFiles.append(logPath, lines.toString().getBytes(StandardCharsets.UTF_8));
+            logEntries += improved;
+        } catch (IOException e) {
+            for (int i = applied.size() - 2; i >= 0; i -= 2) {
+                revert(applied.get(i), applied.get(i + 1));
+            }
+            throw new UncheckedIOException(e);
+        }
+        if (logEntries >= Math.max(MIN_COMPACTION_THRESHOLD, byUsername.size())) {
+            compact();
+        }
+        return improved;
+    }
+
+    /**
+     * Returns the number of times the store was loaded from disk, which happens when it is opened,
+     * replaced, or changed on disk by someone else. Caches of the scores are stale once it changes.
+     *
+     * @return The generation of the store.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @param username The username of the player.
+     * @return The best score of the player, or {@code null} if the player has no score.
+     */
+    public synchronized Score get(String username) {
+        refreshIfChanged();
+        return byUsername.get(username);
+    }
+
+    /**
+     * @return The number of players on the leaderboard.
+     */
+    public synchronized int size() {
+        refreshIfChanged();
+        return byUsername.size();
+    }
+
+    /**
+     * @return The best scores of all players, from the fewest moves to the most.
+     */
+    public synchronized List<Score> getScores() {
+        refreshIfChanged();
+        return byRank.range(0, byRank.size());
+    }
+
+    /**
+     * @param k The number of scores to return.
+     * @return The best {@code k} scores, or all of them if there are fewer, from the fewest moves to the most.
+     */
+    public List<Score> topN(int k) {
+        return page(0, k);
+    }
+
+    /**
+     * Returns a page of the leaderboard.
+     *
+     * @param offset The 0-based position of the first score on the page.
+     * @param limit The maximum number of scores on the page.
+     * @return The scores on the page, from the fewest moves to the most.
+     */
+    public synchronized List<Score> page(int offset, int limit) {
+        refreshIfChanged();
+        return byRank.range(offset, limit);
+    }
+
+    /**
+     * Returns the position of a player on the leaderboard. Players with the same score are ordered by username.
+     *
+     * @param username The username of the player.
+     * @return The 1-based rank of the player, or {@code -1} if the player has no score.
+     */
+    public synchronized int rankOf(String username) {
+        refreshIfChanged();
+        Score score = byUsername.get(username);
+        return score == null ? -1 : byRank.rank(score) + 1;
+    }
+
+    /**
+     * @return The leaderboard in the {@code leaderboard.json} format.
+     */
+    public synchronized JsonObject toJson() {
+        refreshIfChanged();
+        return snapshotJson();
+    }
+
+    /**
+     * Replaces the whole leaderboard with the given JSON object, written as the new snapshot.
+     * Entries that are not in the {@code leaderboard.json} format are written, but not indexed.
+     *
+     * @param leaderboard The new leaderboard.
+     */
+    public synchronized void replace(JsonObject leaderboard) {
+        try {
+            writeSnapshot(leaderboard);
+            Files.deleteIfExists(logPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        reload();
+    }
+
+    /**
+     * Writes the indexed scores to the snapshot and deletes the log.
+     */
+    public synchronized void compact() {
+        try {
+            writeSnapshot(snapshotJson());
+            Files.deleteIfExists(logPath);
+            logEntries = 0;
+            rememberSnapshot();
+            Logger.debug("Compacted leaderboard of " + byUsername.size() + " players.");
+        } catch (IOException e) {
+            Logger.error("Failed to compact Leaderboard: " + e);
+        }
+    }
+
+    private boolean apply(Score score) {
+        Score current = byUsername.get(score.getUsername());
+        if (current != null && current.getMoveCount() <= score.getMoveCount()) {
+            return false;
+        }
+        if (current != null) {
+            byRank.remove(current);
+        }
+        byUsername.put(score.getUsername(), score);
+        byRank.add(score);
+        return true;
+    }
+
+    /**
+     * Takes back a score applied by {@link #apply(Score)}, restoring the score it replaced, if any.
+     */
+    private void revert(Score score, Score previous) {
+        byRank.remove(score);
+        if (previous == null) {
+            byUsername.remove(score.getUsername());
+        } else {
+            byUsername.put(previous.getUsername(), previous);
+            byRank.add(previous);
+        }
+    }
+
+    private JsonObject snapshotJson() {
+        JsonObject leaderboard = new JsonObject();
+        for (Score score : byRank.range(0, byRank.size())) {
+            JsonObject userDetails = new JsonObject();
+            userDetails.addProperty("moveCount", score.getMoveCount());
+            userDetails.addProperty("dateTime", score.getDateTime());
+            leaderboard.add(score.getUsername(), userDetails);
+        }
+        return leaderboard;
+    }
+
+    private void writeSnapshot(JsonObject leaderboard) throws IOException {
+        DurableFiles.write(snapshotPath, gson.toJson(leaderboard).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void refreshIfChanged() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(snapshotPath, BasicFileAttributes.class);
+            if (attributes.size() == snapshotSize && attributes.lastModifiedTime().equals(snapshotTime)) {
+                return;
+            }
+        } catch (IOException e) {
+            if (snapshotSize < 0) {
+                return;
+            }
+        }
+        Logger.debug("Leaderboard snapshot changed on disk, reloading.");
+        reload();
+    }
+
+    private void reload() {
+        generation++;
+        byUsername.clear();
+        byRank.clear();
+        logEntries = 0;
+        if (Files.exists(snapshotPath)) {
+            try (Reader reader = new InputStreamReader(Files.newInputStream(snapshotPath), StandardCharsets.UTF_8)) {
+                JsonObject leaderboard = gson.fromJson(reader, JsonObject.class);
+                if (leaderboard != null) {
+                    for (Map.Entry<String, JsonElement> entry : leaderboard.entrySet()) {
+                        loadEntry(entry.getKey(), entry.getValue());
+                    }
+                }
+            } catch (IOException | JsonParseException e) {
+                Logger.error("Failed to read Leaderboard snapshot: " + e);
+            }
+        }
+        if (Files.exists(logPath)) {
+            try (BufferedReader reader = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    replay(line);
+                }
+            } catch (IOException e) {
+                Logger.error("Failed to read Leaderboard log: " + e);
+            }
+        }
+        rememberSnapshot();
+    }
+
+    private void loadEntry(String username, JsonElement element) {
+        if (!element.isJsonObject()) {
+            Logger.warn("Skipping malformed Leaderboard entry of " + username);
+            return;
+        }
+        JsonObject userDetails = element.getAsJsonObject();
+        JsonElement moveCount = userDetails.get("moveCount");
+        JsonElement dateTime = userDetails.get("dateTime");
+        if (moveCount == null || !moveCount.isJsonPrimitive() || !moveCount.getAsJsonPrimitive().isNumber()
+                || dateTime == null || !dateTime.isJsonPrimitive()) {
+            Logger.warn("Skipping malformed Leaderboard entry of " + username);
+            return;
+        }
+        apply(new Score(username, moveCount.getAsInt(), dateTime.getAsString()));
+    }
+
+    private void replay(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            Score score = gson.fromJson(line, Score.class);
+            if (score != null && score.getUsername() != null) {
+                apply(score);
+                logEntries++;
+            }
+        } catch (JsonParseException e) {
+            // A torn last line left by a crash while appending; the update it carried was never acknowledged.
+            Logger.warn("Skipping malformed Leaderboard log line: " + line);
+        }
+    }
+
+    private void rememberSnapshot() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(snapshotPath, BasicFileAttributes.class);
+            snapshotTime = attributes.lastModifiedTime();
+            snapshotSize = attributes.size();
+        } catch (IOException e) {
+            snapshotTime = null;
+            snapshotSize = -1;
+        }
+    }
+
+    /**
+     * The best score of a player.
+     */
+    public static final class Score {
+        private final String username;
+        private final int moveCount;
+        private final String dateTime;
+
+        /**
+         * Constructs a score.
+         *
+         * @param username The username of the player.
+         * @param moveCount The number of moves the player won in.
+         * @param dateTime The date and time the score was achieved.
+         */
+        public Score(String username, int moveCount, String dateTime) {
+            this.username = username;
+            this.moveCount = moveCount;
+            this.dateTime = dateTime;
+        }
+
+        /**
+         * @return The username of the player.
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * @return The number of moves the player won in.
+         */
+        public int getMoveCount() {
+            return moveCount;
+        }
+
+        /**
+         * @return The date and time the score was achieved.
+         */
+        public String getDateTime() {
+            return dateTime;
+        }
+
+        /**
+         * Checks if the object is a score of the same player with the same move count and date.
+         *
+         * @param o The object to compare with.
+         * @return {@code true} if the objects are equal, {@code false} otherwise.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Score that = (Score) o;
+            return moveCount == that.moveCount && username.equals(that.username) && Objects.equals(dateTime, that.dateTime);
+        }
+
+        /**
+         * @return The hash code of the score.
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(username, moveCount, dateTime);
+        }
+
+        /**
+         * @return A string representation of the score.
+         */
+        @Override
+        public String toString() {
+            return String.format("%s: %d moves at %s", username, moveCount, dateTime);
+        }
+    }
+}
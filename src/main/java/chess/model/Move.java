@@ -0,0 +1,110 @@
+package chess.model;
+
+/**
+ * An immutable placement of a piece on a square, used as both the source and the destination
+ * of a {@link puzzle.TwoPhaseMoveState.TwoPhaseMove} in {@link ChessState}.
+ * The placement is packed into a single {@code short}: the column in bits 0-5, the row in bits 6-11
+ * and the piece in bit 12. Every possible instance is created once up front and shared,
+ * so {@link #of(Piece, int, int)} never allocates. Moves built with the constructor are not shared,
+ * so moves must be compared with {@link #equals(Object)}, never by identity.
+ *
+ * @param bits The packed placement.
+ */
+public record Move(short bits) {
+    private static final int COORDINATE_BITS = 6;
+    private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+    private static final int PIECE_SHIFT = 2 * COORDINATE_BITS;
+    private static final Move[] CACHE = new Move[2 << PIECE_SHIFT];
+
+    static {
+        for (int bits = 0; bits < CACHE.length; bits++) {
+            CACHE[bits] = new Move((short) bits);
+        }
+    }
+
+    /**
+     * Validates the packed placement.
+     *
+     * @param bits The packed placement.
+     * @throws IllegalArgumentException If the bits do not describe a placement.
+     */
+    public Move {
+        if (bits < 0 || bits >= 2 << PIECE_SHIFT) {
+            throw new IllegalArgumentException("Invalid move bits: " + bits);
+        }
+    }
+
+    /**
+     * Returns the shared instance placing the piece on the given square.
+     *
+     * @param piece The piece.
+     * @param x The x-coordinate of the square, less than {@link BoardSpec#MAX_SIZE}.
+     * @param y The y-coordinate of the square, less than {@link BoardSpec#MAX_SIZE}.
+     * @return The move.
+     * @throws IllegalArgumentException If a coordinate is outside of any supported board.
+     */
+    public static Move of(Piece piece, int x, int y) {
+        if (x < 0 || x >= BoardSpec.MAX_SIZE || y < 0 || y >= BoardSpec.MAX_SIZE) {
+            throw new IllegalArgumentException("Square (" + x + ", " + y + ") is outside of any board");
+        }
+        return CACHE[piece.ordinal() << PIECE_SHIFT | x << COORDINATE_BITS | y];
+    }
+
+    /**
+     * Returns the shared instance with the given packed placement.
+     *
+     * @param bits The packed placement.
+     * @return The move.
+     * @throws IllegalArgumentException If the bits do not describe a placement.
+     */
+    public static Move of(short bits) {
+        if (bits < 0 || bits >= CACHE.length) {
+            throw new IllegalArgumentException("Invalid move bits: " + bits);
+        }
+        return CACHE[bits];
+    }
+
+    /**
+     * Parses a move in the format of {@link #toString()}, e.g. "King 3 4".
+     *
+     * @param text The text to parse.
+     * @return The move.
+     * @throws IllegalArgumentException If the text is not a move.
+     */
+    public static Move parse(String text) {
+        String[] parts = text.trim().split(" ");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Not a move: " + text);
+        }
+        return of(Piece.fromName(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+    }
+
+    /**
+     * @return The piece.
+     */
+    public Piece piece() {
+        return (bits >>> PIECE_SHIFT) == 0 ? Piece.KING : Piece.KNIGHT;
+    }
+
+    /**
+     * @return The x-coordinate of the square.
+     */
+    public int x() {
+        return bits >>> COORDINATE_BITS & COORDINATE_MASK;
+    }
+
+    /**
+     * @return The y-coordinate of the square.
+     */
+    public int y() {
+        return bits & COORDINATE_MASK;
+    }
+
+    /**
+     * @return The move in the format "Piece x y", e.g. "King 3 4".
+     */
+    @Override
+    public String toString() {
+        return piece() + " " + x() + " " + y();
+    }
+}
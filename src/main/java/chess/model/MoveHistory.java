@@ -0,0 +1,224 @@
+package chess.model;
+
+import java.util.Arrays;
+
+/**
+ * Append-only log of the moves made in a game, with a cursor for undo and redo.
+ * <p>
+ * Every move is a single {@code int}: the {@link Move#bits()} of the placement the piece moved from in the
+ * high half and of the placement it moved to in the low half. Moves are therefore reversible, recording
+ * one allocates nothing beyond the occasional growth of the array, and undo and redo cost {@code O(1)}.
+ * Moves before the cursor have been made; moves after it have been undone and can be redone until
+ * a new move is recorded.
+ */
+public final class MoveHistory {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int PLACEMENT_MASK = (1 << 13) - 1;
+
+    private int[] entries;
+    private int size;
+    private int cursor;
+
+    /**
+     * Constructs an empty history.
+     */
+    public MoveHistory() {
+        entries = new int[INITIAL_CAPACITY];
+    }
+
+    private MoveHistory(int[] entries, int size, int cursor) {
+        this.entries = entries;
+        this.size = size;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Constructs a history of the given moves, all of them made.
+     *
+     * @param moves The packed moves, as returned by {@link #toArray()}.
+     * @return The history.
+     * @throws IllegalArgumentException If an entry is not a valid packed move.
+     */
+    public static MoveHistory of(int[] moves) {
+        for (int move : moves) {
+            if (from(move).piece() != to(move).piece()) {
+                throw new IllegalArgumentException("Move changes piece: " + Integer.toHexString(move));
+            }
+        }
+        int[] entries = Arrays.copyOf(moves, Math.max(INITIAL_CAPACITY, moves.length));
+        return new MoveHistory(entries, moves.length, moves.length);
+    }
+
+    /**
+     * Packs a move.
+     *
+     * @param from The placement the piece moved from.
+     * @param to The placement the piece moved to.
+     * @return The packed move.
+     */
+    public static int pack(Move from, Move to) {
+        return from.bits() << 16 | to.bits();
+    }
+
+    /**
+     * @param move A packed move.
+     * @return The placement the piece moved from.
+     * @throws IllegalArgumentException If the entry is not a valid packed move.
+     */
+    public static Move from(int move) {
+        return decode(move >>> 16);
+    }
+
+    /**
+     * @param move A packed move.
+     * @return The placement the piece moved to.
+     * @throws IllegalArgumentException If the entry is not a valid packed move.
+     */
+    public static Move to(int move) {
+        return decode(move & 0xFFFF);
+    }
+
+    /**
+     * @param move A packed move.
+     * @return {@code true} if both halves of the entry are valid {@link Move#bits()}, so it can be unpacked.
+     */
+    static boolean isWellFormed(int move) {
+        return (move & ~(PLACEMENT_MASK << 16 | PLACEMENT_MASK)) == 0;
+    }
+
+    private static Move decode(int bits) {
+        if (bits > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid move bits: " + bits);
+        }
+        return Move.of((short) bits);
+    }
+
+    /**
+     * Records a move after the cursor, discarding the moves that could have been redone.
+     *
+     * @param from The placement the piece moved from.
+     * @param to The placement the piece moved to.
+     */
+    public void record(Move from, Move to) {
+        if (cursor == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[cursor++] = pack(from, to);
+        size = cursor;
+    }
+
+    /**
+     * @return {@code true} if there is a made move to undo.
+     */
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    /**
+     * @return {@code true} if there is an undone move to redo.
+     */
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    /**
+     * Moves the cursor back over the last made move.
+     *
+     * @return The packed move to reverse.
+     * @throws IllegalStateException If there is no move to undo.
+     */
+    public int undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("No move to undo");
+        }
+        return entries[--cursor];
+    }
+
+    /**
+     * Moves the cursor forward over the last undone move.
+     *
+     * @return The packed move to make again.
+     * @throws IllegalStateException If there is no move to redo.
+     */
+    public int redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("No move to redo");
+        }
+        return entries[cursor++];
+    }
+
+    /**
+     * @return The number of made moves, the position of the cursor.
+     */
+    public int size() {
+        return cursor;
+    }
+
+    /**
+     * @param index The index of a made move, less than {@link #size()}.
+     * @return The packed move.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= cursor) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + cursor);
+        }
+        return entries[index];
+    }
+
+    /**
+     * Forgets every move.
+     */
+    public void clear() {
+        size = 0;
+        cursor = 0;
+    }
+
+    /**
+     * @return The made moves, packed, in the order they were made.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(entries, cursor);
+    }
+
+    /**
+     * @return An independent copy of the history, including the moves that can be redone.
+     */
+    public MoveHistory copy() {
+        return new MoveHistory(entries.clone(), size, cursor);
+    }
+
+    /**
+     * Replays the made moves on the given state, in a single pass, checking that each one starts from
+     * the current placement of its piece and is accepted by {@link ChessState#makeMove(Move)}.
+     * The state is left after the last legal move.
+     *
+     * @param state The state the moves were made from.
+     * @return The index of the first illegal move, or {@code -1} if every move is legal.
+     */
+    public int replay(ChessState state) {
+        for (int i = 0; i < cursor; i++) {
+            Move from = from(entries[i]);
+            Move to = to(entries[i]);
+            if (!state.getPlacement(to.piece()).equals(from) || !state.makeMove(to)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return A string representation of the made moves.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < cursor; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(to(entries[i]));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,333 @@
+package chess.model;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Primitive, allocation-free encoding of a {@link ChessState} on the standard 8x8 board.
+ * A state is a single {@code int}: the knight's square in bits 0-5, the king's square in bits 6-11
+ * and the goal square in bits 12-17, where a square is {@code x * 8 + y}.
+ * A move is a single {@code int} as well: the target square in bits 0-5 and the piece in bit 6.
+ * The king and knight attack sets are precomputed as 64-entry bitboard tables.
+ */
+public final class PackedChessState {
+    /**
+     * The width and height of the board handled by this encoding.
+     */
+    public static final int BOARD_SIZE = 8;
+
+    /**
+     * The number of squares on the board.
+     */
+    public static final int SQUARES = BOARD_SIZE * BOARD_SIZE;
+
+    /**
+     * The piece bits of a packed move that moves the king.
+     */
+    public static final int KING = 0;
+
+    /**
+     * The piece bits of a packed move that moves the knight.
+     */
+    public static final int KNIGHT = 1 << 6;
+
+    /**
+     * The largest number of moves a single state can have, and therefore the minimum move buffer size.
+     */
+    public static final int MAX_MOVES = 8;
+
+    private static final int SQUARE_MASK = SQUARES - 1;
+    private static final int KING_SHIFT = 6;
+    private static final int GOAL_SHIFT = 12;
+
+    private static final long[] KING_ATTACKS = new long[SQUARES];
+    private static final long[] KNIGHT_ATTACKS = new long[SQUARES];
+
+    static {
+        int[][] kingMoves = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+        int[][] knightMoves = {{-2, -1}, {-1, -2}, {1, -2}, {2, -1}, {2, 1}, {1, 2}, {-1, 2}, {-2, 1}};
+        for (int square = 0; square < SQUARES; square++) {
+            KING_ATTACKS[square] = attacks(square, kingMoves);
+            KNIGHT_ATTACKS[square] = attacks(square, knightMoves);
+        }
+    }
+
+    private PackedChessState() {
+    }
+
+    private static long attacks(int square, int[][] offsets) {
+        long bitboard = 0L;
+        for (int[] offset : offsets) {
+            int x = squareX(square) + offset[0];
+            int y = squareY(square) + offset[1];
+            if (x >= 0 && x < BOARD_SIZE && y >= 0 && y < BOARD_SIZE) {
+                bitboard |= 1L << square(x, y);
+            }
+        }
+        return bitboard;
+    }
+
+    /**
+     * @param x The x-coordinate of the square.
+     * @param y The y-coordinate of the square.
+     * @return The index of the square.
+     */
+    public static int square(int x, int y) {
+        return x * BOARD_SIZE + y;
+    }
+
+    /**
+     * @param square The index of the square.
+     * @return The x-coordinate of the square.
+     */
+    public static int squareX(int square) {
+        return square >>> 3;
+    }
+
+    /**
+     * @param square The index of the square.
+     * @return The y-coordinate of the square.
+     */
+    public static int squareY(int square) {
+        return square & (BOARD_SIZE - 1);
+    }
+
+    /**
+     * @param square The index of the square.
+     * @return The bitboard of the squares a king standing on {@code square} attacks.
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * @param square The index of the square.
+     * @return The bitboard of the squares a knight standing on {@code square} attacks.
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Packs the given coordinates into a single state.
+     *
+     * @param kingX The x-coordinate of the king.
+     * @param kingY The y-coordinate of the king.
+     * @param knightX The x-coordinate of the knight.
+     * @param knightY The y-coordinate of the knight.
+     * @param goalX The x-coordinate of the goal.
+     * @param goalY The y-coordinate of the goal.
+     * @return The packed state.
+     */
+    public static int pack(int kingX, int kingY, int knightX, int knightY, int goalX, int goalY) {
+        return pack(square(kingX, kingY), square(knightX, knightY), square(goalX, goalY));
+    }
+
+    /**
+     * Packs the given squares into a single state.
+     *
+     * @param kingSquare The square of the king.
+     * @param knightSquare The square of the knight.
+     * @param goalSquare The square of the goal.
+     * @return The packed state.
+     */
+    public static int pack(int kingSquare, int knightSquare, int goalSquare) {
+        return goalSquare << GOAL_SHIFT | kingSquare << KING_SHIFT | knightSquare;
+    }
+
+    /**
+     * @param state The packed state.
+     * @return The square of the king.
+     */
+    public static int kingSquare(int state) {
+        return state >>> KING_SHIFT & SQUARE_MASK;
+    }
+
+    /**
+     * @param state The packed state.
+     * @return The square of the knight.
+     */
+    public static int knightSquare(int state) {
+        return state & SQUARE_MASK;
+    }
+
+    /**
+     * @param state The packed state.
+     * @return The square of the goal.
+     */
+    public static int goalSquare(int state) {
+        return state >>> GOAL_SHIFT & SQUARE_MASK;
+    }
+
+    /**
+     * @param state The packed state.
+     * @return {@code true} if the king is allowed to move, that is, the knight attacks it.
+     */
+    public static boolean canKingMove(int state) {
+        return (KNIGHT_ATTACKS[knightSquare(state)] >>> kingSquare(state) & 1L) != 0;
+    }
+
+    /**
+     * @param state The packed state.
+     * @return {@code true} if the knight is allowed to move, that is, the king attacks it.
+     */
+    public static boolean canKnightMove(int state) {
+        return (KING_ATTACKS[kingSquare(state)] >>> knightSquare(state) & 1L) != 0;
+    }
+
+    /**
+     * @param state The packed state.
+     * @return {@code true} if either piece stands on the goal square.
+     */
+    public static boolean isSolved(int state) {
+        int goal = goalSquare(state);
+        return kingSquare(state) == goal || knightSquare(state) == goal;
+    }
+
+    /**
+     * Writes the legal moves of the given state into the buffer, without allocating.
+     *
+     * @param state The packed state.
+     * @param buffer The buffer to write the packed moves to, at least {@link #MAX_MOVES} long.
+     * @return The number of moves written.
+     */
+    public static int generateMoves(int state, int[] buffer) {
+        long targets;
+        int piece;
+        if (canKingMove(state)) {
+            targets = KING_ATTACKS[kingSquare(state)];
+            piece = KING;
+        } else if (canKnightMove(state)) {
+            targets = KNIGHT_ATTACKS[knightSquare(state)];
+            piece = KNIGHT;
+        } else {
+            return 0;
+        }
+        int count = 0;
+        while (targets != 0) {
+            buffer[count++] = piece | Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+        }
+        return count;
+    }
+
+    /**
+     * Determines if the specified packed move is legal in the given state.
+     *
+     * @param state The packed state.
+     * @param move The packed move.
+     * @return {@code true} if the move is legal, {@code false} otherwise.
+     */
+    public static boolean isLegalMove(int state, int move) {
+        int target = moveTarget(move);
+        if (isKnightMove(move)) {
+            return canKnightMove(state) && (KNIGHT_ATTACKS[knightSquare(state)] >>> target & 1L) != 0;
+        }
+        return canKingMove(state) && (KING_ATTACKS[kingSquare(state)] >>> target & 1L) != 0;
+    }
+
+    /**
+     * Applies the packed move to the given state. The move is assumed to be legal.
+     *
+     * @param state The packed state.
+     * @param move The packed move.
+     * @return The resulting packed state.
+     */
+    public static int applyMove(int state, int move) {
+        if (isKnightMove(move)) {
+            return state & ~SQUARE_MASK | moveTarget(move);
+        }
+        return state & ~(SQUARE_MASK << KING_SHIFT) | moveTarget(move) << KING_SHIFT;
+    }
+
+    /**
+     * @param move The packed move.
+     * @return {@code true} if the move moves the knight, {@code false} if it moves the king.
+     */
+    public static boolean isKnightMove(int move) {
+        return (move & KNIGHT) != 0;
+    }
+
+    /**
+     * @param move The packed move.
+     * @return The target square of the move.
+     */
+    public static int moveTarget(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * Converts a {@link ChessState} to its packed form.
+     *
+     * @param chessState The state to convert.
+     * @return The packed state.
+     * @throws IllegalArgumentException If the state is not played on an 8x8 board.
+     */
+    public static int of(ChessState chessState) {
+        BoardSpec board = chessState.getBoard();
+        if (board.getWidth() != BOARD_SIZE || board.getHeight() != BOARD_SIZE) {
+            throw new IllegalArgumentException("Only 8x8 boards can be packed: " + board);
+        }
+        return pack(chessState.getKingX(), chessState.getKingY(),
+                chessState.getKnightX(), chessState.getKnightY(),
+                chessState.getGoalX(), chessState.getGoalY());
+    }
+
+    /**
+     * Converts a packed state back to a {@link ChessState}.
+     *
+     * @param state The packed state.
+     * @param moveCount The number of moves made so far.
+     * @return The unpacked state.
+     */
+    public static ChessState toChessState(int state, int moveCount) {
+        int king = kingSquare(state);
+        int knight = knightSquare(state);
+        int goal = goalSquare(state);
+        BoardSpec board = goal == BoardSpec.DEFAULT.getGoalSquare()
+                ? BoardSpec.DEFAULT
+                : new BoardSpec(BOARD_SIZE, BOARD_SIZE, squareX(goal), squareY(goal));
+        return new ChessState(board, squareX(king), squareY(king), squareX(knight), squareY(knight), moveCount);
+    }
+
+    /**
+     * Converts a packed move to the destination {@link Move} used by {@link ChessState}.
+     *
+     * @param move The packed move.
+     * @return The equivalent shared {@link Move}.
+     */
+    public static Move toMove(int move) {
+        int target = moveTarget(move);
+        return Move.of(isKnightMove(move) ? Piece.KNIGHT : Piece.KING, squareX(target), squareY(target));
+    }
+
+    /**
+     * Converts a destination {@link Move} used by {@link ChessState} to a packed move.
+     *
+     * @param move The move to convert.
+     * @return The packed move.
+     */
+    public static int fromMove(Move move) {
+        return (move.piece() == Piece.KNIGHT ? KNIGHT : KING) | square(move.x(), move.y());
+    }
+
+    /**
+     * Collects the legal moves of a packed state in the form returned by {@link ChessState#getLegalMoves()}.
+     *
+     * @param state The packed state.
+     * @return A set of legal moves.
+     */
+    public static Set<TwoPhaseMove<Move>> getLegalMoves(int state) {
+        int[] buffer = new int[MAX_MOVES];
+        int count = generateMoves(state, buffer);
+        Set<TwoPhaseMove<Move>> legalMoves = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int from = isKnightMove(buffer[i]) ? knightSquare(state) : kingSquare(state);
+            Move source = Move.of(isKnightMove(buffer[i]) ? Piece.KNIGHT : Piece.KING, squareX(from), squareY(from));
+            legalMoves.add(new TwoPhaseMove<>(source, toMove(buffer[i])));
+        }
+        return legalMoves;
+    }
+}
@@ -0,0 +1,159 @@
+package chess.model;
+
+import chess.logging.HotPathLogger;
+import org.tinylog.Logger;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-writer queue that runs persistence operations, such as saving the game or updating the leaderboard,
+ * off the caller's thread. Operations run one at a time on a virtual thread, in the order they were submitted,
+ * so a load always sees every save submitted before it.
+ * <p>
+ * Operations submitted with a key are coalesced: if an operation with the same key is still waiting to run,
+ * it is replaced by the new one, and both callers get the same future. Saving the same game several times in
+ * a row therefore writes it only once, with the latest state.
+ * <p>
+ * The returned futures complete on the writer thread; UI callers hand their callbacks to their own executor,
+ * for example {@code future.thenAcceptAsync(callback, Platform::runLater)}.
+ */
+public final class PersistenceQueue implements AutoCloseable {
+    private static PersistenceQueue defaultQueue;
+
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("persistence-", 0).factory());
+    private final Map<Object, Pending<?>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @return The queue shared by the application, created on first use.
+     */
+    public static synchronized PersistenceQueue getDefault() {
+        if (defaultQueue == null) {
+            defaultQueue = new PersistenceQueue();
+        }
+        return defaultQueue;
+    }
+
+    /**
+     * Closes the queue shared by the application, if it was created, after running every queued operation.
+     *
+     * @param timeout The maximum time to wait for the queued operations, in milliseconds.
+     */
+    public static synchronized void closeDefault(long timeout) {
+        if (defaultQueue != null) {
+            defaultQueue.close(timeout);
+            defaultQueue = null;
+        }
+    }
+
+    /**
+     * Queues an operation.
+     *
+     * @param operation The operation to run.
+     * @param <T> The type of the result of the operation.
+     * @return A future completed with the result of the operation, or exceptionally if it throws.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> run(operation, future));
+        return future;
+    }
+
+    /**
+     * Queues an operation, replacing the operation with the same key if it has not started yet.
+     *
+     * @param key The key identifying what the operation writes, such as the save file.
+     * @param operation The operation to run.
+     * @param <T> The type of the result of the operation.
+     * @return A future completed with the result of the operation that finally runs for the key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(Object key, Callable<T> operation) {
+        boolean[] created = {false};
+        Pending<T> entry = (Pending<T>) pending.compute(key, (k, current) -> {
+            if (current == null) {
+                created[0] = true;
+                return new Pending<>(operation);
+            }
+            ((Pending<T>) current).operation = operation;
+            return current;
+        });
+        if (created[0]) {
+            executor.execute(() -> {
+                pending.remove(key, entry);
+                run(entry.operation, entry.future);
+            });
+        } else {
+            HotPathLogger.debug("Coalesced persistence operation for {}.", key);
+        }
+        return entry.future;
+    }
+
+    /**
+     * Waits until every operation submitted so far has run.
+     *
+     * @param timeout The maximum time to wait, in milliseconds.
+     * @return {@code true} if the operations finished in time, {@code false} otherwise.
+     */
+    public boolean flush(long timeout) {
+        try {
+            submit(() -> null).get(timeout, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            Logger.warn("Persistence queue was not flushed in " + timeout + " ms.");
+            return false;
+        } catch (Exception e) {
+            Logger.error("Failed to flush persistence queue: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Runs every queued operation and stops the writer thread, waiting at most the given time.
+     *
+     * @param timeout The maximum time to wait, in milliseconds.
+     */
+    public void close(long timeout) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+                Logger.warn("Persistence queue did not finish in " + timeout + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs every queued operation and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        close(Long.MAX_VALUE);
+    }
+
+    private static <T> void run(Callable<T> operation, CompletableFuture<T> future) {
+        try {
+            future.complete(operation.call());
+        } catch (Throwable e) {
+            Logger.error("Persistence operation failed: " + e);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static final class Pending<T> {
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private volatile Callable<T> operation;
+
+        Pending(Callable<T> operation) {
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package chess.model;
+
+/**
+ * The pieces on the board.
+ */
+public enum Piece {
+    /**
+     * The king, which may only move while the knight attacks it.
+     */
+    KING("King"),
+
+    /**
+     * The knight, which may only move while the king attacks it.
+     */
+    KNIGHT("Knight");
+
+    private final String displayName;
+
+    Piece(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return The name of the piece as shown to the user, e.g. "King".
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    /**
+     * Looks up a piece by its display name.
+     *
+     * @param name The display name of the piece, e.g. "Knight".
+     * @return The piece with the given name.
+     * @throws IllegalArgumentException If no piece has the given name.
+     */
+    public static Piece fromName(String name) {
+        for (Piece piece : values()) {
+            if (piece.displayName.equals(name)) {
+                return piece;
+            }
+        }
+        throw new IllegalArgumentException("Unknown piece: " + name);
+    }
+}
@@ -0,0 +1,147 @@
+package chess.model;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Search tree of placements, each encoded as {@code kingSquare * squares + knightSquare}, with the depth it was
+ * reached at and the placement it was reached from. An open-addressing hash map of primitives, so searches
+ * on large boards only pay for the placements they visit.
+ */
+final class PlacementMap {
+    static final int NONE = -1;
+
+    private final BoardSpec board;
+    private final int squares;
+    private int[] keys;
+    private int[] parents;
+    private int[] depths;
+    private int mask;
+    private int shift;
+    private int size;
+
+    PlacementMap(BoardSpec board) {
+        this.board = board;
+        this.squares = board.getSquares();
+        allocate(1 << 10);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, NONE);
+        parents = new int[capacity];
+        depths = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slot(int placement) {
+        // Fibonacci hashing: the high bits of the product depend on every bit of the placement
+        int slot = placement * 0x9E3779B9 >>> shift;
+        while (keys[slot] != NONE && keys[slot] != placement) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    int placement(int kingSquare, int knightSquare) {
+        return kingSquare * squares + knightSquare;
+    }
+
+    int kingSquare(int placement) {
+        return placement / squares;
+    }
+
+    int knightSquare(int placement) {
+        return placement % squares;
+    }
+
+    boolean contains(int placement) {
+        return keys[slot(placement)] == placement;
+    }
+
+    /**
+     * @return The depth of the placement, or {@link #NONE} if it was not reached.
+     */
+    int depth(int placement) {
+        int slot = slot(placement);
+        return keys[slot] == placement ? depths[slot] : NONE;
+    }
+
+    /**
+     * Records that a placement was reached, replacing the way it was reached before, if any.
+     */
+    void put(int placement, int parent, int depth) {
+        int slot = slot(placement);
+        if (keys[slot] == NONE) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+                slot = slot(placement);
+            }
+            keys[slot] = placement;
+            size++;
+        }
+        parents[slot] = parent;
+        depths[slot] = depth;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldParents = parents;
+        int[] oldDepths = depths;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != NONE) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                parents[slot] = oldParents[i];
+                depths[slot] = oldDepths[i];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The moves from the root of the tree to the placement.
+     */
+    List<TwoPhaseMove<Move>> pathTo(int placement) {
+        List<TwoPhaseMove<Move>> moves = new ArrayList<>();
+        for (int child = placement, parent = parents[slot(child)]; parent != NONE;
+             child = parent, parent = parents[slot(child)]) {
+            moves.add(move(parent, child));
+        }
+        Collections.reverse(moves);
+        return moves;
+    }
+
+    /**
+     * @return The moves from the placement to the root of a tree grown backwards from the root.
+     */
+    List<TwoPhaseMove<Move>> pathFrom(int placement) {
+        List<TwoPhaseMove<Move>> moves = new ArrayList<>();
+        for (int from = placement, to = parents[slot(from)]; to != NONE; from = to, to = parents[slot(from)]) {
+            moves.add(move(from, to));
+        }
+        return moves;
+    }
+
+    private TwoPhaseMove<Move> move(int from, int to) {
+        int fromKing = kingSquare(from);
+        int toKing = kingSquare(to);
+        if (fromKing != toKing) {
+            return new TwoPhaseMove<>(Move.of(Piece.KING, board.squareX(fromKing), board.squareY(fromKing)),
+                    Move.of(Piece.KING, board.squareX(toKing), board.squareY(toKing)));
+        }
+        int fromKnight = knightSquare(from);
+        int toKnight = knightSquare(to);
+        return new TwoPhaseMove<>(Move.of(Piece.KNIGHT, board.squareX(fromKnight), board.squareY(fromKnight)),
+                Move.of(Piece.KNIGHT, board.squareX(toKnight), board.squareY(toKnight)));
+    }
+}
@@ -0,0 +1,229 @@
+package chess.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Sorted set that also answers order-statistic queries: the rank of an element and the element at a rank.
+ * It is a treap whose nodes are augmented with the size of their subtree, so insertion, removal,
+ * {@link #rank} and {@link #get} take {@code O(log n)} expected time, and {@link #range} takes
+ * {@code O(log n + limit)}. Not thread-safe.
+ *
+ * @param <T> The type of the elements.
+ */
+final class RankedSet<T> {
+    private final Comparator<? super T> comparator;
+    private final Random random = new Random();
+    private Node<T> root;
+
+    /**
+     * Constructs an empty set ordered by the given comparator.
+     *
+     * @param comparator The order of the elements; elements comparing equal are the same element.
+     */
+    RankedSet(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Removes every element.
+     */
+    void clear() {
+        root = null;
+    }
+
+    /**
+     * @param value The element to look for.
+     * @return {@code true} if the set contains the element.
+     */
+    boolean contains(T value) {
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the element unless the set already contains it.
+     *
+     * @param value The element to add.
+     * @return {@code true} if the element was added.
+     */
+    boolean add(T value) {
+        if (contains(value)) {
+            return false;
+        }
+        Node<T>[] parts = split(root, value, false);
+        root = merge(merge(parts[0], new Node<>(value, random.nextInt())), parts[1]);
+        return true;
+    }
+
+    /**
+     * Removes the element if the set contains it.
+     *
+     * @param value The element to remove.
+     * @return {@code true} if the element was removed.
+     */
+    boolean remove(T value) {
+        if (!contains(value)) {
+            return false;
+        }
+        Node<T>[] lessAndRest = split(root, value, false);
+        Node<T>[] equalAndGreater = split(lessAndRest[1], value, true);
+        root = merge(lessAndRest[0], equalAndGreater[1]);
+        return true;
+    }
+
+    /**
+     * @param value An element, not necessarily in the set.
+     * @return The number of elements smaller than {@code value}, which is the 0-based rank of {@code value}
+     *         if the set contains it.
+     */
+    int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp == 0) {
+                return rank + size(node.left);
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * @param index The 0-based rank of the element.
+     * @return The element at the given rank.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size.
+     */
+    T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns at most {@code limit} elements in order, starting at the given rank.
+     *
+     * @param offset The 0-based rank of the first element.
+     * @param limit The maximum number of elements to return.
+     * @return The elements, in order.
+     */
+    List<T> range(int offset, int limit) {
+        int from = Math.max(0, offset);
+        int to = (int) Math.min(size(), (long) from + Math.max(0, limit));
+        List<T> values = new ArrayList<>(Math.max(0, to - from));
+        collect(root, 0, from, to, values);
+        return values;
+    }
+
+    private static <T> void collect(Node<T> node, int base, int from, int to, List<T> values) {
+        if (node == null || from >= to) {
+            return;
+        }
+        int index = base + size(node.left);
+        if (from < index) {
+            collect(node.left, base, from, to, values);
+        }
+        if (from <= index && index < to) {
+            values.add(node.value);
+        }
+        if (to > index + 1) {
+            collect(node.right, index + 1, from, to, values);
+        }
+    }
+
+    /**
+     * Splits the tree into the elements before {@code value} and the rest. With {@code inclusive},
+     * elements equal to {@code value} go to the first part as well.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<T>[] split(Node<T> node, T value, boolean inclusive) {
+        if (node == null) {
+            return (Node<T>[]) new Node<?>[]{null, null};
+        }
+        int cmp = comparator.compare(node.value, value);
+        if (cmp < 0 || (inclusive && cmp == 0)) {
+            Node<T>[] parts = split(node.right, value, inclusive);
+            node.right = parts[0];
+            node.update();
+            parts[0] = node;
+            return parts;
+        }
+        Node<T>[] parts = split(node.left, value, inclusive);
+        node.left = parts[1];
+        node.update();
+        parts[1] = node;
+        return parts;
+    }
+
+    private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<T> {
+        private final T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package chess.model;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Store of saved games keyed by username and slot, kept in a single memory-mapped file of fixed-size records.
+ * <p>
+ * The file starts with a {@value #HEADER_SIZE}-byte header (magic {@code "CHSV"}, version, number of records)
+ * followed by {@value #RECORD_SIZE}-byte records:
+ * <pre>
+ *  0  flags (1 byte: 0 if the record is free, 1 for the first record of a save, 2 for the others)
+ *  1  slot (1 byte)
+ *  2  length of the data in this record (1 byte)
+ *  3  reserved (1 byte)
+ *  4  generation of the save (4 bytes)
+ *  8  next record of the save, or -1 (4 bytes)
+ * 12  data, zero-padded ({@value #DATA_SIZE} bytes)
+ * 60  CRC-32 of bytes 0-59 (4 bytes)
+ * </pre>
+ * The data of a save, split over as many records as it needs, is the length of the username (2 bytes),
+ * the username in UTF-8, and the saved game with its moves, as encoded by {@link GameStateCodec#encode}.
+ * <p>
+ * The index from username and slot to record is rebuilt in memory when the store is opened, so a lookup
+ * costs no I/O. A save never overwrites the records it replaces: it is written to free records first, its first
+ * record last, and only then are the old records released, so a crash leaves the old or the new save. If both
+ * survive, the one with the higher generation wins. The file grows by remapping it at twice its capacity.
+ * <p>
+ * Any number of threads may load concurrently; saves are exclusive.
+ */
+public final class SaveSlotStore implements AutoCloseable {
+    /**
+     * The longest username that can be stored, in UTF-8 bytes.
+     */
+    public static final int MAX_USERNAME_BYTES = 0xFFFF;
+
+    /**
+     * The highest slot number.
+     */
+    public static final int MAX_SLOT = 255;
+
+    /**
+     * The size of the file header, in bytes.
+     */
+    public static final int HEADER_SIZE = 16;
+
+    /**
+     * The size of a record, in bytes.
+     */
+    public static final int RECORD_SIZE = 64;
+
+    /**
+     * The number of bytes of the data of a save held by a record.
+     */
+    public static final int DATA_SIZE = 48;
+
+    private static final byte[] MAGIC = "CHSV".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int COUNT_OFFSET = 8;
+    private static final byte FREE = 0;
+    private static final byte FIRST = 1;
+    private static final byte CONTINUATION = 2;
+    private static final int NONE = -1;
+    private static final int LENGTH_OFFSET = 2;
+    private static final int GENERATION_OFFSET = 4;
+    private static final int NEXT_OFFSET = 8;
+    private static final int DATA_OFFSET = 12;
+    private static final int CRC_OFFSET = DATA_OFFSET + DATA_SIZE;
+    private static final Map<Path, SaveSlotStore> STORES = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, TreeMap<Integer, Integer>> index = new HashMap<>();
+    private final Deque<Integer> freeRecords = new ArrayDeque<>();
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int count;
+    private int generation;
+
+    /**
+     * Opens the store in the given file, creating it if needed, bypassing the shared instances of {@link #forPath}.
+     *
+     * @param path The path of the store.
+     * @throws IOException If the file cannot be opened or is not a save store.
+     */
+    SaveSlotStore(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            open();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the store in the given file, opening it on first use.
+     * Every caller using the same path shares the same store.
+     *
+     * @param path The path of the store.
+     * @return The store.
+     * @throws UncheckedIOException If the file cannot be opened or is not a save store.
+     */
+    public static SaveSlotStore forPath(Path path) {
+        return STORES.computeIfAbsent(path.toAbsolutePath().normalize(), key -> {
+            try {
+                return new SaveSlotStore(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * @return The path of the store.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Saves a game into a slot of a user, replacing the game saved there before.
+     *
+     * @param username The username of the player.
+     * @param slot The slot, between 0 and {@link #MAX_SLOT}.
+     * @param gameState The game to save.
+     * @throws IllegalArgumentException If the username is too long, the slot is out of range,
+     *         or the game cannot be encoded.
+     */
+    public void save(String username, int slot, GameSaverLoader.GameState gameState) {
+        checkSlot(slot);
+        byte[] data = encodeData(username, GameStateCodec.encode(gameState));
+
+        lock.writeLock().lock();
+        try {
+            int[] records = new int[(data.length + DATA_SIZE - 1) / DATA_SIZE];
+            for (int i = 0; i < records.length; i++) {
+                records[i] = allocate();
+            }
+            int saveGeneration = ++generation;
+            // The first record makes the save visible, so it is written last
+            for (int i = records.length - 1; i >= 0; i--) {
+                int from = i * DATA_SIZE;
+                int length = Math.min(DATA_SIZE, data.length - from);
+                ByteBuffer bytes = ByteBuffer.allocate(RECORD_SIZE);
+                bytes.put(0, i == 0 ? FIRST : CONTINUATION)
+                        .put(1, (byte) slot)
+                        .put(LENGTH_OFFSET, (byte) length)
+                        .putInt(GENERATION_OFFSET, saveGeneration)
+                        .putInt(NEXT_OFFSET, i + 1 < records.length ? records[i + 1] : NONE)
+                        .put(DATA_OFFSET, data, from, length)
+                        .putInt(CRC_OFFSET, checksum(bytes.array()));
+                int offset = offset(records[i]);
+                buffer.put(offset, bytes.array());
+                force(offset, RECORD_SIZE);
+            }
+
+            int record = records[0];
+            Integer previous = index.computeIfAbsent(username, key -> new TreeMap<>()).put(slot, record);
+            if (previous != null) {
+                release(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the game saved in a slot of a user.
+     *
+     * @param username The username of the player.
+     * @param slot The slot.
+     * @return The saved game, or {@code null} if nothing is saved in the slot.
+     * @throws IOException If the saved game cannot be decoded.
+     */
+    public GameSaverLoader.GameState load(String username, int slot) throws IOException {
+        byte[] data;
+        lock.readLock().lock();
+        try {
+            Integer record = slots(username).get(slot);
+            if (record == null) {
+                return null;
+            }
+            data = readData(record);
+        } finally {
+            lock.readLock().unlock();
+        }
+        int payloadOffset = Short.BYTES + ((data[0] & 0xFF) << 8 | data[1] & 0xFF);
+        return GameStateCodec.decode(Arrays.copyOfRange(data, payloadOffset, data.length));
+    }
+
+    /**
+     * @param username The username of the player.
+     * @return The slots the user has saved games in, in ascending order.
+     */
+    public List<Integer> listSlots(String username) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(slots(username).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the game saved in a slot of a user.
+     *
+     * @param username The username of the player.
+     * @param slot The slot.
+     * @return {@code true} if a game was deleted.
+     */
+    public boolean delete(String username, int slot) {
+        lock.writeLock().lock();
+        try {
+            TreeMap<Integer, Integer> slots = index.get(username);
+            Integer record = slots == null ? null : slots.remove(slot);
+            if (record == null) {
+                return false;
+            }
+            if (slots.isEmpty()) {
+                index.remove(username);
+            }
+            release(record);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the store to disk and closes the file. The store cannot be used afterwards.
+     *
+     * @throws IOException If closing the file fails.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            STORES.remove(path.toAbsolutePath().normalize(), this);
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            capacity = INITIAL_CAPACITY;
+            map();
+            buffer.put(0, MAGIC).putInt(MAGIC.length, VERSION).putInt(COUNT_OFFSET, 0);
+            force(0, HEADER_SIZE);
+            return;
+        }
+        if (size < HEADER_SIZE) {
+            throw new IOException("Not a save store: " + path);
+        }
+        capacity = (int) Math.max(INITIAL_CAPACITY, (size - HEADER_SIZE) / RECORD_SIZE);
+        map();
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a save store: " + path);
+        }
+        int version = buffer.getInt(MAGIC.length);
+        if (version != VERSION) {
+            throw new IOException("Unsupported save store version: " + version);
+        }
+        count = Math.min(buffer.getInt(COUNT_OFFSET), capacity);
+
+        boolean[] valid = new boolean[count];
+        byte[] record = new byte[RECORD_SIZE];
+        for (int i = 0; i < count; i++) {
+            buffer.get(offset(i), record);
+            if (record[0] != FREE && ByteBuffer.wrap(record).getInt(CRC_OFFSET) != checksum(record)) {
+                Logger.warn("Skipping corrupt save record " + i + " in " + path);
+            } else {
+                valid[i] = record[0] != FREE;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (valid[i] && buffer.get(offset(i)) == FIRST && isComplete(i, valid)) {
+                indexSave(i);
+            }
+        }
+        boolean[] used = new boolean[count];
+        int saves = 0;
+        for (TreeMap<Integer, Integer> slots : index.values()) {
+            saves += slots.size();
+            for (int first : slots.values()) {
+                for (int i = first; i != NONE; i = buffer.getInt(offset(i) + NEXT_OFFSET)) {
+                    used[i] = true;
+                }
+            }
+        }
+        // Free the records of replaced, incomplete and corrupt saves, so none of them can come back
+        for (int i = count - 1; i >= 0; i--) {
+            if (!used[i]) {
+                if (buffer.get(offset(i)) != FREE) {
+                    buffer.put(offset(i), FREE);
+                    force(offset(i), 1);
+                }
+                freeRecords.push(i);
+            }
+        }
+        Logger.info("Opened save store with " + saves + " saves.");
+    }
+
+    /**
+     * @return {@code true} if every record of the save starting at the given record is intact.
+     */
+    private boolean isComplete(int first, boolean[] valid) {
+        int saveGeneration = buffer.getInt(offset(first) + GENERATION_OFFSET);
+        int records = 1;
+        for (int i = buffer.getInt(offset(first) + NEXT_OFFSET); i != NONE; i = buffer.getInt(offset(i) + NEXT_OFFSET)) {
+            if (i < 0 || i >= count || !valid[i] || records++ > count
+                    || buffer.get(offset(i)) != CONTINUATION
+                    || buffer.getInt(offset(i) + GENERATION_OFFSET) != saveGeneration) {
+                Logger.warn("Skipping incomplete save at record " + first + " in " + path);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indexes the save starting at the given record, unless a newer save of the same slot is already indexed.
+     */
+    private void indexSave(int record) {
+        byte[] data = readData(record);
+        int slot = buffer.get(offset(record) + 1) & 0xFF;
+        int recordGeneration = buffer.getInt(offset(record) + GENERATION_OFFSET);
+        String username = new String(data, Short.BYTES, (data[0] & 0xFF) << 8 | data[1] & 0xFF, StandardCharsets.UTF_8);
+        generation = Math.max(generation, recordGeneration);
+
+        TreeMap<Integer, Integer> slots = index.computeIfAbsent(username, key -> new TreeMap<>());
+        Integer other = slots.get(slot);
+        // Both the old and the new save survived a crash; keep the newer one.
+        if (other == null || buffer.getInt(offset(other) + GENERATION_OFFSET) < recordGeneration) {
+            slots.put(slot, record);
+        }
+    }
+
+    private byte[] readData(int first) {
+        int length = 0;
+        for (int i = first; i != NONE; i = buffer.getInt(offset(i) + NEXT_OFFSET)) {
+            length += buffer.get(offset(i) + LENGTH_OFFSET) & 0xFF;
+        }
+        byte[] data = new byte[length];
+        int position = 0;
+        for (int i = first; i != NONE; i = buffer.getInt(offset(i) + NEXT_OFFSET)) {
+            int chunk = buffer.get(offset(i) + LENGTH_OFFSET) & 0xFF;
+            buffer.get(offset(i) + DATA_OFFSET, data, position, chunk);
+            position += chunk;
+        }
+        return data;
+    }
+
+    private int allocate() {
+        if (!freeRecords.isEmpty()) {
+            return freeRecords.pop();
+        }
+        if (count == capacity) {
+            capacity *= 2;
+            try {
+                map();
+            } catch (IOException e) {
+                capacity /= 2;
+                throw new UncheckedIOException(e);
+            }
+        }
+        int record = count++;
+        buffer.putInt(COUNT_OFFSET, count);
+        force(0, HEADER_SIZE);
+        return record;
+    }
+
+    /**
+     * Releases every record of the save starting at the given record, the first one first,
+     * so a crash never leaves the save with missing records.
+     */
+    private void release(int first) {
+        for (int i = first; i != NONE; ) {
+            int next = buffer.getInt(offset(i) + NEXT_OFFSET);
+            buffer.put(offset(i), FREE);
+            force(offset(i), 1);
+            freeRecords.push(i);
+            i = next;
+        }
+    }
+
+    private void map() throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+    }
+
+    private void force(int offset, int length) {
+        if (DurableFiles.getFsyncPolicy() != DurableFiles.FsyncPolicy.NEVER) {
+            buffer.force(offset, length);
+        }
+    }
+
+    private TreeMap<Integer, Integer> slots(String username) {
+        TreeMap<Integer, Integer> slots = index.get(username);
+        return slots == null ? new TreeMap<>() : slots;
+    }
+
+    private static int offset(int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    private static byte[] encodeData(String username, byte[] payload) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        if (name.length == 0 || name.length > MAX_USERNAME_BYTES) {
+            throw new IllegalArgumentException("Username must be 1 to " + MAX_USERNAME_BYTES + " bytes long");
+        }
+        return ByteBuffer.allocate(Short.BYTES + name.length + payload.length)
+                .putShort((short) name.length)
+                .put(name)
+                .put(payload)
+                .array();
+    }
+
+    private static void checkSlot(int slot) {
+        if (slot < 0 || slot > MAX_SLOT) {
+            throw new IllegalArgumentException("Slot must be between 0 and " + MAX_SLOT + ": " + slot);
+        }
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, CRC_OFFSET);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,119 @@
+package chess.model;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of solving a chess puzzle: the move sequence leading to the goal, if one exists,
+ * together with statistics about the search that produced it.
+ * <p>
+ * A search that ran out of its budget yields an incomplete solution, which only tells how long
+ * the solution is at least.
+ */
+public class Solution {
+    private final List<TwoPhaseMove<Move>> moves;
+    private final boolean solved;
+    private final boolean complete;
+    private final int lowerBound;
+    private final long nodesGenerated;
+    private final long nodesExpanded;
+
+    /**
+     * Constructs a new solution.
+     *
+     * @param moves The moves leading from the initial state to the goal, empty if no solution exists.
+     * @param solved Whether a solution was found.
+     * @param nodesGenerated The number of distinct states discovered during the search.
+     * @param nodesExpanded The number of states whose successors were generated.
+     */
+    public Solution(List<TwoPhaseMove<Move>> moves, boolean solved, long nodesGenerated, long nodesExpanded) {
+        this(moves, solved, true, solved ? moves.size() : -1, nodesGenerated, nodesExpanded);
+    }
+
+    private Solution(List<TwoPhaseMove<Move>> moves, boolean solved, boolean complete, int lowerBound,
+                     long nodesGenerated, long nodesExpanded) {
+        this.moves = Collections.unmodifiableList(moves);
+        this.solved = solved;
+        this.complete = complete;
+        this.lowerBound = lowerBound;
+        this.nodesGenerated = nodesGenerated;
+        this.nodesExpanded = nodesExpanded;
+    }
+
+    /**
+     * Constructs the result of a search stopped before it found a solution or proved that none exists.
+     *
+     * @param lowerBound The number of moves any solution was proven to take at least.
+     * @param nodesGenerated The number of states discovered during the search.
+     * @param nodesExpanded The number of states whose successors were generated.
+     * @return An unsolved, incomplete solution.
+     */
+    public static Solution incomplete(int lowerBound, long nodesGenerated, long nodesExpanded) {
+        return new Solution(List.of(), false, false, lowerBound, nodesGenerated, nodesExpanded);
+    }
+
+    /**
+     * @return The moves leading from the initial state to the goal, empty if no solution exists.
+     */
+    public List<TwoPhaseMove<Move>> getMoves() {
+        return moves;
+    }
+
+    /**
+     * @return {@code true} if a solution was found, {@code false} otherwise.
+     */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    /**
+     * @return {@code true} if the search finished, {@code false} if it was stopped by its budget.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return The number of moves in the solution, or -1 if no solution exists.
+     */
+    public int getLength() {
+        return solved ? moves.size() : -1;
+    }
+
+    /**
+     * @return The number of moves any solution takes at least: the length of the solution if one was found,
+     *         -1 if none exists, or the best bound proven before an incomplete search was stopped.
+     */
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * @return The number of distinct states discovered during the search.
+     */
+    public long getNodesGenerated() {
+        return nodesGenerated;
+    }
+
+    /**
+     * @return The number of states whose successors were generated.
+     */
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * @return A string representation of the solution.
+     */
+    @Override
+    public String toString() {
+        if (!complete) {
+            return String.format("Solution: incomplete, at least %d moves, %d nodes generated, %d nodes expanded",
+                    lowerBound, nodesGenerated, nodesExpanded);
+        }
+        return String.format("Solution: %d moves, %d nodes generated, %d nodes expanded",
+                getLength(), nodesGenerated, nodesExpanded);
+    }
+}
@@ -0,0 +1,168 @@
+package chess.model;
+
+import org.tinylog.Logger;
+
+import java.util.List;
+
+/**
+ * Verifies leaderboard submissions by replaying their moves, instead of trusting a reported move count.
+ * <p>
+ * A submission is the sequence of moves of a game, packed as by {@link MoveHistory}. It is replayed from the
+ * start position with {@link ChessState#makeMove(Move)}, which enforces the phase, bounds and movement rules,
+ * and accepted only if every move is legal, the last move solves the game and no earlier move does, and it is
+ * not shorter than the optimal solution given by the {@link DistanceTable}. Only accepted submissions are
+ * recorded, with their number of moves as the score.
+ * <p>
+ * Each thread replays on its own reusable {@link ChessState}, and moves are shared {@link Move} instances,
+ * so a verification allocates nothing and batches are verified in parallel.
+ */
+public class SubmissionVerifier {
+    /**
+     * The outcome of verifying a submission.
+     */
+    public enum Verdict {
+        /**
+         * Every move is legal and the game is solved by the last one.
+         */
+        ACCEPTED,
+        /**
+         * A move is malformed, starts from where its piece is not, is out of phase or does not follow the
+         * movement of its piece.
+         */
+        ILLEGAL_MOVE,
+        /**
+         * The moves are legal, but the game is not solved by the last one.
+         */
+        NOT_SOLVED,
+        /**
+         * The game is solved before the last move.
+         */
+        MOVES_AFTER_SOLVED,
+        /**
+         * There are fewer moves than in the optimal solution.
+         */
+        SHORTER_THAN_OPTIMUM
+    }
+
+    /**
+     * A game submitted for the leaderboard.
+     *
+     * @param username The username of the player.
+     * @param moves The moves of the game, packed as by {@link MoveHistory}.
+     */
+    public record Submission(String username, int[] moves) {
+    }
+
+    private final LeaderboardManager leaderboardManager;
+    private final BoardSpec board;
+    private final int kingX, kingY;
+    private final int knightX, knightY;
+    private final int optimum;
+    private final ThreadLocal<ChessState> replayState;
+
+    /**
+     * Constructs a verifier of games played from the standard start position on the standard board.
+     *
+     * @param leaderboardManager The leaderboard accepted submissions are recorded in.
+     */
+    public SubmissionVerifier(LeaderboardManager leaderboardManager) {
+        this(leaderboardManager, new ChessState(2, 1, 2, 2, 0));
+    }
+
+    /**
+     * Constructs a verifier of games played from the specified start position.
+     *
+     * @param leaderboardManager The leaderboard accepted submissions are recorded in.
+     * @param start The position every game starts from; its board and goal are used for the replay.
+     * @throws IllegalArgumentException If the goal cannot be reached from the start position.
+     */
+    public SubmissionVerifier(LeaderboardManager leaderboardManager, ChessState start) {
+        this.leaderboardManager = leaderboardManager;
+        this.board = start.getBoard();
+        this.kingX = start.getKingX();
+        this.kingY = start.getKingY();
+        this.knightX = start.getKnightX();
+        this.knightY = start.getKnightY();
+        this.optimum = DistanceTable.forBoard(board).getDistance(start);
+        if (optimum == DistanceTable.UNREACHABLE) {
+            throw new IllegalArgumentException("The goal cannot be reached from " + start);
+        }
+        this.replayState = ThreadLocal.withInitial(() -> new ChessState(board, kingX, kingY, knightX, knightY, 0));
+    }
+
+    /**
+     * @return The number of moves of the optimal solution, the best score a submission can have.
+     */
+    public int getOptimum() {
+        return optimum;
+    }
+
+    /**
+     * Replays a game from the start position without recording it.
+     *
+     * @param moves The moves of the game, packed as by {@link MoveHistory}.
+     * @return The verdict of the replay.
+     */
+    public Verdict verify(int[] moves) {
+        if (moves.length < optimum) {
+            return Verdict.SHORTER_THAN_OPTIMUM;
+        }
+        ChessState state = replayState.get();
+        state.reset(kingX, kingY, knightX, knightY);
+        for (int move : moves) {
+            if (state.isSolved()) {
+                return Verdict.MOVES_AFTER_SOLVED;
+            }
+            if (!MoveHistory.isWellFormed(move)) {
+                return Verdict.ILLEGAL_MOVE;
+            }
+            Move to = MoveHistory.to(move);
+            if (!state.getPlacement(to.piece()).equals(MoveHistory.from(move)) || !state.makeMove(to)) {
+                return Verdict.ILLEGAL_MOVE;
+            }
+        }
+        return state.isSolved() ? Verdict.ACCEPTED : Verdict.NOT_SOLVED;
+    }
+
+    /**
+     * Verifies a game and records it on the leaderboard if it is accepted.
+     *
+     * @param username The username of the player.
+     * @param moves The moves of the game, packed as by {@link MoveHistory}.
+     * @return The verdict of the replay.
+     */
+    public Verdict submit(String username, int[] moves) {
+        Verdict verdict = verify(moves);
+        if (verdict == Verdict.ACCEPTED) {
+            leaderboardManager.updateLeaderboard(username, moves.length);
+        } else {
+            Logger.warn("Rejected submission of " + username + ": " + verdict);
+        }
+        return verdict;
+    }
+
+    /**
+     * Verifies a batch of games in parallel, then records the accepted ones on the leaderboard, in order.
+     *
+     * @param submissions The games to verify.
+     * @return The verdicts, in the order of the submissions.
+     */
+    public Verdict[] submitAll(List<Submission> submissions) {
+        Verdict[] verdicts = submissions.parallelStream()
+                .map(submission -> verify(submission.moves()))
+                .toArray(Verdict[]::new);
+        int rejected = 0;
+        for (int i = 0; i < verdicts.length; i++) {
+            Submission submission = submissions.get(i);
+            if (verdicts[i] == Verdict.ACCEPTED) {
+                leaderboardManager.updateLeaderboard(submission.username(), submission.moves().length);
+            } else {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            Logger.warn("Rejected " + rejected + " of " + verdicts.length + " submissions.");
+        }
+        return verdicts;
+    }
+}
@@ -0,0 +1,180 @@
+package chess.model;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size cache of search results keyed by the {@link Zobrist} hash of a position, for any search over
+ * {@link ChessState}s: a value (typically a distance or a bound) and the depth it was searched to.
+ * <p>
+ * Entries live in parallel primitive arrays sized once from a memory budget, and collisions are resolved by
+ * open addressing over a window of {@value #PROBE_LENGTH} consecutive slots, so lookups and stores allocate
+ * nothing. Storing a key already in the window overwrites it; otherwise the first empty slot is taken, and
+ * once the window is full, the entry searched to the smallest depth is replaced if the new entry was searched
+ * at least as deep. A full table therefore forgets shallow results first and never grows.
+ * <p>
+ * Only the 64-bit hash of a position is kept, so two positions whose hashes collide share an entry; with random
+ * 64-bit keys, this is negligible for the few thousand positions of a board. Positions on different boards
+ * must not share a table. The table is not thread-safe.
+ */
+public final class TranspositionTable {
+    /**
+     * The number of bytes an entry takes.
+     */
+    public static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES + Short.BYTES;
+
+    /**
+     * The number of consecutive slots a key may be stored in; the keys of a window take 64 bytes, about a cache line.
+     */
+    public static final int PROBE_LENGTH = 8;
+
+    /**
+     * The value reported for keys that are not in the table.
+     */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    /**
+     * The largest depth an entry can be stored with.
+     */
+    public static final int MAX_DEPTH = Short.MAX_VALUE - 1;
+
+    private final int mask;
+    private final long[] keys;
+    private final int[] values;
+    // Depth + 1 of every slot, 0 for empty slots
+    private final short[] depths;
+    private int size;
+
+    /**
+     * Constructs an empty table of the largest power-of-two capacity that fits in the memory budget,
+     * but at least {@value #PROBE_LENGTH} entries.
+     *
+     * @param memoryBytes The memory the entries may take, in bytes.
+     * @throws IllegalArgumentException If the budget is negative or the capacity would exceed {@code 2^30}.
+     */
+    public TranspositionTable(long memoryBytes) {
+        if (memoryBytes < 0 || memoryBytes / ENTRY_BYTES > 1 << 30) {
+            throw new IllegalArgumentException("Invalid memory budget: " + memoryBytes);
+        }
+        int capacity = Math.max(PROBE_LENGTH, Integer.highestOneBit((int) (memoryBytes / ENTRY_BYTES)));
+        mask = capacity - 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        depths = new short[capacity];
+    }
+
+    /**
+     * Constructs a table with four slots for every position of the board, so that every position fits
+     * without replacing another. This takes about 230 KB on the standard board, and grows with the fourth
+     * power of the board size; use a fixed budget on large boards.
+     *
+     * @param board The board the positions are on.
+     * @return An empty table.
+     */
+    public static TranspositionTable forBoard(BoardSpec board) {
+        long positions = (long) board.getSquares() * board.getSquares();
+        return new TranspositionTable(4 * positions * ENTRY_BYTES);
+    }
+
+    private int home(long key) {
+        return (int) (key ^ key >>> 32) & mask;
+    }
+
+    private int find(long key) {
+        for (int i = 0, slot = home(key); i < PROBE_LENGTH; i++, slot = slot + 1 & mask) {
+            if (depths[slot] != 0 && keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Looks up the value stored for a key.
+     *
+     * @param key The hash of the position.
+     * @return The value, or {@link #NOT_FOUND} if the key is not in the table.
+     */
+    public int get(long key) {
+        int slot = find(key);
+        return slot < 0 ? NOT_FOUND : values[slot];
+    }
+
+    /**
+     * Looks up the depth the value stored for a key was searched to.
+     *
+     * @param key The hash of the position.
+     * @return The depth, or {@code -1} if the key is not in the table.
+     */
+    public int getDepth(long key) {
+        int slot = find(key);
+        return slot < 0 ? -1 : depths[slot] - 1;
+    }
+
+    /**
+     * @param key The hash of the position.
+     * @return {@code true} if the key is in the table.
+     */
+    public boolean contains(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Stores a value for a key, following the replacement policy of the table.
+     *
+     * @param key The hash of the position.
+     * @param value The value to store.
+     * @param depth The depth the value was searched to, between {@code 0} and {@link #MAX_DEPTH}.
+     * @return {@code true} if the value was stored, {@code false} if the window of the key is full of deeper entries.
+     * @throws IllegalArgumentException If the depth is out of range.
+     */
+    public boolean put(long key, int value, int depth) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Invalid depth: " + depth);
+        }
+        int victim = -1;
+        for (int i = 0, slot = home(key); i < PROBE_LENGTH; i++, slot = slot + 1 & mask) {
+            if (depths[slot] == 0) {
+                if (victim < 0 || depths[victim] != 0) {
+                    victim = slot;
+                }
+            } else if (keys[slot] == key) {
+                victim = slot;
+                break;
+            } else if (victim < 0 || depths[victim] != 0 && depths[slot] < depths[victim]) {
+                victim = slot;
+            }
+        }
+        if (depths[victim] != 0 && keys[victim] != key && depths[victim] - 1 > depth) {
+            return false;
+        }
+        if (depths[victim] == 0) {
+            size++;
+        }
+        keys[victim] = key;
+        values[victim] = value;
+        depths[victim] = (short) (depth + 1);
+        return true;
+    }
+
+    /**
+     * @return The number of entries in the table.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of entries the table can hold.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        Arrays.fill(depths, (short) 0);
+        size = 0;
+    }
+}
@@ -0,0 +1,53 @@
+package chess.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys of the placements of the pieces: a random 64-bit key for every piece on every square,
+ * so the hash of a position is the XOR of the keys of its placements and a move updates it with two XORs.
+ * <p>
+ * The keys depend only on the coordinates, not on the board, so the hashes of positions on different boards
+ * collide exactly when their placements are equal, just like {@link ChessState#equals(Object)}.
+ * They are generated from a fixed seed and therefore equal in every run.
+ */
+public final class Zobrist {
+    private static final int COORDINATE_MASK = BoardSpec.MAX_SIZE - 1;
+    private static final int COORDINATE_BITS = Integer.numberOfTrailingZeros(BoardSpec.MAX_SIZE);
+    private static final int SQUARES = BoardSpec.MAX_SIZE * BoardSpec.MAX_SIZE;
+    private static final long[] KEYS = new long[Piece.values().length * SQUARES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C0FFEEL);
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a piece on a square.
+     *
+     * @param piece The piece.
+     * @param x The x-coordinate of the square.
+     * @param y The y-coordinate of the square.
+     * @return The key of the placement.
+     */
+    public static long key(Piece piece, int x, int y) {
+        return KEYS[piece.ordinal() * SQUARES + ((x & COORDINATE_MASK) << COORDINATE_BITS | y & COORDINATE_MASK)];
+    }
+
+    /**
+     * Returns the hash of a position.
+     *
+     * @param kingX The x-coordinate of the king.
+     * @param kingY The y-coordinate of the king.
+     * @param knightX The x-coordinate of the knight.
+     * @param knightY The y-coordinate of the knight.
+     * @return The hash of the position.
+     */
+    public static long hash(int kingX, int kingY, int knightX, int knightY) {
+        return key(Piece.KING, kingX, kingY) ^ key(Piece.KNIGHT, knightX, knightY);
+    }
+}
@@ -4,10 +4,32 @@
  * game states, and managing leaderboard entries.
  * Key classes:
  * <ul>
+ *   <li>{@link chess.model.BoardSpec} - Describes the size of the board and the goal square.</li>
  *   <li>{@link chess.model.ChessState} - Represents the state of the chess game.</li>
+ *   <li>{@link chess.model.PackedChessState} - Primitive, allocation-free encoding of the chess game state.</li>
+ *   <li>{@link chess.model.Piece} - The pieces of the chess game.</li>
+ *   <li>{@link chess.model.Move} - A typed, shared placement of a piece, used as the source and destination of moves.</li>
+ *   <li>{@link chess.model.MoveHistory} - Packed log of the moves of a game, with undo, redo and replay.</li>
+ *   <li>{@link chess.model.GameSession} - Headless game flow of a player, reporting selections, moves and wins.</li>
+ *   <li>{@link chess.model.Zobrist} - Random keys of the piece placements, hashing a position incrementally.</li>
+ *   <li>{@link chess.model.TranspositionTable} - Fixed-size open-addressing cache of search results keyed by Zobrist hash.</li>
+ *   <li>{@link chess.model.ChessSolver} - Finds the shortest solution of the chess game.</li>
+ *   <li>{@link chess.model.AStarSolver} - Finds the shortest solution with an A* search, for large boards.</li>
+ *   <li>{@link chess.model.BidirectionalSolver} - Finds the shortest solution searching from both the start and the goal.</li>
+ *   <li>{@link chess.model.IdaStarSolver} - Finds the shortest solution in bounded memory, within a node and time budget.</li>
+ *   <li>{@link chess.model.HeuristicTable} - Admissible, consistent distance estimates guiding the A* search.</li>
+ *   <li>{@link chess.model.Solution} - The result of solving the chess game.</li>
+ *   <li>{@link chess.model.DistanceTable} - Precomputed distance to the goal of every placement of the pieces.</li>
  *   <li>{@link chess.model.GameSaverLoader} - Handles saving and loading game states.</li>
+ *   <li>{@link chess.model.GameStateCodec} - Compact, checksummed binary encoding of a saved game.</li>
+ *   <li>{@link chess.model.SaveSlotStore} - Memory-mapped store of the save slots of every user.</li>
+ *   <li>{@link chess.model.PersistenceQueue} - Runs saves and leaderboard updates off the UI thread, one at a time.</li>
+ *   <li>{@link chess.model.DurableFiles} - Crash-safe atomic file replacement and journal appends.</li>
  *   <li>{@link chess.model.LeaderboardEntry} - Represents an entry in the leaderboard.</li>
  *   <li>{@link chess.model.LeaderboardManager} - Manages the leaderboard data.</li>
+ *   <li>{@link chess.model.LeaderboardStore} - Indexed leaderboard persisted through an append-only log.</li>
+ *   <li>{@link chess.model.ConcurrentLeaderboard} - Absorbs concurrent score updates and writes them to the store in batches.</li>
+ *   <li>{@link chess.model.SubmissionVerifier} - Replays submitted games before they are recorded on the leaderboard.</li>
  * </ul>
  */
 package chess.model;
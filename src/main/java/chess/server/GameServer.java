@@ -0,0 +1,339 @@
+package chess.server;
+
+import chess.logging.HotPathLogger;
+import chess.model.ChessState;
+import chess.model.GameSession;
+import chess.model.LeaderboardManager;
+import chess.model.Move;
+import chess.model.PersistenceQueue;
+import org.tinylog.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hosts the games of many players in one JVM over a line-based TCP protocol on the loopback interface.
+ * <p>
+ * Every connection is served by its own virtual thread. A player's game is a {@link GameSession}, kept by
+ * username so a player can reconnect and continue; moves are validated by its {@link ChessState}. A game
+ * nobody is connected to is discarded once it has been idle for the session timeout, so the server only keeps
+ * the games of recent players. Wins are
+ * recorded on the {@link LeaderboardManager} through the {@link PersistenceQueue}, so the connection threads
+ * never write the leaderboard themselves.
+ * <p>
+ * Every request is a single line, answered by a single line:
+ * <ul>
+ *   <li>{@code LOGIN <username>} - {@code OK}; required before any other request but {@code QUIT}.</li>
+ *   <li>{@code START} - starts a new game, {@code STATE <kingX> <kingY> <knightX> <knightY> <moveCount>}.</li>
+ *   <li>{@code STATE} - the state of the game, as above.</li>
+ *   <li>{@code MOVE <piece> <x> <y>}, e.g. {@code MOVE Knight 1 0} -
+ *       {@code OK <moveCount>}, {@code WON <moveCount>} or {@code ILLEGAL}.</li>
+ *   <li>{@code UNDO} - the state of the game after taking back the last move, as above.</li>
+ *   <li>{@code QUIT} - {@code BYE}, and the connection is closed.</li>
+ * </ul>
+ * Malformed requests are answered with {@code ERR <message>}.
+ */
+public class GameServer implements AutoCloseable {
+    /**
+     * How long a game nobody is connected to is kept by default.
+     */
+    public static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofMinutes(30);
+
+    private final LeaderboardManager leaderboardManager;
+    private final PersistenceQueue persistenceQueue;
+    private final long sessionTimeoutNanos;
+    // The players are only changed inside the atomic compute methods of the map
+    private final Map<String, Player> sessions = new ConcurrentHashMap<>();
+    private final Map<Socket, Boolean> connections = new ConcurrentHashMap<>();
+    private final ExecutorService connectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private ServerSocket serverSocket;
+    private Thread sweeper;
+
+    /**
+     * Constructs a server that records wins on the specified leaderboard and keeps idle games
+     * for the {@link #DEFAULT_SESSION_TIMEOUT}.
+     *
+     * @param leaderboardManager The leaderboard wins are recorded on.
+     * @param persistenceQueue The queue the leaderboard updates run on.
+     */
+    public GameServer(LeaderboardManager leaderboardManager, PersistenceQueue persistenceQueue) {
+        this(leaderboardManager, persistenceQueue, DEFAULT_SESSION_TIMEOUT);
+    }
+
+    /**
+     * Constructs a server that records wins on the specified leaderboard.
+     *
+     * @param leaderboardManager The leaderboard wins are recorded on.
+     * @param persistenceQueue The queue the leaderboard updates run on.
+     * @param sessionTimeout How long a game nobody is connected to is kept; it is discarded at most
+     *                       twice as long after its last connection closed.
+     * @throws IllegalArgumentException If the timeout is not positive.
+     */
+    public GameServer(LeaderboardManager leaderboardManager, PersistenceQueue persistenceQueue, Duration sessionTimeout) {
+        if (sessionTimeout.isNegative() || sessionTimeout.isZero()) {
+            throw new IllegalArgumentException("Invalid session timeout: " + sessionTimeout);
+        }
+        this.leaderboardManager = leaderboardManager;
+        this.persistenceQueue = persistenceQueue;
+        this.sessionTimeoutNanos = sessionTimeout.toNanos();
+    }
+
+    /**
+     * Starts accepting connections on the loopback interface.
+     *
+     * @param port The port to listen on, or {@code 0} for any free port.
+     * @return The port the server listens on.
+     * @throws IOException If the port cannot be bound.
+     * @throws IllegalStateException If the server was already started.
+     */
+    public synchronized int start(int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("The server is already started");
+        }
+        serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("game-server-accept").start(this::acceptConnections);
+        sweeper = Thread.ofVirtual().name("game-server-sweep").start(this::sweepSessions);
+        Logger.info("Game server listening on port " + serverSocket.getLocalPort() + ".");
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return The port the server listens on, or {@code -1} if it is not started.
+     */
+    public synchronized int getPort() {
+        return serverSocket == null ? -1 : serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return The number of players with a game on the server.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * @return The number of open connections.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.put(socket, Boolean.TRUE);
+                if (serverSocket.isClosed()) {
+                    // Accepted while closing, after the open connections were closed
+                    socket.close();
+                    connections.remove(socket);
+                    continue;
+                }
+                connectionExecutor.execute(() -> serve(socket));
+            } catch (SocketException e) {
+                // The server socket was closed
+            } catch (IOException e) {
+                Logger.error("Failed to accept a connection: " + e);
+            }
+        }
+    }
+
+    private void sweepSessions() {
+        try {
+            while (true) {
+                Thread.sleep(Duration.ofNanos(sessionTimeoutNanos));
+                long now = System.nanoTime();
+                for (String username : sessions.keySet()) {
+                    sessions.computeIfPresent(username,
+                            (key, player) -> player.connections == 0 && now - player.idleSince >= sessionTimeoutNanos
+                                    ? null
+                                    : player);
+                }
+            }
+        } catch (InterruptedException e) {
+            // The server was closed
+        }
+    }
+
+    private void serve(Socket socket) {
+        Connection connection = new Connection();
+        try (socket;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String response = connection.handle(line);
+                writer.write(response);
+                writer.write('\n');
+                writer.flush();
+                if (response.equals("BYE")) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            HotPathLogger.debug("Connection closed: {}", e);
+        } finally {
+            connections.remove(socket);
+            connection.logout();
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones. Sessions are kept until the server is discarded.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (sweeper != null) {
+                sweeper.interrupt();
+            }
+            if (serverSocket != null) {
+                try {
+                    serverSocket.close();
+                } catch (IOException e) {
+                    Logger.warn("Failed to close the server socket: " + e);
+                }
+            }
+        }
+        for (Socket socket : connections.keySet()) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                Logger.debug("Failed to close a connection: " + e);
+            }
+        }
+        connectionExecutor.close();
+        Logger.info("Game server stopped.");
+    }
+
+    private Player login(String username) {
+        return sessions.compute(username, (key, player) -> {
+            Player logged = player == null ? new Player(createSession(username)) : player;
+            logged.connections++;
+            return logged;
+        });
+    }
+
+    private void logout(String username) {
+        sessions.computeIfPresent(username, (key, player) -> {
+            if (--player.connections == 0) {
+                player.idleSince = System.nanoTime();
+            }
+            return player;
+        });
+    }
+
+    private GameSession createSession(String username) {
+        GameSession session = new GameSession();
+        session.setListener(new GameSession.Listener() {
+            @Override
+            public void gameWon(int moveCount) {
+                persistenceQueue.submit(() -> {
+                    leaderboardManager.updateLeaderboard(username, moveCount);
+                    return null;
+                });
+            }
+        });
+        return session;
+    }
+
+    /**
+     * The game of a player, and how many connections are logged in to it.
+     */
+    private static final class Player {
+        private final GameSession session;
+        private int connections;
+        private long idleSince;
+
+        Player(GameSession session) {
+            this.session = session;
+        }
+    }
+
+    /**
+     * The protocol state of a single connection.
+     */
+    private class Connection {
+        private String username;
+        private GameSession session;
+
+        void logout() {
+            if (username != null) {
+                GameServer.this.logout(username);
+                username = null;
+            }
+        }
+
+        String handle(String line) {
+            int space = line.indexOf(' ');
+            String command = space < 0 ? line : line.substring(0, space);
+            String argument = space < 0 ? "" : line.substring(space + 1).trim();
+            if (command.equals("QUIT")) {
+                return "BYE";
+            }
+            if (command.equals("LOGIN")) {
+                if (argument.isEmpty() || argument.indexOf(' ') >= 0) {
+                    return "ERR invalid username";
+                }
+                logout();
+                session = login(argument).session;
+                username = argument;
+                return "OK";
+            }
+            if (session == null) {
+                return "ERR not logged in";
+            }
+            synchronized (session) {
+                return switch (command) {
+                    case "START" -> {
+                        session.start();
+                        yield state();
+                    }
+                    case "STATE" -> session.isStarted() ? state() : "ERR no game";
+                    case "MOVE" -> move(argument);
+                    case "UNDO" -> session.undo() ? state() : "ERR nothing to undo";
+                    default -> "ERR unknown command " + command;
+                };
+            }
+        }
+
+        private String move(String argument) {
+            if (!session.isStarted()) {
+                return "ERR no game";
+            }
+            Move to;
+            try {
+                to = Move.parse(argument);
+            } catch (IllegalArgumentException e) {
+                return "ERR invalid move " + argument;
+            }
+            if (!session.move(to)) {
+                return "ILLEGAL";
+            }
+            int moveCount = session.getState().getMoveCount();
+            return (session.isWon() ? "WON " : "OK ") + moveCount;
+        }
+
+        private String state() {
+            ChessState state = session.getState();
+            return "STATE " + state.getKingX() + " " + state.getKingY() + " "
+                    + state.getKnightX() + " " + state.getKnightY() + " " + state.getMoveCount();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package chess.server;
+
+import chess.model.ChessSolver;
+import chess.model.ChessState;
+import chess.model.ConcurrentLeaderboard;
+import chess.model.LeaderboardManager;
+import chess.model.Move;
+import chess.model.PersistenceQueue;
+import org.tinylog.Logger;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Load-generating client of the {@link GameServer}: many simulated players, each on its own virtual thread
+ * and connection, play the optimal solution over and over, and the latency of every request is measured.
+ * <p>
+ * Usage: {@code LoadGenerator [--host H] [--port P] [--clients N] [--games G]}; without a port, a server is
+ * started in the same JVM, with a leaderboard in a temporary directory that is deleted after the run.
+ */
+public class LoadGenerator {
+    private final String host;
+    private final int port;
+    private final int clients;
+    private final int gamesPerClient;
+    private final String[] solution;
+
+    /**
+     * Constructs a load generator.
+     *
+     * @param host The host the server runs on.
+     * @param port The port the server listens on.
+     * @param clients The number of simulated players, each with its own connection.
+     * @param gamesPerClient The number of games each player plays.
+     */
+    public LoadGenerator(String host, int port, int clients, int gamesPerClient) {
+        this.host = host;
+        this.port = port;
+        this.clients = clients;
+        this.gamesPerClient = gamesPerClient;
+        List<TwoPhaseMove<Move>> moves = new ChessSolver().solve(new ChessState(2, 1, 2, 2, 0)).getMoves();
+        solution = new String[moves.size()];
+        for (int i = 0; i < solution.length; i++) {
+            solution[i] = "MOVE " + moves.get(i).to();
+        }
+    }
+
+    /**
+     * The results of a run.
+     *
+     * @param requests The number of requests answered.
+     * @param games The number of games won.
+     * @param errors The number of clients that failed.
+     * @param elapsedNanos The duration of the run, in nanoseconds.
+     * @param p50Nanos The median latency of a request, in nanoseconds.
+     * @param p99Nanos The 99th percentile latency of a request, in nanoseconds.
+     * @param maxNanos The highest latency of a request, in nanoseconds.
+     */
+    public record Report(long requests, long games, int errors, long elapsedNanos,
+                         long p50Nanos, long p99Nanos, long maxNanos) {
+        /**
+         * @return The number of requests answered per second.
+         */
+        public double throughput() {
+            return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return A human-readable summary of the report.
+         */
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d games, %d errors in %d ms: %.0f requests/s, "
+                            + "p50 %.1f us, p99 %.1f us, max %.1f us",
+                    requests, games, errors, elapsedNanos / 1_000_000, throughput(),
+                    p50Nanos / 1e3, p99Nanos / 1e3, maxNanos / 1e3);
+        }
+    }
+
+    /**
+     * Runs the simulated players until every one of them has played all its games.
+     *
+     * @return The results of the run.
+     * @throws InterruptedException If interrupted while waiting for the players.
+     */
+    public Report run() throws InterruptedException {
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                String username = "load-" + i;
+                futures.add(executor.submit(() -> play(username)));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[][] results = new long[clients][];
+        int errors = 0;
+        int total = 0;
+        for (int i = 0; i < clients; i++) {
+            try {
+                results[i] = futures.get(i).get();
+                total += results[i].length;
+            } catch (Exception e) {
+                Logger.warn("Simulated player failed: " + e);
+                results[i] = new long[0];
+                errors++;
+            }
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (long[] result : results) {
+            System.arraycopy(result, 0, latencies, offset, result.length);
+            offset += result.length;
+        }
+        Arrays.sort(latencies);
+        long games = (long) (clients - errors) * gamesPerClient;
+        return new Report(total, games, errors, elapsed,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                total == 0 ? 0 : latencies[total - 1]);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    private long[] play(String username) throws IOException {
+        long[] latencies = new long[1 + gamesPerClient * (1 + solution.length) + 1];
+        int count = 0;
+        try (Socket socket = new Socket(host, port);
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            latencies[count++] = request(reader, writer, "LOGIN " + username, "OK");
+            for (int game = 0; game < gamesPerClient; game++) {
+                latencies[count++] = request(reader, writer, "START", "STATE");
+                for (int i = 0; i < solution.length; i++) {
+                    latencies[count++] = request(reader, writer, solution[i],
+                            i == solution.length - 1 ? "WON" : "OK");
+                }
+            }
+            latencies[count++] = request(reader, writer, "QUIT", "BYE");
+        }
+        return latencies;
+    }
+
+    private static long request(BufferedReader reader, BufferedWriter writer, String request, String expected)
+            throws IOException {
+        long start = System.nanoTime();
+        writer.write(request);
+        writer.write('\n');
+        writer.flush();
+        String response = reader.readLine();
+        long latency = System.nanoTime() - start;
+        if (response == null || !response.startsWith(expected)) {
+            throw new IOException("Unexpected response to " + request + ": " + response);
+        }
+        return latency;
+    }
+
+    /**
+     * The entry point of the load generator.
+     *
+     * @param args Command-line arguments, see the class documentation.
+     * @throws Exception If the server cannot be started or the run is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = 0;
+        int clients = 1000;
+        int games = 10;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--host" -> host = args[++i];
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--clients" -> clients = Integer.parseInt(args[++i]);
+                case "--games" -> games = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        GameServer server = null;
+        Path leaderboardDirectory = null;
+        if (port == 0) {
+            leaderboardDirectory = Files.createTempDirectory("leaderboard");
+            server = new GameServer(temporaryLeaderboard(leaderboardDirectory), PersistenceQueue.getDefault());
+            port = server.start(0);
+        }
+        try {
+            Report report = new LoadGenerator(host, port, clients, games).run();
+            System.out.println(report);
+        } finally {
+            if (server != null) {
+                server.close();
+                PersistenceQueue.closeDefault(5000);
+                ConcurrentLeaderboard.closeAll();
+                deleteRecursively(leaderboardDirectory);
+            }
+        }
+    }
+
+    private static LeaderboardManager temporaryLeaderboard(Path directory) {
+        String filePath = LeaderboardManager.FILE_PATH;
+        LeaderboardManager.FILE_PATH = directory.resolve("leaderboard.json").toString();
+        try {
+            return new LeaderboardManager();
+        } finally {
+            LeaderboardManager.FILE_PATH = filePath;
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
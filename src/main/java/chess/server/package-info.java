@@ -0,0 +1,9 @@
+/**
+ * Hosts the games of many players over a local TCP connection, and drives it with simulated players.
+ * Key classes:
+ * <ul>
+ *   <li>{@link chess.server.GameServer} - Serves a line-based game protocol, one virtual thread per connection.</li>
+ *   <li>{@link chess.server.LoadGenerator} - Simulated players measuring the throughput and latency of the server.</li>
+ * </ul>
+ */
+package chess.server;
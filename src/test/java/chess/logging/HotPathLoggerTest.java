@@ -0,0 +1,31 @@
+package chess.logging;
+
+import org.junit.jupiter.api.Test;
+import org.tinylog.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotPathLoggerTest {
+    @Test
+    void testLevelsMatchTinylog() {
+        assertEquals(Logger.isDebugEnabled(), HotPathLogger.isDebugEnabled());
+        assertEquals(Logger.isInfoEnabled(), HotPathLogger.isInfoEnabled());
+    }
+
+    @Test
+    void testInfoIsEnabledByConfiguration() {
+        assertTrue(HotPathLogger.isInfoEnabled());
+        assertFalse(HotPathLogger.isDebugEnabled());
+    }
+
+    @Test
+    void testLoggingDoesNotThrow() {
+        assertDoesNotThrow(() -> {
+            HotPathLogger.debug("Detected click on row {}, column {}.", 1, 2);
+            HotPathLogger.debug("Piece moved to {}.", (Object) null);
+            HotPathLogger.info("Message without placeholders.");
+            HotPathLogger.info("Move {} of {}.", 3, 8);
+            HotPathLogger.info("Move {} by {}.", "Knight 1 0", "alice");
+        });
+    }
+}
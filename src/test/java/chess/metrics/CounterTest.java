@@ -0,0 +1,34 @@
+package chess.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CounterTest {
+    @Test
+    void testIncrementAndAdd() {
+        Counter counter = new Counter("moves");
+        counter.increment();
+        counter.add(41);
+        assertEquals(42, counter.getCount());
+        assertEquals("moves 42", counter.toString());
+    }
+
+    @Test
+    void testConcurrentIncrements() {
+        Counter counter = new Counter("moves");
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        counter.increment();
+                    }
+                });
+            }
+        }
+        assertEquals(40_000, counter.getCount());
+    }
+}
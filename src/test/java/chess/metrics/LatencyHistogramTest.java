@@ -0,0 +1,52 @@
+package chess.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    @Test
+    void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram("empty");
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getP99());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void testBucketsCoverEveryValue() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(LatencyHistogram.highestValueIn(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.highestValueIn(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram("latency");
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getMean(), 1e-9);
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_000, histogram.getP50(), 500_000 * 0.04);
+        assertEquals(990_000, histogram.getP99(), 990_000 * 0.04);
+        assertTrue(histogram.getP50() >= 500_000);
+        assertTrue(histogram.getP999() <= histogram.getMax());
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram("small");
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(-5);
+        assertEquals(0, histogram.getPercentile(1));
+        assertEquals(3, histogram.getP50());
+        assertEquals(7, histogram.getPercentile(100));
+    }
+}
@@ -0,0 +1,52 @@
+package chess.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+    @Test
+    void testMetricsAreCreatedOnce() {
+        MetricsRegistry registry = new MetricsRegistry(null);
+        assertSame(registry.counter("moves"), registry.counter("moves"));
+        assertSame(registry.histogram("save"), registry.histogram("save"));
+    }
+
+    @Test
+    void testDump() {
+        MetricsRegistry registry = new MetricsRegistry(null);
+        registry.histogram("save").record(2000);
+        registry.counter("moves").add(3);
+        registry.counter("clicks").increment();
+        String[] lines = registry.dump().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("clicks 1", lines[0]);
+        assertEquals("moves 3", lines[1]);
+        assertTrue(lines[2].startsWith("save count=1 "));
+    }
+
+    @Test
+    void testJmxRegistration() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry("chess.test");
+        registry.counter("moves").add(5);
+        registry.histogram("save").record(1000);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(5L, server.getAttribute(
+                new ObjectName("chess.test:type=Counter,name=\"moves\""), "Count"));
+        assertEquals(1000L, server.getAttribute(
+                new ObjectName("chess.test:type=Histogram,name=\"save\""), "Max"));
+    }
+
+    @Test
+    void testPeriodicDumpStops() {
+        MetricsRegistry registry = new MetricsRegistry(null);
+        registry.startPeriodicDump(10);
+        registry.startPeriodicDump(10);
+        assertDoesNotThrow(registry::stopPeriodicDump);
+        assertDoesNotThrow(registry::stopPeriodicDump);
+    }
+}
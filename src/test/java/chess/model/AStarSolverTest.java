@@ -0,0 +1,79 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AStarSolverTest {
+    private final AStarSolver solver = new AStarSolver();
+
+    private static void assertReplaysToGoal(ChessState initialState, Solution solution) {
+        ChessState replay = (ChessState) initialState.clone();
+        for (TwoPhaseMove<Move> move : solution.getMoves()) {
+            assertTrue(replay.isLegalToMoveFrom(move.from()));
+            assertTrue(replay.isLegalMove(move));
+            replay.makeMove(move);
+        }
+        assertTrue(replay.isSolved());
+    }
+
+    @Test
+    void testSolveStartPosition() {
+        ChessState initialState = new ChessState(2, 1, 2, 2, 0);
+        Solution solution = solver.solve(initialState);
+
+        assertTrue(solution.isSolved());
+        assertEquals(8, solution.getLength());
+        assertTrue(solution.getNodesExpanded() > 0);
+        assertTrue(solution.getNodesGenerated() >= solution.getNodesExpanded());
+        assertEquals(new ChessState(2, 1, 2, 2, 0), initialState);
+        assertReplaysToGoal(initialState, solution);
+    }
+
+    @Test
+    void testSolveAlreadySolved() {
+        Solution solution = solver.solve(new ChessState(0, 6, 2, 2, 0));
+        assertTrue(solution.isSolved());
+        assertEquals(0, solution.getLength());
+    }
+
+    @Test
+    void testSolveDeadPosition() {
+        Solution solution = solver.solve(new ChessState(0, 0, 7, 7, 0));
+        assertFalse(solution.isSolved());
+        assertTrue(solution.getMoves().isEmpty());
+    }
+
+    @Test
+    void testMatchesDistanceTable() {
+        BoardSpec board = new BoardSpec(12, 10, 9, 3);
+        DistanceTable table = DistanceTable.forBoard(board);
+        for (int king = 0; king < board.getSquares(); king += 7) {
+            for (int knight = 0; knight < board.getSquares(); knight += 5) {
+                if (king != knight) {
+                    ChessState state = new ChessState(board, board.squareX(king), board.squareY(king),
+                            board.squareX(knight), board.squareY(knight), 0);
+                    Solution solution = solver.solve(state);
+                    assertEquals(table.getDistance(state), solution.getLength(), state.toString());
+                    if (solution.isSolved()) {
+                        assertReplaysToGoal(state, solution);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLargeBoardExpandsFewerNodesThanBreadthFirstSearch() {
+        BoardSpec board = new BoardSpec(BoardSpec.MAX_SIZE, BoardSpec.MAX_SIZE, 0, 0);
+        ChessState initialState = new ChessState(board, 20, 20, 21, 22, 0);
+        Solution expected = new ChessSolver().solve(initialState);
+        Solution solution = solver.solve(initialState);
+
+        assertTrue(solution.isSolved());
+        assertEquals(expected.getLength(), solution.getLength());
+        assertTrue(solution.getNodesExpanded() * 10 < expected.getNodesExpanded(), solution + " vs " + expected);
+        assertReplaysToGoal(initialState, solution);
+    }
+}
@@ -0,0 +1,65 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSpecTest {
+
+    @Test
+    void testDefault() {
+        assertEquals(8, BoardSpec.DEFAULT.getWidth());
+        assertEquals(8, BoardSpec.DEFAULT.getHeight());
+        assertEquals(0, BoardSpec.DEFAULT.getGoalX());
+        assertEquals(6, BoardSpec.DEFAULT.getGoalY());
+        assertEquals(64, BoardSpec.DEFAULT.getSquares());
+    }
+
+    @Test
+    void testSquares() {
+        BoardSpec board = new BoardSpec(12, 10, 9, 3);
+        int square = board.square(9, 11);
+        assertEquals(9, board.squareX(square));
+        assertEquals(11, board.squareY(square));
+        assertTrue(board.isOnBoard(9, 11));
+        assertFalse(board.isOnBoard(10, 0));
+        assertFalse(board.isOnBoard(0, 12));
+    }
+
+    @Test
+    void testMoveTables() {
+        BoardSpec board = new BoardSpec(12, 10, 9, 3);
+        assertEquals(3, board.kingMoveCount(board.square(0, 0)));
+        assertEquals(8, board.kingMoveCount(board.square(5, 5)));
+        assertEquals(2, board.knightMoveCount(board.square(9, 11)));
+        assertEquals(8, board.knightMoveCount(board.square(5, 5)));
+        int target = board.knightMove(board.square(0, 0), 0);
+        assertEquals(3, board.squareX(target) + board.squareY(target));
+    }
+
+    @Test
+    void testMoveLookups() {
+        BoardSpec board = new BoardSpec(12, 10, 9, 3);
+        int corner = board.square(0, 0);
+        assertTrue(board.isKingMove(corner, board.square(1, 1)));
+        assertFalse(board.isKingMove(corner, corner));
+        assertFalse(board.isKingMove(corner, board.square(0, 2)));
+        assertTrue(board.isKnightMove(corner, board.square(2, 1)));
+        assertFalse(board.isKnightMove(corner, board.square(1, 1)));
+        assertFalse(board.isKnightMove(board.square(0, 11), board.square(1, 0)));
+    }
+
+    @Test
+    void testInvalidBoards() {
+        assertThrows(IllegalArgumentException.class, () -> new BoardSpec(0, 8, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BoardSpec(65, 8, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BoardSpec(8, 8, 8, 0));
+    }
+
+    @Test
+    void testEquals() {
+        assertEquals(BoardSpec.DEFAULT, new BoardSpec(8, 8, 0, 6));
+        assertEquals(BoardSpec.DEFAULT.hashCode(), new BoardSpec(8, 8, 0, 6).hashCode());
+        assertNotEquals(BoardSpec.DEFAULT, BoardSpec.DEFAULT.withGoal(7, 7));
+    }
+}
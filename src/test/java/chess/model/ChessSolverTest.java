@@ -0,0 +1,98 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChessSolverTest {
+    private final ChessSolver solver = new ChessSolver();
+
+    @Test
+    void testSolveStartPosition() {
+        ChessState initialState = new ChessState(2, 1, 2, 2, 0);
+        Solution solution = solver.solve(initialState);
+
+        assertTrue(solution.isSolved());
+        assertEquals(8, solution.getLength());
+        assertTrue(solution.getNodesExpanded() > 0);
+        assertTrue(solution.getNodesGenerated() >= solution.getNodesExpanded());
+        assertEquals(new ChessState(2, 1, 2, 2, 0), initialState);
+
+        ChessState replay = new ChessState(2, 1, 2, 2, 0);
+        for (TwoPhaseMove<Move> move : solution.getMoves()) {
+            assertTrue(replay.isLegalToMoveFrom(move.from()));
+            assertTrue(replay.isLegalMove(move));
+            replay.makeMove(move);
+        }
+        assertTrue(replay.isSolved());
+    }
+
+    @Test
+    void testSolveAlreadySolved() {
+        Solution solution = solver.solve(new ChessState(0, 6, 2, 2, 0));
+        assertTrue(solution.isSolved());
+        assertEquals(0, solution.getLength());
+    }
+
+    @Test
+    void testSolveDeadPosition() {
+        // Neither piece attacks the other, so no move is possible
+        Solution solution = solver.solve(new ChessState(0, 0, 7, 7, 0));
+        assertFalse(solution.isSolved());
+        assertEquals(-1, solution.getLength());
+        assertTrue(solution.getMoves().isEmpty());
+    }
+
+    @Test
+    void testSolveWithTranspositionTable() {
+        TranspositionTable table = TranspositionTable.forBoard(BoardSpec.DEFAULT);
+        ChessSolver tableSolver = new ChessSolver(table);
+        Solution expected = solver.solve(new ChessState(2, 1, 2, 2, 0));
+        Solution solution = tableSolver.solve(new ChessState(2, 1, 2, 2, 0));
+
+        assertTrue(solution.isSolved());
+        assertEquals(expected.getLength(), solution.getLength());
+        assertEquals(expected.getNodesGenerated(), solution.getNodesGenerated());
+        assertEquals(expected.getNodesExpanded(), solution.getNodesExpanded());
+        assertEquals(solution.getLength(), table.getDepth(Zobrist.hash(2, 1, 2, 2)));
+        assertEquals(solution.getLength(), table.size());
+
+        assertFalse(tableSolver.solve(new ChessState(0, 0, 7, 7, 0)).isSolved());
+        assertEquals(solution.getLength(), table.size());
+    }
+
+    @Test
+    void testCachedSolutionIsFollowed() {
+        ChessSolver tableSolver = new ChessSolver(TranspositionTable.forBoard(BoardSpec.DEFAULT));
+        Solution first = tableSolver.solve(new ChessState(2, 1, 2, 2, 0));
+        Solution again = tableSolver.solve(new ChessState(2, 1, 2, 2, 0));
+
+        assertEquals(first.getMoves(), again.getMoves());
+        assertEquals(first.getLength(), again.getNodesExpanded());
+
+        ChessState next = new ChessState(2, 1, 2, 2, 0);
+        next.makeMove(first.getMoves().get(0));
+        Solution rest = tableSolver.solve(next);
+        assertEquals(first.getMoves().subList(1, first.getLength()), rest.getMoves());
+        assertEquals(first.getLength() - 1, rest.getNodesExpanded());
+    }
+
+    @Test
+    void testSmallTranspositionTableStaysShortest() {
+        Solution expected = solver.solve(new ChessState(2, 1, 2, 2, 0));
+        for (int entries : new int[]{1, 8, 256}) {
+            ChessSolver tableSolver =
+                    new ChessSolver(new TranspositionTable((long) entries * TranspositionTable.ENTRY_BYTES));
+            for (int i = 0; i < 2; i++) {
+                Solution solution = tableSolver.solve(new ChessState(2, 1, 2, 2, 0));
+
+                assertTrue(solution.isSolved());
+                assertEquals(expected.getLength(), solution.getLength());
+                ChessState state = new ChessState(2, 1, 2, 2, 0);
+                solution.getMoves().forEach(move -> assertTrue(state.makeMove(move.to())));
+                assertTrue(state.isSolved());
+            }
+        }
+    }
+}
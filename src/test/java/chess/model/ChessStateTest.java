@@ -54,8 +54,8 @@ class ChessStateTest {
     @Test
     void testIsAttackedByKing() {
         ChessState attackingState = new ChessState(2, 2, 3, 3, 0);
-        assertTrue(attackingState.isLegalToMoveFrom("Knight"));
-        assertFalse(attackingState.isLegalToMoveFrom("King"));
+        assertTrue(attackingState.isLegalToMoveFrom(Piece.KNIGHT));
+        assertFalse(attackingState.isLegalToMoveFrom(Piece.KING));
     }
 
     @Test
@@ -74,35 +74,102 @@ class ChessStateTest {
 
     @Test
     void testIsLegalMove() {
+        // King move while it is the knight's turn
+        TwoPhaseMove<Move> outOfPhaseKingMove = new TwoPhaseMove<>(state.getPlacement(Piece.KING), Move.of(Piece.KING, 3, 1));
+        assertFalse(state.isLegalMove(outOfPhaseKingMove));
+
         // Legal King move
-        TwoPhaseMove<String> kingMove = new TwoPhaseMove<>("King", "King 3 1");
-        assertTrue(state.isLegalMove(kingMove));
+        ChessState kingTurn = new ChessState(2, 1, 0, 2, 0);
+        TwoPhaseMove<Move> kingMove = new TwoPhaseMove<>(kingTurn.getPlacement(Piece.KING), Move.of(Piece.KING, 3, 1));
+        assertTrue(kingTurn.isLegalMove(kingMove));
 
-        // Illegal King move
-        TwoPhaseMove<String> illegalKingMove = new TwoPhaseMove<>("King", "King 4 4");
-        assertFalse(state.isLegalMove(illegalKingMove));
+        // Illegal King moves
+        TwoPhaseMove<Move> illegalKingMove = new TwoPhaseMove<>(kingTurn.getPlacement(Piece.KING), Move.of(Piece.KING, 4, 4));
+        assertFalse(kingTurn.isLegalMove(illegalKingMove));
+        assertFalse(kingTurn.isLegalMove(Move.of(Piece.KING, 2, 1)));
+        assertFalse(kingTurn.isLegalMove(new TwoPhaseMove<>(Move.of(Piece.KING, 3, 0), Move.of(Piece.KING, 3, 1))));
 
         // Legal Knight move
-        TwoPhaseMove<String> knightMove = new TwoPhaseMove<>("Knight", "Knight 4 3");
+        TwoPhaseMove<Move> knightMove = new TwoPhaseMove<>(state.getPlacement(Piece.KNIGHT), Move.of(Piece.KNIGHT, 4, 3));
         assertTrue(state.isLegalMove(knightMove));
 
         // Illegal Knight move
-        TwoPhaseMove<String> illegalKnightMove = new TwoPhaseMove<>("Knight", "Knight 5 5");
+        TwoPhaseMove<Move> illegalKnightMove = new TwoPhaseMove<>(state.getPlacement(Piece.KNIGHT), Move.of(Piece.KNIGHT, 5, 5));
         assertFalse(state.isLegalMove(illegalKnightMove));
     }
 
+    @Test
+    void testIsLegalMoveOffBoard() {
+        ChessState edge = new ChessState(7, 0, 5, 1, 0);
+        assertTrue(edge.isLegalToMoveFrom(Piece.KING));
+        assertTrue(edge.isLegalMove(Move.of(Piece.KING, 6, 0)));
+        assertFalse(edge.isLegalMove(Move.of(Piece.KING, 8, 0)));
+        assertFalse(edge.isLegalMove(Move.of(Piece.KING, 8, 1)));
+        assertFalse(edge.makeMove(Move.of(Piece.KING, 8, 1)));
+        assertEquals(new ChessState(7, 0, 5, 1, 0), edge);
+    }
+
+    @Test
+    void testIsLegalToMoveFrom() {
+        assertTrue(state.isLegalToMoveFrom(Piece.KNIGHT));
+        assertFalse(state.isLegalToMoveFrom(Piece.KING));
+        assertTrue(state.isLegalToMoveFrom(Move.of(Piece.KNIGHT, 2, 2)));
+        assertFalse(state.isLegalToMoveFrom(Move.of(Piece.KNIGHT, 3, 3)));
+        assertFalse(state.isLegalToMoveFrom(Move.of(Piece.KING, 2, 1)));
+    }
+
     @Test
     void testMakeMove() {
         // Making a legal King move
-        TwoPhaseMove<String> kingMove = new TwoPhaseMove<>("King", "King 3 1");
+        state = new ChessState(2, 1, 0, 2, 0);
+        TwoPhaseMove<Move> kingMove = new TwoPhaseMove<>(state.getPlacement(Piece.KING), Move.of(Piece.KING, 3, 1));
         state.makeMove(kingMove);
-        assertEquals(new ChessState(3, 1, 2, 2, 1), state);
+        assertEquals(new ChessState(3, 1, 0, 2, 1), state);
 
         // Making a legal Knight move
-        state = new ChessState(1, 0, 2, 2, 1);
-        TwoPhaseMove<String> knightMove = new TwoPhaseMove<>("Knight", "Knight 4 3");
+        state = new ChessState(1, 1, 2, 2, 1);
+        TwoPhaseMove<Move> knightMove = new TwoPhaseMove<>(state.getPlacement(Piece.KNIGHT), Move.of(Piece.KNIGHT, 4, 3));
         state.makeMove(knightMove);
-        assertEquals(new ChessState(1, 0, 4, 3, 2), state);
+        assertEquals(new ChessState(1, 1, 4, 3, 2), state);
+
+        // Moves out of phase are rejected and leave the state unchanged
+        assertFalse(state.makeMove(Move.of(Piece.KNIGHT, 2, 2)));
+        assertFalse(state.makeMove(Move.of(Piece.KING, 2, 2)));
+        assertEquals(new ChessState(1, 1, 4, 3, 2), state);
+        assertEquals(2, state.getMoveCount());
+        assertEquals(1, state.getHistory().size());
+    }
+
+    @Test
+    void testLegalMovesOnLargerBoard() {
+        BoardSpec board = new BoardSpec(12, 10, 9, 3);
+        ChessState largeState = new ChessState(board, 9, 10, 8, 11, 0);
+        Set<TwoPhaseMove<Move>> legalMoves = largeState.getLegalMoves();
+        assertEquals(Set.of(
+                new TwoPhaseMove<>(Move.of(Piece.KNIGHT, 8, 11), Move.of(Piece.KNIGHT, 6, 10)),
+                new TwoPhaseMove<>(Move.of(Piece.KNIGHT, 8, 11), Move.of(Piece.KNIGHT, 7, 9)),
+                new TwoPhaseMove<>(Move.of(Piece.KNIGHT, 8, 11), Move.of(Piece.KNIGHT, 9, 9))), legalMoves);
+        assertEquals(9, largeState.getGoalX());
+        assertEquals(3, largeState.getGoalY());
+        assertSame(board, ((ChessState) largeState.clone()).getBoard());
+    }
+
+    @Test
+    void testLegalMovesIntoBuffer() {
+        Move[] buffer = new Move[ChessState.MAX_MOVES];
+        int count = state.getLegalMoves(buffer);
+        assertEquals(8, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(Piece.KNIGHT, buffer[i].piece());
+            assertTrue(state.isLegalMove(buffer[i]));
+        }
+    }
+
+    @Test
+    void testMakeMoveWithMismatchedPieces() {
+        state.makeMove(new TwoPhaseMove<>(state.getPlacement(Piece.KING), Move.of(Piece.KNIGHT, 4, 3)));
+        assertEquals(new ChessState(2, 1, 2, 2, 0), state);
+        assertEquals(0, state.getMoveCount());
     }
 
     @Test
@@ -128,9 +195,97 @@ class ChessStateTest {
         assertNotEquals(state.hashCode(), differentState.hashCode());
     }
 
+    @Test
+    void testZobristHashFollowsMoves() {
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        long start = state.getZobristHash();
+        assertEquals(Zobrist.hash(2, 1, 2, 2), start);
+
+        state.makeMove(Move.of(Piece.KNIGHT, 1, 0));
+        state.makeMove(Move.of(Piece.KNIGHT, 0, 2));
+        state.makeMove(Move.of(Piece.KING, 1, 2));
+        assertEquals(new ChessState(1, 2, 0, 2, 0).getZobristHash(), state.getZobristHash());
+        assertEquals(Long.hashCode(state.getZobristHash()), state.hashCode());
+
+        state.undo();
+        state.undo();
+        state.undo();
+        assertEquals(start, state.getZobristHash());
+        state.redo();
+        assertEquals(Zobrist.hash(2, 1, 1, 0), state.getZobristHash());
+        assertEquals(state.getZobristHash(), ((ChessState) state.clone()).getZobristHash());
+    }
+
     @Test
     void testToString() {
         String expectedString = "King: (2, 1), Knight: (2, 2)";
         assertEquals(expectedString, state.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUndoAndRedo() {
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        state.makeMove(Move.of(Piece.KNIGHT, 1, 0));
+        state.makeMove(Move.of(Piece.KNIGHT, 0, 2));
+        assertEquals(new ChessState(2, 1, 0, 2, 2), state);
+        assertEquals(2, state.getHistory().size());
+
+        assertTrue(state.undo());
+        assertEquals(new ChessState(2, 1, 1, 0, 1), state);
+        assertEquals(1, state.getMoveCount());
+        assertTrue(state.undo());
+        assertFalse(state.undo());
+        assertEquals(new ChessState(2, 1, 2, 2, 0), state);
+        assertEquals(0, state.getMoveCount());
+
+        assertTrue(state.redo());
+        assertEquals(new ChessState(2, 1, 1, 0, 1), state);
+        state.makeMove(Move.of(Piece.KNIGHT, 2, 2));
+        assertFalse(state.redo());
+        assertEquals(2, state.getMoveCount());
+    }
+
+    @Test
+    void testCloneCopiesHistory() {
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        state.makeMove(Move.of(Piece.KNIGHT, 4, 3));
+        ChessState clone = (ChessState) state.clone();
+        state.undo();
+
+        assertEquals(1, clone.getHistory().size());
+        assertTrue(clone.undo());
+        assertEquals(state, clone);
+    }
+
+    @Test
+    void testCopyPositionDropsHistory() {
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        state.makeMove(Move.of(Piece.KNIGHT, 1, 0));
+        ChessState copy = state.copyPosition();
+
+        assertEquals(state, copy);
+        assertEquals(state.getZobristHash(), copy.getZobristHash());
+        assertEquals(1, copy.getMoveCount());
+        assertFalse(copy.getHistory().canUndo());
+        assertTrue(copy.makeMove(Move.of(Piece.KNIGHT, 2, 2)));
+        assertEquals(2, copy.getMoveCount());
+        assertFalse(copy.getHistory().canUndo());
+        assertFalse(copy.undo());
+        assertEquals(new ChessState(2, 1, 2, 2, 0), copy);
+        assertEquals(copy, copy.clone());
+        assertEquals(1, state.getHistory().size());
+    }
+
+    @Test
+    void testAcceptsUnsharedMoves() {
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        Move from = new Move(Move.of(Piece.KNIGHT, 2, 2).bits());
+        Move to = new Move(Move.of(Piece.KNIGHT, 1, 0).bits());
+
+        assertTrue(state.isLegalToMoveFrom(from));
+        assertTrue(state.isLegalMove(from, to));
+        state.makeMove(new TwoPhaseMove<>(from, to));
+        assertEquals(1, state.getMoveCount());
+        assertEquals(Move.of(Piece.KNIGHT, 1, 0), state.getPlacement(Piece.KNIGHT));
+    }
+}
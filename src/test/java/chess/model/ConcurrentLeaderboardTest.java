@@ -0,0 +1,136 @@
+package chess.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLeaderboardTest {
+    @TempDir
+    Path tempDir;
+    private LeaderboardStore store;
+    private ConcurrentLeaderboard leaderboard;
+
+    @BeforeEach
+    void setup() {
+        store = new LeaderboardStore(tempDir.resolve("leaderboard.json"));
+        leaderboard = new ConcurrentLeaderboard(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderboard.close();
+    }
+
+    @Test
+    void testKeepsMinimum() {
+        assertTrue(leaderboard.update("alice", 12, "2024-05-25 12:00:00"));
+        assertFalse(leaderboard.update("alice", 15, "2024-05-25 12:01:00"));
+        assertTrue(leaderboard.update("alice", 9, "2024-05-25 12:02:00"));
+        assertFalse(leaderboard.update("alice", 9, "2024-05-25 12:03:00"));
+
+        leaderboard.flush();
+        assertEquals(0, leaderboard.getPendingCount());
+        assertEquals(9, store.get("alice").getMoveCount());
+        assertEquals("2024-05-25 12:02:00", store.get("alice").getDateTime());
+    }
+
+    @Test
+    void testRejectsScoresWorseThanStored() {
+        store.update("bob", 8, "2024-05-25 12:00:00");
+        assertFalse(leaderboard.update("bob", 10, "2024-05-25 12:01:00"));
+        assertEquals(0, leaderboard.getPendingCount());
+        assertTrue(leaderboard.update("bob", 7, "2024-05-25 12:02:00"));
+    }
+
+    @Test
+    void testConcurrentUpdatesAreNotLost() throws Exception {
+        int threads = 16;
+        int players = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < players; i++) {
+                        // Every thread scores for every player; thread t scores 100 + t, so thread 0 is the best
+                        leaderboard.update("player" + i, 100 + offset, "2024-05-25 12:00:00");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        leaderboard.flush();
+
+        assertEquals(players, store.size());
+        for (LeaderboardStore.Score score : store.getScores()) {
+            assertEquals(100, score.getMoveCount());
+        }
+    }
+
+    @Test
+    void testBackgroundFlush() throws InterruptedException {
+        leaderboard.update("carol", 5, "2024-05-25 12:00:00");
+        for (int i = 0; i < 100 && leaderboard.getPendingCount() > 0; i++) {
+            Thread.sleep(ConcurrentLeaderboard.FLUSH_INTERVAL_MILLIS);
+        }
+        assertEquals(0, leaderboard.getPendingCount());
+        assertEquals(5, store.get("carol").getMoveCount());
+    }
+
+    @Test
+    void testReloadDropsCache() throws IOException {
+        leaderboard.update("dave", 5, "2024-05-25 12:00:00");
+        leaderboard.flush();
+
+        Files.writeString(store.getSnapshotPath(), "{\"dave\":{\"moveCount\":30,\"dateTime\":\"2024-05-25 12:00:00\"}}");
+        Files.deleteIfExists(store.getLogPath());
+        assertEquals(30, store.get("dave").getMoveCount());
+
+        assertTrue(leaderboard.update("dave", 20, "2024-05-25 12:01:00"));
+        leaderboard.flush();
+        assertEquals(20, store.get("dave").getMoveCount());
+    }
+
+    @Test
+    void testUpdatesAfterCloseAreWritten() {
+        leaderboard.close();
+        assertTrue(leaderboard.update("erin", 11, "2024-05-25 12:00:00"));
+        assertEquals(0, leaderboard.getPendingCount());
+        assertEquals(11, store.get("erin").getMoveCount());
+    }
+
+    @Test
+    void testFailedFlushIsRetried() throws IOException {
+        leaderboard.close();
+        Files.createDirectory(store.getLogPath());
+
+        assertTrue(leaderboard.update("frank", 7, "2024-05-25 12:00:00"));
+        assertEquals(1, leaderboard.getPendingCount());
+        assertNull(store.get("frank"));
+        assertFalse(leaderboard.update("frank", 8, "2024-05-25 12:01:00"));
+
+        Files.delete(store.getLogPath());
+        assertEquals(1, leaderboard.flush());
+        assertEquals(0, leaderboard.getPendingCount());
+        assertEquals(7, new LeaderboardStore(store.getSnapshotPath()).get("frank").getMoveCount());
+    }
+}
@@ -0,0 +1,90 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceTableTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testStartPositionDistance() {
+        DistanceTable table = DistanceTable.forGoal(0, 6);
+        assertEquals(8, table.getDistance(new ChessState(2, 1, 2, 2, 0)));
+        assertEquals(0, table.getDistance(new ChessState(0, 6, 2, 2, 0)));
+        assertEquals(DistanceTable.UNREACHABLE, table.getDistance(new ChessState(0, 0, 7, 7, 0)));
+        assertSame(table, DistanceTable.forGoal(0, 6));
+    }
+
+    @Test
+    void testMatchesSolver() {
+        DistanceTable table = DistanceTable.forGoal(0, 6);
+        ChessSolver solver = new ChessSolver();
+        for (int king = 0; king < PackedChessState.SQUARES; king += 5) {
+            for (int knight = 0; knight < PackedChessState.SQUARES; knight += 3) {
+                if (king != knight) {
+                    ChessState state = PackedChessState.toChessState(PackedChessState.pack(king, knight, 6), 0);
+                    assertEquals(solver.solve(state).getLength(), table.getDistance(state), state.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOptimalMoves() {
+        DistanceTable table = DistanceTable.forGoal(0, 6);
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        while (!state.isSolved()) {
+            int distance = table.getDistance(state);
+            Move move = table.getOptimalMoves(state).iterator().next();
+            state.makeMove(move);
+            assertEquals(distance - 1, table.getDistance(state));
+        }
+        assertEquals(8, state.getMoveCount());
+    }
+
+    @Test
+    void testCounts() {
+        DistanceTable table = DistanceTable.compute(BoardSpec.DEFAULT);
+        int solved = 2 * (PackedChessState.SQUARES - 1);
+        int placements = PackedChessState.SQUARES * (PackedChessState.SQUARES - 1);
+        assertEquals(placements, solved + table.getSolvableCount() + table.getUnsolvableCount());
+        assertTrue(table.getMaxDistance() >= 8);
+    }
+
+    @Test
+    void testLargerBoardMatchesSolver() {
+        BoardSpec board = new BoardSpec(12, 10, 9, 3);
+        DistanceTable table = DistanceTable.forBoard(board);
+        ChessSolver solver = new ChessSolver();
+        for (int king = 0; king < board.getSquares(); king += 7) {
+            for (int knight = 0; knight < board.getSquares(); knight += 5) {
+                if (king != knight) {
+                    ChessState state = new ChessState(board, board.squareX(king), board.squareY(king),
+                            board.squareX(knight), board.squareY(knight), 0);
+                    assertEquals(solver.solve(state).getLength(), table.getDistance(state), state.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        Path file = tempDir.resolve("distances.bin");
+        DistanceTable table = DistanceTable.forBoard(BoardSpec.DEFAULT.withGoal(3, 4), file);
+        DistanceTable loaded = DistanceTable.load(file);
+        assertEquals(3, loaded.getGoalX());
+        assertEquals(4, loaded.getGoalY());
+        assertEquals(table.getMaxDistance(), loaded.getMaxDistance());
+        for (int king = 0; king < PackedChessState.SQUARES; king++) {
+            for (int knight = 0; knight < PackedChessState.SQUARES; knight++) {
+                assertEquals(table.getDistance(king, knight), loaded.getDistance(king, knight));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package chess.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableFilesTest {
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        DurableFiles.setFsyncPolicy(DurableFiles.FsyncPolicy.ALWAYS);
+    }
+
+    @Test
+    void testWriteReplacesContent() throws IOException {
+        Path target = tempDir.resolve("gameState.json");
+        DurableFiles.write(target, "first, and longer".getBytes(StandardCharsets.UTF_8));
+        DurableFiles.write(target, "second".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("second", Files.readString(target));
+        assertFalse(Files.exists(DurableFiles.tempFile(target)));
+    }
+
+    @Test
+    void testWriteWithEveryPolicy() throws IOException {
+        Path target = tempDir.resolve("gameState.json");
+        for (DurableFiles.FsyncPolicy policy : DurableFiles.FsyncPolicy.values()) {
+            DurableFiles.setFsyncPolicy(policy);
+            assertEquals(policy, DurableFiles.getFsyncPolicy());
+            DurableFiles.write(target, policy.name().getBytes(StandardCharsets.UTF_8));
+            assertEquals(policy.name(), Files.readString(target));
+        }
+    }
+
+    @Test
+    void testRecoverDiscardsInterruptedWrite() throws IOException {
+        Path target = tempDir.resolve("gameState.json");
+        DurableFiles.write(target, "saved".getBytes(StandardCharsets.UTF_8));
+        Files.writeString(DurableFiles.tempFile(target), "half-writ");
+
+        assertTrue(DurableFiles.recover(target));
+        assertFalse(DurableFiles.recover(target));
+        assertEquals("saved", Files.readString(target));
+        assertFalse(Files.exists(DurableFiles.tempFile(target)));
+    }
+
+    @Test
+    void testAppendAndRecoverJournal() throws IOException {
+        Path journal = tempDir.resolve("leaderboard.json.log");
+        assertEquals(0, DurableFiles.recoverJournal(journal));
+        DurableFiles.append(journal, "one\n".getBytes(StandardCharsets.UTF_8));
+        DurableFiles.append(journal, "two\n".getBytes(StandardCharsets.UTF_8));
+        DurableFiles.append(journal, "thr".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(3, DurableFiles.recoverJournal(journal));
+        assertEquals(0, DurableFiles.recoverJournal(journal));
+        DurableFiles.append(journal, "four\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals("one\ntwo\nfour\n", Files.readString(journal));
+    }
+
+    @Test
+    void testRecoverJournalWithoutCompleteLine() throws IOException {
+        Path journal = tempDir.resolve("leaderboard.json.log");
+        Files.write(journal, new byte[10_000]);
+
+        assertEquals(10_000, DurableFiles.recoverJournal(journal));
+        assertEquals(0, Files.size(journal));
+    }
+}
@@ -23,23 +23,25 @@ public class GameSaverLoaderTest {
     void setup() {
         gameSaverLoader = new GameSaverLoader();
         filePath = tempDir.resolve("gameState.json");
+        GameSaverLoader.FILE_PATH = filePath.toString();
+        GameSaverLoader.SLOTS_PATH = tempDir.resolve("saves.dat").toString();
     }
 
     @Test
-    public void testSaveGame() throws IOException {
+    public void testSaveGame() {
         int[] kingPosition = {0, 0};
         int[] knightPosition = {1, 1};
         int[] goalPosition = {7, 7};
         int moveCount = 10;
 
-        GameSaverLoader.FILE_PATH = filePath.toString();
-
-        gameSaverLoader.saveGame(kingPosition, knightPosition, goalPosition, moveCount);
+        assertTrue(gameSaverLoader.saveGame(kingPosition, knightPosition, goalPosition, moveCount));
 
-        assertTrue(Files.exists(filePath));
-        String content = new String(Files.readAllBytes(filePath));
-        assertNotNull(content);
-        assertTrue(content.contains("\"moveCount\":10"));
+        assertFalse(Files.exists(filePath));
+        GameSaverLoader.GameState savedGame =
+                gameSaverLoader.loadGame(GameSaverLoader.DEFAULT_USERNAME, GameSaverLoader.DEFAULT_SLOT);
+        assertNotNull(savedGame);
+        assertEquals(10, savedGame.getMoveCount());
+        assertEquals(10, gameSaverLoader.loadGame().getMoveCount());
     }
 
     @Test
@@ -50,8 +52,6 @@ public class GameSaverLoaderTest {
             outputStream.write(json.getBytes(StandardCharsets.UTF_8));
         }
 
-        GameSaverLoader.FILE_PATH = filePath.toString();
-
         GameSaverLoader.GameState loadedGame = gameSaverLoader.loadGame();
 
         assertNotNull(loadedGame);
@@ -61,6 +61,97 @@ public class GameSaverLoaderTest {
         assertEquals(10, loadedGame.getMoveCount());
     }
 
+    @Test
+    public void testDefaultSlotTakesPrecedenceOverFile() throws IOException {
+        String json = "{\"kingPosition\":[0,0],\"knightPosition\":[1,1],\"goalPosition\":[7,7],\"moveCount\":10}";
+        Files.write(filePath, json.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(gameSaverLoader.saveGame(new int[]{2, 1}, new int[]{2, 2}, new int[]{0, 6}, 7));
+
+        assertEquals(7, gameSaverLoader.loadGame().getMoveCount());
+        assertEquals(List.of(), gameSaverLoader.listSlots("alice"));
+    }
+
+    @Test
+    public void testLoadGameWithoutSave() {
+        assertNull(gameSaverLoader.loadGame());
+    }
+
+    @Test
+    public void testSaveAndLoadBoardSize() {
+        gameSaverLoader.saveGame(new int[]{9, 10}, new int[]{8, 11}, new int[]{9, 3}, new int[]{12, 10}, 4);
+        GameSaverLoader.GameState loadedGame = gameSaverLoader.loadGame();
+
+        assertNotNull(loadedGame);
+        assertArrayEquals(new int[]{12, 10}, loadedGame.getBoardSize());
+        assertEquals(new BoardSpec(12, 10, 9, 3), loadedGame.getBoardSpec());
+    }
+
+    @Test
+    public void testLoadGameWithoutBoardSize() throws IOException {
+        String json = "{\"kingPosition\":[0,0],\"knightPosition\":[1,1],\"goalPosition\":[7,7],\"moveCount\":10}";
+        Files.write(filePath, json.getBytes(StandardCharsets.UTF_8));
+
+        GameSaverLoader.GameState loadedGame = gameSaverLoader.loadGame();
+
+        assertNotNull(loadedGame);
+        assertEquals(new BoardSpec(8, 8, 7, 7), loadedGame.getBoardSpec());
+    }
+
+    @Test
+    public void testLoadBinaryFile() throws IOException {
+        Files.write(filePath, GameStateCodec.encode(
+                new GameSaverLoader.GameState(new int[]{2, 1}, new int[]{2, 2}, new int[]{0, 6}, 7)));
+
+        GameSaverLoader.GameState loadedGame = gameSaverLoader.loadGame();
+        assertNotNull(loadedGame);
+        assertArrayEquals(new int[]{2, 1}, loadedGame.getKingPosition());
+        assertArrayEquals(new int[]{2, 2}, loadedGame.getKnightPosition());
+        assertEquals(BoardSpec.DEFAULT, loadedGame.getBoardSpec());
+        assertEquals(7, loadedGame.getMoveCount());
+    }
+
+    @Test
+    public void testLoadCorruptBinary() throws IOException {
+        byte[] content = GameStateCodec.encode(
+                new GameSaverLoader.GameState(new int[]{2, 1}, new int[]{2, 2}, new int[]{0, 6}, 7));
+        content[content.length - 1] ^= 1;
+        Files.write(filePath, content);
+
+        assertNull(gameSaverLoader.loadGame());
+    }
+
+    @Test
+    public void testSaveSlots() {
+        assertTrue(gameSaverLoader.saveGame("alice", 0, new int[]{2, 1}, new int[]{2, 2}, new int[]{0, 6}, new int[]{8, 8}, 3));
+        assertTrue(gameSaverLoader.saveGame("alice", 2, new int[]{9, 10}, new int[]{8, 11}, new int[]{9, 3}, new int[]{12, 10}, 4));
+        assertTrue(gameSaverLoader.saveGame("bob", 0, new int[]{0, 0}, new int[]{1, 1}, new int[]{7, 7}, new int[]{8, 8}, 5));
+
+        assertEquals(List.of(0, 2), gameSaverLoader.listSlots("alice"));
+        assertEquals(3, gameSaverLoader.loadGame("alice", 0).getMoveCount());
+        assertEquals(new BoardSpec(12, 10, 9, 3), gameSaverLoader.loadGame("alice", 2).getBoardSpec());
+        assertEquals(5, gameSaverLoader.loadGame("bob", 0).getMoveCount());
+        assertNull(gameSaverLoader.loadGame("bob", 1));
+        assertFalse(gameSaverLoader.saveGame("bob", -1, new int[]{0, 0}, new int[]{1, 1}, new int[]{7, 7}, new int[]{8, 8}, 5));
+    }
+
+    @Test
+    public void testSaveAndLoadMoves() {
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        state.makeMove(Move.of(Piece.KNIGHT, 1, 0));
+        state.makeMove(Move.of(Piece.KNIGHT, 0, 2));
+        int[] moves = state.getHistory().toArray();
+
+        assertTrue(gameSaverLoader.saveGame(new int[]{2, 1}, new int[]{0, 2}, new int[]{0, 6}, new int[]{8, 8}, 2, moves));
+        GameSaverLoader.GameState loadedGame = gameSaverLoader.loadGame();
+        assertArrayEquals(moves, loadedGame.getMoves());
+
+        ChessState loaded = new ChessState(loadedGame.getBoardSpec(), 2, 1, 0, 2, 2, loadedGame.getHistory());
+        assertTrue(loaded.undo());
+        assertTrue(loaded.undo());
+        assertEquals(new ChessState(2, 1, 2, 2, 0), loaded);
+    }
+
     @Test
     public void testSortGameStatesByMoveCount() {
         List<GameSaverLoader.GameState> gameStates = Arrays.asList(
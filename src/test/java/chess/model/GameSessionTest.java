@@ -0,0 +1,131 @@
+package chess.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionTest {
+    private GameSession session;
+    private List<String> events;
+
+    @BeforeEach
+    void setUp() {
+        session = new GameSession();
+        events = new ArrayList<>();
+        session.setListener(new GameSession.Listener() {
+            @Override
+            public void pieceSelected(Piece piece, Move[] targets, int count) {
+                events.add("selected " + piece + " " + count);
+            }
+
+            @Override
+            public void selectionCleared() {
+                events.add("cleared");
+            }
+
+            @Override
+            public void pieceMoved(Move from, Move to, int moveCount) {
+                events.add("moved " + from + " -> " + to + " " + moveCount);
+            }
+
+            @Override
+            public void gameWon(int moveCount) {
+                events.add("won " + moveCount);
+            }
+
+            @Override
+            public void positionChanged(ChessState state) {
+                events.add("position " + state);
+            }
+        });
+    }
+
+    @Test
+    void testClicksBeforeStart() {
+        assertFalse(session.isStarted());
+        assertFalse(session.click(2, 1));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testSelectAndMoveByClicks() {
+        session.start();
+        assertEquals(List.of("position King: (2, 1), Knight: (2, 2)"), events);
+
+        // The king may not move while it is the knight's turn
+        assertFalse(session.click(2, 1));
+        assertNull(session.getSelectedPiece());
+
+        assertTrue(session.click(2, 2));
+        assertEquals(Piece.KNIGHT, session.getSelectedPiece());
+        assertEquals("selected Knight 8", events.get(1));
+
+        // A square that is not a target deselects
+        assertFalse(session.click(7, 7));
+        assertNull(session.getSelectedPiece());
+        assertEquals("cleared", events.get(2));
+
+        session.click(2, 2);
+        assertTrue(session.click(1, 0));
+        assertEquals("moved Knight 2 2 -> Knight 1 0 1", events.get(4));
+        assertNull(session.getSelectedPiece());
+        assertEquals(new ChessState(2, 1, 1, 0, 1), session.getState());
+    }
+
+    @Test
+    void testWinAndRestart() {
+        session.start();
+        ChessState state = session.getState();
+        for (var move : new ChessSolver().solve(new ChessState(2, 1, 2, 2, 0)).getMoves()) {
+            assertTrue(session.click(move.from().x(), move.from().y()));
+            assertTrue(session.click(move.to().x(), move.to().y()));
+        }
+        assertTrue(session.isWon());
+        assertEquals("won 8", events.get(events.size() - 1));
+        assertFalse(session.move(Move.of(Piece.KING, 2, 2)));
+        assertFalse(session.select(Piece.KNIGHT));
+
+        assertTrue(session.undo());
+        assertFalse(session.isWon());
+        assertTrue(session.redo());
+        assertTrue(session.isWon());
+
+        session.start();
+        assertSame(state, session.getState());
+        assertEquals(new ChessState(2, 1, 2, 2, 0), state);
+        assertEquals(0, state.getMoveCount());
+        assertFalse(state.getHistory().canUndo());
+    }
+
+    @Test
+    void testMoveWithoutSelection() {
+        session.load(new ChessState(2, 1, 0, 2, 3));
+        assertFalse(session.move(Move.of(Piece.KNIGHT, 1, 0)));
+        assertTrue(session.move(Move.of(Piece.KING, 1, 2)));
+        assertEquals(new ChessState(1, 2, 0, 2, 4), session.getState());
+    }
+
+    @Test
+    void testManySimulatedSessions() {
+        session.setListener(null);
+        List<Move> solution = new ArrayList<>();
+        for (var move : new ChessSolver().solve(new ChessState(2, 1, 2, 2, 0)).getMoves()) {
+            solution.add(move.to());
+        }
+        int won = 0;
+        for (int i = 0; i < 100_000; i++) {
+            session.start();
+            for (Move move : solution) {
+                session.move(move);
+            }
+            if (session.isWon()) {
+                won++;
+            }
+        }
+        assertEquals(100_000, won);
+    }
+}
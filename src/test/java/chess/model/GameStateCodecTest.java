@@ -0,0 +1,80 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateCodecTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        GameSaverLoader.GameState gameState = new GameSaverLoader.GameState(
+                new int[]{9, 10}, new int[]{8, 11}, new int[]{9, 3}, new int[]{12, 10}, 123456);
+
+        byte[] data = GameStateCodec.encode(gameState);
+        assertEquals(GameStateCodec.RECORD_SIZE, data.length);
+        assertTrue(GameStateCodec.isBinary(data));
+
+        GameSaverLoader.GameState decoded = GameStateCodec.decode(data);
+        assertArrayEquals(new int[]{9, 10}, decoded.getKingPosition());
+        assertArrayEquals(new int[]{8, 11}, decoded.getKnightPosition());
+        assertArrayEquals(new int[]{9, 3}, decoded.getGoalPosition());
+        assertArrayEquals(new int[]{12, 10}, decoded.getBoardSize());
+        assertEquals(123456, decoded.getMoveCount());
+    }
+
+    @Test
+    void testRoundTripWithMoves() throws IOException {
+        int[] moves = {
+                MoveHistory.pack(Move.of(Piece.KNIGHT, 2, 2), Move.of(Piece.KNIGHT, 4, 3)),
+                MoveHistory.pack(Move.of(Piece.KNIGHT, 4, 3), Move.of(Piece.KNIGHT, 3, 1))
+        };
+        GameSaverLoader.GameState gameState = new GameSaverLoader.GameState(
+                new int[]{2, 1}, new int[]{3, 1}, new int[]{0, 6}, new int[]{8, 8}, 2, moves);
+
+        byte[] data = GameStateCodec.encode(gameState);
+        assertEquals(GameStateCodec.RECORD_SIZE + 4 + 4 * moves.length, data.length);
+        assertEquals(GameStateCodec.VERSION_WITH_MOVES, data[4]);
+        assertArrayEquals(moves, GameStateCodec.decode(data).getMoves());
+        assertEquals(GameStateCodec.RECORD_SIZE, GameStateCodec.encodePosition(gameState).length);
+        assertArrayEquals(new int[0], GameStateCodec.decode(GameStateCodec.encodePosition(gameState)).getMoves());
+
+        data[data.length - 6] ^= 1;
+        assertThrows(IOException.class, () -> GameStateCodec.decode(data));
+        assertThrows(IOException.class, () -> GameStateCodec.decode(Arrays.copyOf(data, data.length - 4)));
+    }
+
+    @Test
+    void testMissingGoalUsesStandardGoal() throws IOException {
+        GameSaverLoader.GameState gameState = new GameSaverLoader.GameState(new int[]{2, 1}, new int[]{2, 2}, null, 0);
+        assertArrayEquals(new int[]{0, 6}, GameStateCodec.decode(GameStateCodec.encode(gameState)).getGoalPosition());
+    }
+
+    @Test
+    void testRejectsCorruptData() {
+        byte[] data = GameStateCodec.encode(
+                new GameSaverLoader.GameState(new int[]{2, 1}, new int[]{2, 2}, new int[]{0, 6}, 3));
+
+        byte[] flipped = data.clone();
+        flipped[17] ^= 1;
+        assertThrows(IOException.class, () -> GameStateCodec.decode(flipped));
+
+        byte[] version = data.clone();
+        version[4] = 99;
+        assertThrows(IOException.class, () -> GameStateCodec.decode(version));
+
+        assertThrows(IOException.class, () -> GameStateCodec.decode(Arrays.copyOf(data, 10)));
+        assertFalse(GameStateCodec.isBinary("{\"moveCount\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(GameStateCodec.isBinary(new byte[]{'C'}));
+    }
+
+    @Test
+    void testRejectsMissingPieces() {
+        assertThrows(IllegalArgumentException.class, () -> GameStateCodec.encode(
+                new GameSaverLoader.GameState(null, new int[]{2, 2}, new int[]{0, 6}, 0)));
+    }
+}
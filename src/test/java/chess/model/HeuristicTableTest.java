@@ -0,0 +1,75 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeuristicTableTest {
+
+    private static void assertAdmissibleAndConsistent(BoardSpec board) {
+        HeuristicTable heuristic = HeuristicTable.compute(board);
+        DistanceTable distances = DistanceTable.compute(board);
+        for (int king = 0; king < board.getSquares(); king++) {
+            for (int knight = 0; knight < board.getSquares(); knight++) {
+                if (king == knight) {
+                    continue;
+                }
+                int distance = distances.getDistance(king, knight);
+                int estimate = heuristic.estimate(king, knight);
+                String placement = board + " king " + king + " knight " + knight;
+                if (estimate == HeuristicTable.UNREACHABLE) {
+                    assertEquals(DistanceTable.UNREACHABLE, distance, placement);
+                    continue;
+                }
+                assertTrue(distance == DistanceTable.UNREACHABLE || estimate <= distance, placement);
+                ChessState state = new ChessState(board, board.squareX(king), board.squareY(king),
+                        board.squareX(knight), board.squareY(knight), 0);
+                if (state.isSolved()) {
+                    assertEquals(0, estimate, placement);
+                    continue;
+                }
+                for (TwoPhaseMove<Move> move : state.getLegalMoves()) {
+                    ChessState next = (ChessState) state.clone();
+                    next.makeMove(move);
+                    int nextEstimate = heuristic.estimate(next);
+                    assertTrue(nextEstimate == HeuristicTable.UNREACHABLE || estimate <= nextEstimate + 1, placement);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testAdmissibleAndConsistentOnDefaultBoard() {
+        assertAdmissibleAndConsistent(BoardSpec.DEFAULT);
+        assertAdmissibleAndConsistent(BoardSpec.DEFAULT.withGoal(3, 4));
+        assertAdmissibleAndConsistent(BoardSpec.DEFAULT.withGoal(7, 0));
+    }
+
+    @Test
+    void testAdmissibleAndConsistentOnOtherBoards() {
+        assertAdmissibleAndConsistent(new BoardSpec(12, 10, 9, 3));
+        assertAdmissibleAndConsistent(new BoardSpec(5, 9, 0, 0));
+    }
+
+    @Test
+    void testEstimates() {
+        HeuristicTable heuristic = HeuristicTable.forBoard(BoardSpec.DEFAULT);
+        assertSame(heuristic, HeuristicTable.forBoard(BoardSpec.DEFAULT));
+        assertEquals(0, heuristic.estimate(new ChessState(0, 6, 2, 2, 0)));
+        assertEquals(HeuristicTable.UNREACHABLE, heuristic.estimate(new ChessState(0, 0, 7, 7, 0)));
+        int estimate = heuristic.estimate(new ChessState(2, 1, 2, 2, 0));
+        assertTrue(estimate > 0 && estimate <= 8);
+    }
+
+    @Test
+    void testLargeBoardEstimateGrowsWithDistance() {
+        BoardSpec board = new BoardSpec(BoardSpec.MAX_SIZE, BoardSpec.MAX_SIZE, 0, 0);
+        HeuristicTable heuristic = HeuristicTable.forBoard(board);
+        int near = heuristic.estimate(board.square(4, 4), board.square(4, 5));
+        int far = heuristic.estimate(board.square(60, 60), board.square(60, 61));
+        // The king alone needs 60 steps, and every king step needs knight moves in between
+        assertTrue(far > 60, String.valueOf(far));
+        assertTrue(near < far);
+    }
+}
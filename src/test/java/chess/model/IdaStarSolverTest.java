@@ -0,0 +1,112 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdaStarSolverTest {
+    private final IdaStarSolver solver = new IdaStarSolver();
+
+    private static void assertReplaysToGoal(ChessState initialState, Solution solution) {
+        ChessState replay = (ChessState) initialState.clone();
+        for (TwoPhaseMove<Move> move : solution.getMoves()) {
+            assertTrue(replay.isLegalToMoveFrom(move.from()));
+            assertTrue(replay.isLegalMove(move));
+            replay.makeMove(move);
+        }
+        assertTrue(replay.isSolved());
+    }
+
+    @Test
+    void testSolveStartPosition() {
+        ChessState initialState = new ChessState(2, 1, 2, 2, 0);
+        Solution solution = solver.solve(initialState);
+
+        assertTrue(solution.isSolved());
+        assertTrue(solution.isComplete());
+        assertEquals(8, solution.getLength());
+        assertEquals(8, solution.getLowerBound());
+        assertTrue(solution.getNodesExpanded() > 0);
+        assertEquals(new ChessState(2, 1, 2, 2, 0), initialState);
+        assertReplaysToGoal(initialState, solution);
+    }
+
+    @Test
+    void testSolveAlreadySolved() {
+        Solution solution = solver.solve(new ChessState(0, 6, 2, 2, 0));
+        assertTrue(solution.isSolved());
+        assertEquals(0, solution.getLength());
+    }
+
+    @Test
+    void testSolveDeadPosition() {
+        Solution solution = solver.solve(new ChessState(0, 0, 7, 7, 0));
+        assertFalse(solution.isSolved());
+        assertTrue(solution.isComplete());
+        assertEquals(-1, solution.getLowerBound());
+    }
+
+    @Test
+    void testMatchesDistanceTable() {
+        BoardSpec board = new BoardSpec(12, 10, 9, 3);
+        DistanceTable table = DistanceTable.forBoard(board);
+        IdaStarSolver tableSolver = new IdaStarSolver(new TranspositionTable(1 << 12), Long.MAX_VALUE, null);
+        for (int king = 0; king < board.getSquares(); king += 7) {
+            for (int knight = 0; knight < board.getSquares(); knight += 5) {
+                if (king != knight) {
+                    ChessState state = new ChessState(board, board.squareX(king), board.squareY(king),
+                            board.squareX(knight), board.squareY(knight), 0);
+                    for (IdaStarSolver each : new IdaStarSolver[]{solver, tableSolver}) {
+                        Solution solution = each.solve(state);
+                        assertEquals(table.getDistance(state), solution.getLength(), state.toString());
+                        if (solution.isSolved()) {
+                            assertReplaysToGoal(state, solution);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTranspositionTableSavesExpansions() {
+        BoardSpec board = new BoardSpec(BoardSpec.MAX_SIZE, BoardSpec.MAX_SIZE, 0, 0);
+        ChessState initialState = new ChessState(board, 20, 20, 21, 22, 0);
+        Solution expected = new AStarSolver().solve(initialState);
+        Solution plain = solver.solve(initialState);
+        Solution cached = new IdaStarSolver(new TranspositionTable(1 << 16), Long.MAX_VALUE, null)
+                .solve(initialState);
+
+        assertEquals(expected.getLength(), plain.getLength());
+        assertEquals(expected.getLength(), cached.getLength());
+        assertTrue(cached.getNodesExpanded() <= plain.getNodesExpanded(), cached + " vs " + plain);
+        assertReplaysToGoal(initialState, cached);
+    }
+
+    @Test
+    void testNodeBudgetReturnsLowerBound() {
+        BoardSpec board = new BoardSpec(BoardSpec.MAX_SIZE, BoardSpec.MAX_SIZE, 0, 0);
+        ChessState initialState = new ChessState(board, 60, 60, 61, 62, 0);
+        int distance = new AStarSolver().solve(initialState).getLength();
+        Solution solution = new IdaStarSolver(null, 100, null).solve(initialState);
+
+        assertFalse(solution.isSolved());
+        assertFalse(solution.isComplete());
+        assertEquals(-1, solution.getLength());
+        assertTrue(solution.getNodesExpanded() <= 100);
+        assertTrue(solution.getLowerBound() > 0 && solution.getLowerBound() <= distance, solution.toString());
+    }
+
+    @Test
+    void testTimeBudget() {
+        BoardSpec board = new BoardSpec(BoardSpec.MAX_SIZE, BoardSpec.MAX_SIZE, 0, 0);
+        ChessState initialState = new ChessState(board, 60, 60, 61, 62, 0);
+        Solution solution = new IdaStarSolver(null, Long.MAX_VALUE, Duration.ofNanos(1)).solve(initialState);
+        assertFalse(solution.isComplete());
+        assertThrows(IllegalArgumentException.class, () -> new IdaStarSolver(null, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> new IdaStarSolver(null, 1, Duration.ZERO));
+    }
+}
@@ -71,4 +71,12 @@ public class LeaderboardEntryTest {
         leaderboardEntry.datetimeProperty().set("2024-07-01T12:00:00");
         assertEquals("2024-07-01T12:00:00", leaderboardEntry.getDatetime());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRank() {
+        assertEquals(0, leaderboardEntry.getRank());
+        leaderboardEntry.setRank(3);
+        assertEquals(3, leaderboardEntry.rankProperty().get());
+        assertEquals(7, new LeaderboardEntry(7, "user", 10, "2024-05-26T15:30:00").getRank());
+    }
+}
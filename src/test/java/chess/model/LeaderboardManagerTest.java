@@ -10,6 +10,7 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -101,4 +102,23 @@ public class LeaderboardManagerTest {
         assertEquals(10, userDetails.get("moveCount").getAsInt());
         assertEquals("2024-05-25 12:00:00", userDetails.get("dateTime").getAsString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPageAndRank() {
+        leaderboardManager.updateLeaderboard("third", 30);
+        leaderboardManager.updateLeaderboard("first", 10);
+        leaderboardManager.updateLeaderboard("second", 20);
+
+        assertEquals(3, leaderboardManager.size());
+        assertEquals(2, leaderboardManager.rankOf("second"));
+        assertEquals(-1, leaderboardManager.rankOf("nobody"));
+
+        List<LeaderboardEntry> page = leaderboardManager.page(1, 5);
+        assertEquals(2, page.size());
+        assertEquals("second", page.get(0).getUsername());
+        assertEquals(2, page.get(0).getRank());
+        assertEquals("third", page.get(1).getUsername());
+        assertEquals(3, page.get(1).getRank());
+        assertEquals("first", leaderboardManager.topN(1).get(0).getUsername());
+    }
+}
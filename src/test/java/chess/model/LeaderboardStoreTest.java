@@ -0,0 +1,173 @@
+package chess.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardStoreTest {
+    @TempDir
+    Path tempDir;
+    private Path snapshotPath;
+    private LeaderboardStore store;
+
+    @BeforeEach
+    void setup() {
+        snapshotPath = tempDir.resolve("leaderboard.json");
+        store = new LeaderboardStore(snapshotPath);
+    }
+
+    @Test
+    void testUpdateAllAppendsImprovedScoresOnce() throws IOException {
+        store.update("alice", 10, "2024-05-25 12:00:00");
+        long generation = store.getGeneration();
+
+        int improved = store.updateAll(List.of(
+                new LeaderboardStore.Score("alice", 12, "2024-05-25 12:01:00"),
+                new LeaderboardStore.Score("bob", 8, "2024-05-25 12:02:00"),
+                new LeaderboardStore.Score("carol", 9, "2024-05-25 12:03:00")));
+
+        assertEquals(2, improved);
+        assertEquals(3, Files.readAllLines(store.getLogPath()).size());
+        assertEquals(List.of("bob", "carol", "alice"),
+                store.getScores().stream().map(LeaderboardStore.Score::getUsername).toList());
+        assertEquals(generation, store.getGeneration());
+        assertEquals(0, store.updateAll(List.of()));
+    }
+
+    @Test
+    void testUpdateKeepsBestScore() {
+        assertTrue(store.update("alice", 12, "2024-05-25 12:00:00"));
+        assertFalse(store.update("alice", 15, "2024-05-25 12:05:00"));
+        assertFalse(store.update("alice", 12, "2024-05-25 12:06:00"));
+        assertTrue(store.update("alice", 9, "2024-05-25 12:10:00"));
+
+        LeaderboardStore.Score score = store.get("alice");
+        assertEquals(9, score.getMoveCount());
+        assertEquals("2024-05-25 12:10:00", score.getDateTime());
+        assertEquals(1, store.size());
+        assertNull(store.get("bob"));
+    }
+
+    @Test
+    void testScoresAreOrderedByRank() {
+        store.update("carol", 10, "d");
+        store.update("alice", 8, "d");
+        store.update("bob", 10, "d");
+        store.update("dave", 20, "d");
+        store.update("dave", 5, "d");
+
+        List<String> usernames = store.getScores().stream().map(LeaderboardStore.Score::getUsername).toList();
+        assertEquals(List.of("dave", "alice", "bob", "carol"), usernames);
+    }
+
+    @Test
+    void testRankQueries() {
+        for (int i = 0; i < 50; i++) {
+            store.update("player" + i, 100 - i, "d");
+        }
+
+        assertEquals(1, store.rankOf("player49"));
+        assertEquals(50, store.rankOf("player0"));
+        assertEquals(-1, store.rankOf("nobody"));
+        assertEquals(List.of("player49", "player48", "player47"),
+                store.topN(3).stream().map(LeaderboardStore.Score::getUsername).toList());
+        assertEquals(List.of("player39", "player38"),
+                store.page(10, 2).stream().map(LeaderboardStore.Score::getUsername).toList());
+        assertEquals(5, store.page(45, 10).size());
+
+        store.update("player0", 1, "e");
+        assertEquals(1, store.rankOf("player0"));
+        assertEquals(2, store.rankOf("player49"));
+    }
+
+    @Test
+    void testUpdatesAreAppendedToLog() throws IOException {
+        store.update("alice", 12, "d");
+        store.update("bob", 10, "d");
+
+        assertFalse(Files.exists(snapshotPath));
+        assertEquals(2, Files.readAllLines(store.getLogPath()).size());
+
+        LeaderboardStore reopened = new LeaderboardStore(snapshotPath);
+        assertEquals(store.getScores(), reopened.getScores());
+    }
+
+    @Test
+    void testCompaction() throws IOException {
+        for (int i = 0; i < LeaderboardStore.MIN_COMPACTION_THRESHOLD; i++) {
+            store.update("player" + i, 100 - i % 50, "d");
+        }
+
+        assertFalse(Files.exists(store.getLogPath()));
+        String snapshot = Files.readString(snapshotPath, StandardCharsets.UTF_8);
+        assertTrue(snapshot.contains("\"player0\":{\"moveCount\":100,\"dateTime\":\"d\"}"));
+
+        store.update("player0", 1, "e");
+        LeaderboardStore reopened = new LeaderboardStore(snapshotPath);
+        assertEquals(LeaderboardStore.MIN_COMPACTION_THRESHOLD, reopened.size());
+        assertEquals(1, reopened.get("player0").getMoveCount());
+        assertEquals(store.getScores(), reopened.getScores());
+    }
+
+    @Test
+    void testTornLogLineIsSkipped() throws IOException {
+        store.update("alice", 12, "d");
+        Files.writeString(store.getLogPath(), "{\"username\":\"bob\",\"mov", StandardOpenOption.APPEND);
+
+        LeaderboardStore reopened = new LeaderboardStore(snapshotPath);
+        assertEquals(1, reopened.size());
+        assertEquals(12, reopened.get("alice").getMoveCount());
+
+        reopened.update("carol", 5, "d");
+        assertEquals(5, new LeaderboardStore(snapshotPath).get("carol").getMoveCount());
+    }
+
+    @Test
+    void testExternalSnapshotChangeIsReloaded() throws IOException {
+        store.update("alice", 12, "d");
+        store.compact();
+        Files.writeString(snapshotPath, "{\"bob\":{\"moveCount\":7,\"dateTime\":\"2024-05-25 12:00:00\"}}");
+
+        assertNull(store.get("alice"));
+        assertEquals(7, store.get("bob").getMoveCount());
+    }
+
+    @Test
+    void testMalformedSnapshotEntriesAreSkipped() throws IOException {
+        Files.writeString(snapshotPath, "{\"alice\":{\"moveCount\":\"many\",\"dateTime\":\"d\"},"
+                + "\"bob\":{\"moveCount\":[7],\"dateTime\":\"d\"},"
+                + "\"carol\":{\"moveCount\":7,\"dateTime\":{}},"
+                + "\"dave\":{\"moveCount\":9,\"dateTime\":\"2024-05-25 12:00:00\"}}");
+
+        LeaderboardStore reopened = new LeaderboardStore(snapshotPath);
+        assertEquals(1, reopened.size());
+        assertEquals(9, reopened.get("dave").getMoveCount());
+    }
+
+    @Test
+    void testFailedAppendLeavesStoreUnchanged() throws IOException {
+        store.update("alice", 12, "d");
+        Files.delete(store.getLogPath());
+        Files.createDirectory(store.getLogPath());
+
+        assertThrows(UncheckedIOException.class, () -> store.update("alice", 10, "d"));
+        assertThrows(UncheckedIOException.class, () -> store.updateAll(List.of(
+                new LeaderboardStore.Score("alice", 9, "d"),
+                new LeaderboardStore.Score("bob", 8, "d"))));
+
+        assertEquals(1, store.size());
+        assertEquals(12, store.get("alice").getMoveCount());
+        assertNull(store.get("bob"));
+        assertEquals(List.of("alice"), store.getScores().stream().map(LeaderboardStore.Score::getUsername).toList());
+    }
+}
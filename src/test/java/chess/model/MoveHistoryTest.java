@@ -0,0 +1,79 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveHistoryTest {
+
+    @Test
+    void testPackAndUnpack() {
+        Move from = Move.of(Piece.KNIGHT, 63, 62);
+        Move to = Move.of(Piece.KNIGHT, 61, 61);
+        int move = MoveHistory.pack(from, to);
+        assertSame(from, MoveHistory.from(move));
+        assertSame(to, MoveHistory.to(move));
+        assertThrows(IllegalArgumentException.class, () -> MoveHistory.from(0xFFFF0000));
+    }
+
+    @Test
+    void testUndoAndRedo() {
+        MoveHistory history = new MoveHistory();
+        assertFalse(history.canUndo());
+        assertFalse(history.canRedo());
+        for (int i = 0; i < 100; i++) {
+            history.record(Move.of(Piece.KING, i % 8, 0), Move.of(Piece.KING, i % 8, 1));
+        }
+        assertEquals(100, history.size());
+
+        assertEquals(MoveHistory.pack(Move.of(Piece.KING, 3, 0), Move.of(Piece.KING, 3, 1)), history.undo());
+        history.undo();
+        assertEquals(98, history.size());
+        assertTrue(history.canRedo());
+        history.redo();
+        assertEquals(99, history.size());
+
+        history.record(Move.of(Piece.KNIGHT, 0, 0), Move.of(Piece.KNIGHT, 1, 2));
+        assertFalse(history.canRedo());
+        assertThrows(IllegalStateException.class, history::redo);
+        assertEquals(Move.of(Piece.KNIGHT, 1, 2), MoveHistory.to(history.get(99)));
+
+        history.clear();
+        assertFalse(history.canUndo());
+        assertThrows(IllegalStateException.class, history::undo);
+    }
+
+    @Test
+    void testCopyAndArray() {
+        MoveHistory history = new MoveHistory();
+        history.record(Move.of(Piece.KING, 2, 1), Move.of(Piece.KING, 1, 1));
+        history.record(Move.of(Piece.KING, 1, 1), Move.of(Piece.KING, 0, 1));
+        history.undo();
+
+        MoveHistory copy = history.copy();
+        history.record(Move.of(Piece.KNIGHT, 2, 2), Move.of(Piece.KNIGHT, 0, 3));
+        assertTrue(copy.canRedo());
+        assertEquals(1, copy.toArray().length);
+        assertArrayEquals(history.toArray(), MoveHistory.of(history.toArray()).toArray());
+        assertThrows(IllegalArgumentException.class, () -> MoveHistory.of(
+                new int[]{MoveHistory.pack(Move.of(Piece.KING, 0, 0), Move.of(Piece.KNIGHT, 1, 2))}));
+    }
+
+    @Test
+    void testReplay() {
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        ChessSolver solver = new ChessSolver();
+        for (var move : solver.solve(state).getMoves()) {
+            state.makeMove(move);
+        }
+        assertTrue(state.isSolved());
+        int[] moves = state.getHistory().toArray();
+
+        assertEquals(-1, MoveHistory.of(moves).replay(new ChessState(2, 1, 2, 2, 0)));
+
+        int[] tampered = moves.clone();
+        tampered[3] = MoveHistory.pack(MoveHistory.from(moves[3]), Move.of(MoveHistory.from(moves[3]).piece(), 7, 7));
+        assertEquals(3, MoveHistory.of(tampered).replay(new ChessState(2, 1, 2, 2, 0)));
+        assertEquals(0, MoveHistory.of(moves).replay(new ChessState(2, 1, 3, 3, 0)));
+    }
+}
@@ -0,0 +1,42 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveTest {
+
+    @Test
+    void testAccessors() {
+        Move move = Move.of(Piece.KNIGHT, 4, 63);
+        assertEquals(Piece.KNIGHT, move.piece());
+        assertEquals(4, move.x());
+        assertEquals(63, move.y());
+        assertEquals(Piece.KING, Move.of(Piece.KING, 0, 0).piece());
+    }
+
+    @Test
+    void testFlyweight() {
+        assertSame(Move.of(Piece.KING, 3, 4), Move.of(Piece.KING, 3, 4));
+        assertSame(Move.of(Piece.KING, 3, 4), Move.of(Move.of(Piece.KING, 3, 4).bits()));
+        assertEquals(Move.of(Piece.KING, 3, 4), new Move(Move.of(Piece.KING, 3, 4).bits()));
+        assertNotEquals(Move.of(Piece.KING, 3, 4), Move.of(Piece.KNIGHT, 3, 4));
+    }
+
+    @Test
+    void testToStringAndParse() {
+        Move move = Move.of(Piece.KING, 3, 4);
+        assertEquals("King 3 4", move.toString());
+        assertSame(move, Move.parse("King 3 4"));
+        assertSame(Move.of(Piece.KNIGHT, 0, 6), Move.parse("Knight 0 6"));
+        assertThrows(IllegalArgumentException.class, () -> Move.parse("Queen 1 1"));
+        assertThrows(IllegalArgumentException.class, () -> Move.parse("King 1"));
+    }
+
+    @Test
+    void testInvalidSquares() {
+        assertThrows(IllegalArgumentException.class, () -> Move.of(Piece.KING, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> Move.of(Piece.KING, 0, BoardSpec.MAX_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> new Move((short) -1));
+    }
+}
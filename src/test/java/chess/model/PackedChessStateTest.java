@@ -0,0 +1,65 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedChessStateTest {
+
+    @Test
+    void testPackAndUnpack() {
+        int state = PackedChessState.pack(2, 1, 2, 2, 0, 6);
+        assertEquals(PackedChessState.square(2, 1), PackedChessState.kingSquare(state));
+        assertEquals(PackedChessState.square(2, 2), PackedChessState.knightSquare(state));
+        assertEquals(PackedChessState.square(0, 6), PackedChessState.goalSquare(state));
+        assertEquals(new ChessState(2, 1, 2, 2, 0), PackedChessState.toChessState(state, 0));
+        assertEquals(state, PackedChessState.of(new ChessState(2, 1, 2, 2, 0)));
+    }
+
+    @Test
+    void testAttackTables() {
+        assertEquals(3, Long.bitCount(PackedChessState.kingAttacks(PackedChessState.square(0, 0))));
+        assertEquals(8, Long.bitCount(PackedChessState.kingAttacks(PackedChessState.square(3, 3))));
+        assertEquals(2, Long.bitCount(PackedChessState.knightAttacks(PackedChessState.square(0, 0))));
+        assertEquals(8, Long.bitCount(PackedChessState.knightAttacks(PackedChessState.square(3, 3))));
+    }
+
+    @Test
+    void testIsSolved() {
+        assertFalse(PackedChessState.isSolved(PackedChessState.pack(2, 1, 2, 2, 0, 6)));
+        assertTrue(PackedChessState.isSolved(PackedChessState.pack(0, 6, 2, 2, 0, 6)));
+        assertTrue(PackedChessState.isSolved(PackedChessState.pack(2, 2, 0, 6, 0, 6)));
+    }
+
+    @Test
+    void testGenerateMovesMatchesChessState() {
+        int[] buffer = new int[PackedChessState.MAX_MOVES];
+        for (int king = 0; king < PackedChessState.SQUARES; king++) {
+            for (int knight = 0; knight < PackedChessState.SQUARES; knight++) {
+                if (king == knight) {
+                    continue;
+                }
+                int state = PackedChessState.pack(king, knight, PackedChessState.square(0, 6));
+                ChessState chessState = PackedChessState.toChessState(state, 0);
+                assertEquals(chessState.getLegalMoves(), PackedChessState.getLegalMoves(state));
+
+                int count = PackedChessState.generateMoves(state, buffer);
+                for (int i = 0; i < count; i++) {
+                    assertTrue(PackedChessState.isLegalMove(state, buffer[i]));
+                    ChessState expected = (ChessState) chessState.clone();
+                    expected.makeMove(PackedChessState.toMove(buffer[i]));
+                    assertEquals(expected, PackedChessState.toChessState(PackedChessState.applyMove(state, buffer[i]), 1));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMoveConversion() {
+        Move move = Move.of(Piece.KNIGHT, 4, 3);
+        int packed = PackedChessState.fromMove(move);
+        assertTrue(PackedChessState.isKnightMove(packed));
+        assertEquals(PackedChessState.square(4, 3), PackedChessState.moveTarget(packed));
+        assertSame(move, PackedChessState.toMove(packed));
+    }
+}
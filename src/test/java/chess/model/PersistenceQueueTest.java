@@ -0,0 +1,92 @@
+package chess.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceQueueTest {
+    private final PersistenceQueue queue = new PersistenceQueue();
+
+    @AfterEach
+    void tearDown() {
+        queue.close();
+    }
+
+    @Test
+    void testOperationsRunInOrder() throws Exception {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            futures.add(queue.submit(() -> {
+                order.add(value);
+                return value;
+            }));
+        }
+        assertTrue(queue.flush(5000));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, order.get(i));
+            assertEquals(i, futures.get(i).get());
+        }
+    }
+
+    @Test
+    void testPendingOperationsWithTheSameKeyAreCoalesced() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        queue.submit(() -> {
+            blocked.await();
+            return null;
+        });
+
+        AtomicInteger runs = new AtomicInteger();
+        CompletableFuture<Integer> first = queue.submit("save", () -> {
+            runs.incrementAndGet();
+            return 1;
+        });
+        CompletableFuture<Integer> second = queue.submit("save", () -> {
+            runs.incrementAndGet();
+            return 2;
+        });
+        CompletableFuture<Integer> other = queue.submit("other", () -> 3);
+        assertSame(first, second);
+
+        blocked.countDown();
+        assertEquals(2, first.get());
+        assertEquals(3, other.get());
+        assertEquals(1, runs.get());
+
+        CompletableFuture<Integer> third = queue.submit("save", () -> 4);
+        assertNotSame(first, third);
+        assertEquals(4, third.get());
+    }
+
+    @Test
+    void testFailureCompletesExceptionally() {
+        CompletableFuture<Object> future = queue.submit(() -> {
+            throw new IOException("disk full");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IOException.class, e.getCause());
+        assertTrue(queue.flush(5000));
+    }
+
+    @Test
+    void testCloseRunsQueuedOperations() {
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            queue.submit(runs::incrementAndGet);
+        }
+        queue.close();
+        assertEquals(10, runs.get());
+    }
+}
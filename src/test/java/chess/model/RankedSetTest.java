@@ -0,0 +1,62 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedSetTest {
+
+    @Test
+    void testMatchesTreeSet() {
+        Random random = new Random(42);
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+
+        List<Integer> values = new ArrayList<>(expected);
+        assertEquals(values, set.range(0, set.size()));
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i), set.get(i));
+            assertEquals(i, set.rank(values.get(i)));
+        }
+        assertEquals(expected.headSet(250).size(), set.rank(250));
+    }
+
+    @Test
+    void testRange() {
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+        for (int i = 0; i < 100; i++) {
+            set.add(i * 2);
+        }
+        assertEquals(List.of(20, 22, 24), set.range(10, 3));
+        assertEquals(List.of(196, 198), set.range(98, 10));
+        assertEquals(List.of(), set.range(100, 10));
+        assertEquals(List.of(0, 2), set.range(-5, 2));
+        assertEquals(100, set.range(0, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void testGetOutOfBounds() {
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+        set.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(-1));
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(1));
+    }
+}
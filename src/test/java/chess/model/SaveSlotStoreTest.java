@@ -0,0 +1,174 @@
+package chess.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveSlotStoreTest {
+    @TempDir
+    Path tempDir;
+    private Path path;
+    private SaveSlotStore store;
+
+    @BeforeEach
+    void setup() throws IOException {
+        path = tempDir.resolve("saves.dat");
+        store = new SaveSlotStore(path);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    private static GameSaverLoader.GameState game(int moveCount) {
+        return new GameSaverLoader.GameState(new int[]{2, 1}, new int[]{2, 2}, new int[]{0, 6}, moveCount);
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        store.save("alice", 0, game(1));
+        store.save("alice", 3, game(3));
+        store.save("bob", 0, game(7));
+
+        assertEquals(1, store.load("alice", 0).getMoveCount());
+        assertEquals(3, store.load("alice", 3).getMoveCount());
+        assertEquals(7, store.load("bob", 0).getMoveCount());
+        assertNull(store.load("alice", 1));
+        assertNull(store.load("carol", 0));
+        assertEquals(List.of(0, 3), store.listSlots("alice"));
+        assertEquals(List.of(), store.listSlots("carol"));
+    }
+
+    @Test
+    void testOverwriteReusesRecords() throws IOException {
+        for (int i = 0; i < 1000; i++) {
+            store.save("alice", 0, game(i));
+        }
+        assertEquals(999, store.load("alice", 0).getMoveCount());
+        assertTrue(Files.size(path) <= SaveSlotStore.HEADER_SIZE + 64L * SaveSlotStore.RECORD_SIZE);
+    }
+
+    @Test
+    void testGrowAndReopen() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            store.save("user" + i, i % 4, game(i));
+        }
+        store.delete("user7", 3);
+        store.close();
+
+        store = new SaveSlotStore(path);
+        for (int i = 0; i < 500; i++) {
+            if (i != 7) {
+                assertEquals(i, store.load("user" + i, i % 4).getMoveCount());
+            }
+        }
+        assertNull(store.load("user7", 3));
+        assertFalse(store.delete("user7", 3));
+    }
+
+    @Test
+    void testConcurrentReaders() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            store.save("user" + i, 0, game(i));
+        }
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            try {
+                assertEquals(i % 100, store.load("user" + i % 100, 0).getMoveCount());
+            } catch (IOException e) {
+                fail(e);
+            }
+        });
+    }
+
+    @Test
+    void testCorruptRecordIsSkipped() throws IOException {
+        store.save("alice", 0, game(1));
+        store.save("bob", 0, game(2));
+        store.close();
+
+        byte[] content = Files.readAllBytes(path);
+        content[SaveSlotStore.HEADER_SIZE + 40] ^= 1;
+        Files.write(path, content);
+
+        store = new SaveSlotStore(path);
+        assertNull(store.load("alice", 0));
+        assertEquals(2, store.load("bob", 0).getMoveCount());
+    }
+
+    @Test
+    void testLongUsernameSpansRecords() throws IOException {
+        String username = "a long username, ".repeat(10) + "\u00e9";
+        store.save(username, 0, game(4));
+        store.save(username, 0, game(5));
+        store.save("bob", 0, game(6));
+        store.close();
+
+        store = new SaveSlotStore(path);
+        assertEquals(5, store.load(username, 0).getMoveCount());
+        assertEquals(6, store.load("bob", 0).getMoveCount());
+        assertTrue(store.delete(username, 0));
+        assertNull(store.load(username, 0));
+    }
+
+    @Test
+    void testSavesMoves() throws IOException {
+        Move start = Move.of(Piece.KNIGHT, 2, 2);
+        Move jump = Move.of(Piece.KNIGHT, 0, 1);
+        int[] moves = new int[40];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = i % 2 == 0 ? MoveHistory.pack(start, jump) : MoveHistory.pack(jump, start);
+        }
+        store.save("alice", 0, new GameSaverLoader.GameState(new int[]{2, 1}, new int[]{2, 2}, new int[]{0, 6},
+                new int[]{8, 8}, moves.length, moves));
+        store.close();
+
+        store = new SaveSlotStore(path);
+        GameSaverLoader.GameState loaded = store.load("alice", 0);
+        assertEquals(moves.length, loaded.getMoveCount());
+        assertArrayEquals(moves, loaded.getMoves());
+        assertEquals(moves.length, loaded.getHistory().size());
+    }
+
+    @Test
+    void testIncompleteSaveIsSkipped() throws IOException {
+        String username = "x".repeat(100);
+        store.save(username, 0, game(1));
+        store.save("bob", 0, game(2));
+        store.close();
+
+        // Corrupt the second record of the first save
+        byte[] content = Files.readAllBytes(path);
+        content[SaveSlotStore.HEADER_SIZE + SaveSlotStore.RECORD_SIZE + 20] ^= 1;
+        Files.write(path, content);
+
+        store = new SaveSlotStore(path);
+        assertNull(store.load(username, 0));
+        assertEquals(2, store.load("bob", 0).getMoveCount());
+        store.close();
+
+        store = new SaveSlotStore(path);
+        assertNull(store.load(username, 0));
+    }
+
+    @Test
+    void testInvalidArguments() throws IOException {
+        assertThrows(IllegalArgumentException.class,
+                () -> store.save("a".repeat(SaveSlotStore.MAX_USERNAME_BYTES + 1), 0, game(1)));
+        assertThrows(IllegalArgumentException.class, () -> store.save("", 0, game(1)));
+        assertThrows(IllegalArgumentException.class, () -> store.save("alice", 256, game(1)));
+
+        Path other = tempDir.resolve("other.dat");
+        Files.writeString(other, "this is not a save store");
+        assertThrows(IOException.class, () -> new SaveSlotStore(other));
+    }
+}
@@ -0,0 +1,109 @@
+package chess.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubmissionVerifierTest {
+    @TempDir
+    Path tempDir;
+    private LeaderboardManager leaderboardManager;
+    private SubmissionVerifier verifier;
+    private int[] solution;
+
+    @BeforeEach
+    void setup() {
+        LeaderboardManager.FILE_PATH = tempDir.resolve("leaderboard.json").toString();
+        leaderboardManager = new LeaderboardManager();
+        verifier = new SubmissionVerifier(leaderboardManager);
+
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        for (var move : new ChessSolver().solve(state).getMoves()) {
+            state.makeMove(move);
+        }
+        solution = state.getHistory().toArray();
+    }
+
+    @Test
+    void testAcceptsOptimalSolution() {
+        assertEquals(8, verifier.getOptimum());
+        assertEquals(SubmissionVerifier.Verdict.ACCEPTED, verifier.verify(solution));
+        assertEquals(SubmissionVerifier.Verdict.ACCEPTED, verifier.submit("alice", solution));
+        assertEquals(1, leaderboardManager.rankOf("alice"));
+        assertEquals(8, leaderboardManager.getEntries().get(0).getScore());
+    }
+
+    @Test
+    void testRejectsShortAndIllegalGames() {
+        assertEquals(SubmissionVerifier.Verdict.SHORTER_THAN_OPTIMUM, verifier.verify(new int[0]));
+        assertEquals(SubmissionVerifier.Verdict.SHORTER_THAN_OPTIMUM,
+                verifier.verify(Arrays.copyOf(solution, solution.length - 1)));
+
+        int[] teleport = solution.clone();
+        Move from = MoveHistory.from(teleport[0]);
+        teleport[0] = MoveHistory.pack(from, Move.of(from.piece(), 0, 6));
+        assertEquals(SubmissionVerifier.Verdict.ILLEGAL_MOVE, verifier.verify(teleport));
+
+        int[] wrongSource = solution.clone();
+        Move to = MoveHistory.to(wrongSource[0]);
+        wrongSource[0] = MoveHistory.pack(Move.of(to.piece(), 5, 5), to);
+        assertEquals(SubmissionVerifier.Verdict.ILLEGAL_MOVE, verifier.verify(wrongSource));
+
+        int[] malformed = solution.clone();
+        malformed[2] = -1;
+        assertEquals(SubmissionVerifier.Verdict.ILLEGAL_MOVE, verifier.verify(malformed));
+
+        assertEquals(SubmissionVerifier.Verdict.ILLEGAL_MOVE, verifier.submit("mallory", teleport));
+        assertEquals(-1, leaderboardManager.rankOf("mallory"));
+    }
+
+    @Test
+    void testRejectsUnsolvedAndOverlongGames() {
+        ChessState state = new ChessState(2, 1, 2, 2, 0);
+        for (int i = 0; i < solution.length - 1; i++) {
+            state.makeMove(MoveHistory.to(solution[i]));
+        }
+        Move[] buffer = new Move[ChessState.MAX_MOVES];
+        int count = state.getLegalMoves(buffer);
+        for (int i = 0; i < count && !state.isSolved() && state.getMoveCount() < solution.length; i++) {
+            if (buffer[i] != MoveHistory.to(solution[solution.length - 1])) {
+                state.makeMove(buffer[i]);
+            }
+        }
+        assertEquals(solution.length, state.getMoveCount());
+        assertFalse(state.isSolved());
+        assertEquals(SubmissionVerifier.Verdict.NOT_SOLVED, verifier.verify(state.getHistory().toArray()));
+
+        int[] overlong = Arrays.copyOf(solution, solution.length + 1);
+        overlong[solution.length] = solution[solution.length - 1];
+        assertEquals(SubmissionVerifier.Verdict.MOVES_AFTER_SOLVED, verifier.verify(overlong));
+    }
+
+    @Test
+    void testSubmitAll() {
+        int[] illegal = solution.clone();
+        illegal[4] = illegal[3];
+        List<SubmissionVerifier.Submission> submissions = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            submissions.add(new SubmissionVerifier.Submission("player" + i, i % 3 == 0 ? illegal : solution));
+        }
+
+        SubmissionVerifier.Verdict[] verdicts = verifier.submitAll(submissions);
+
+        assertEquals(1000, verdicts.length);
+        for (int i = 0; i < verdicts.length; i++) {
+            assertEquals(i % 3 == 0 ? SubmissionVerifier.Verdict.ILLEGAL_MOVE : SubmissionVerifier.Verdict.ACCEPTED,
+                    verdicts[i]);
+        }
+        assertEquals(666, leaderboardManager.size());
+        assertEquals(-1, leaderboardManager.rankOf("player0"));
+        assertNotEquals(-1, leaderboardManager.rankOf("player1"));
+    }
+}
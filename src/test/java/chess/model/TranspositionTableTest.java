@@ -0,0 +1,71 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+    @Test
+    void testCapacityFitsBudget() {
+        assertEquals(1024, new TranspositionTable(1024 * TranspositionTable.ENTRY_BYTES).capacity());
+        assertEquals(512, new TranspositionTable(1000 * TranspositionTable.ENTRY_BYTES).capacity());
+        assertEquals(TranspositionTable.PROBE_LENGTH, new TranspositionTable(0).capacity());
+        assertTrue(TranspositionTable.forBoard(BoardSpec.DEFAULT).capacity() >= 64 * 64);
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(-1));
+    }
+
+    @Test
+    void testPutAndGet() {
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        assertEquals(TranspositionTable.NOT_FOUND, table.get(42));
+        assertEquals(-1, table.getDepth(42));
+        assertFalse(table.contains(42));
+
+        assertTrue(table.put(42, 7, 3));
+        assertTrue(table.put(0, 5, 0));
+        assertEquals(7, table.get(42));
+        assertEquals(3, table.getDepth(42));
+        assertEquals(5, table.get(0));
+        assertEquals(2, table.size());
+
+        assertTrue(table.put(42, 9, 1));
+        assertEquals(9, table.get(42));
+        assertEquals(2, table.size());
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertFalse(table.contains(42));
+        assertThrows(IllegalArgumentException.class, () -> table.put(1, 0, -1));
+    }
+
+    @Test
+    void testReplacesShallowestEntryOfFullWindow() {
+        TranspositionTable table = new TranspositionTable(0);
+        int capacity = table.capacity();
+        // Keys with the same home slot, so they compete for the same window
+        for (int i = 0; i < capacity; i++) {
+            assertTrue(table.put((long) i * capacity, i, 10 + i));
+        }
+        assertEquals(capacity, table.size());
+
+        assertFalse(table.put(100L * capacity, -1, 5));
+        assertFalse(table.contains(100L * capacity));
+
+        assertTrue(table.put(101L * capacity, -2, 10));
+        assertEquals(-2, table.get(101L * capacity));
+        assertFalse(table.contains(0));
+        assertEquals(capacity, table.size());
+    }
+
+    @Test
+    void testStoresEveryPositionOfTheBoard() {
+        TranspositionTable table = TranspositionTable.forBoard(BoardSpec.DEFAULT);
+        for (int king = 0; king < 64; king++) {
+            for (int knight = 0; knight < 64; knight++) {
+                table.put(Zobrist.hash(king / 8, king % 8, knight / 8, knight % 8), king * 64 + knight, 0);
+            }
+        }
+        assertEquals(64 * 64, table.size());
+        assertEquals(3 * 64 + 5, table.get(Zobrist.hash(0, 3, 0, 5)));
+    }
+}
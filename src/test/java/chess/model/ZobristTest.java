@@ -0,0 +1,38 @@
+package chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTest {
+    @Test
+    void testKeysAreDistinct() {
+        Set<Long> keys = new HashSet<>();
+        for (Piece piece : Piece.values()) {
+            for (int x = 0; x < BoardSpec.MAX_SIZE; x++) {
+                for (int y = 0; y < BoardSpec.MAX_SIZE; y++) {
+                    assertTrue(keys.add(Zobrist.key(piece, x, y)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testHashOfEveryPositionIsDistinct() {
+        Set<Long> hashes = new HashSet<>();
+        for (int king = 0; king < 64; king++) {
+            for (int knight = 0; knight < 64; knight++) {
+                assertTrue(hashes.add(Zobrist.hash(king / 8, king % 8, knight / 8, knight % 8)));
+            }
+        }
+    }
+
+    @Test
+    void testHashIsXorOfKeys() {
+        assertEquals(Zobrist.key(Piece.KING, 2, 1) ^ Zobrist.key(Piece.KNIGHT, 2, 2), Zobrist.hash(2, 1, 2, 2));
+        assertNotEquals(Zobrist.hash(2, 2, 2, 1), Zobrist.hash(2, 1, 2, 2));
+    }
+}
@@ -0,0 +1,141 @@
+package chess.server;
+
+import chess.model.LeaderboardManager;
+import chess.model.PersistenceQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+    @TempDir
+    Path tempDir;
+    private LeaderboardManager leaderboardManager;
+    private PersistenceQueue persistenceQueue;
+    private GameServer server;
+    private int port;
+
+    @BeforeEach
+    void setup() throws IOException {
+        LeaderboardManager.FILE_PATH = tempDir.resolve("leaderboard.json").toString();
+        leaderboardManager = new LeaderboardManager();
+        persistenceQueue = new PersistenceQueue();
+        server = new GameServer(leaderboardManager, persistenceQueue);
+        port = server.start(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        persistenceQueue.close();
+    }
+
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final PrintWriter writer;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        String send(String request) throws IOException {
+            writer.println(request);
+            return reader.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    void testProtocol() throws IOException {
+        try (Client client = new Client(port)) {
+            assertEquals("ERR not logged in", client.send("START"));
+            assertEquals("ERR invalid username", client.send("LOGIN"));
+            assertEquals("OK", client.send("LOGIN alice"));
+            assertEquals("ERR no game", client.send("STATE"));
+            assertEquals("STATE 2 1 2 2 0", client.send("START"));
+            assertEquals("ILLEGAL", client.send("MOVE King 3 1"));
+            assertEquals("ERR invalid move Bishop 1 1", client.send("MOVE Bishop 1 1"));
+            assertEquals("OK 1", client.send("MOVE Knight 1 0"));
+            assertEquals("STATE 2 1 2 2 0", client.send("UNDO"));
+            assertEquals("ERR nothing to undo", client.send("UNDO"));
+            assertEquals("ERR unknown command JUMP", client.send("JUMP"));
+            assertEquals("BYE", client.send("QUIT"));
+        }
+        assertEquals(1, server.getSessionCount());
+    }
+
+    @Test
+    void testWinIsRecordedAndSessionSurvivesReconnect() throws IOException {
+        String[] moves = {"Knight 1 0", "Knight 0 2", "King 1 2", "Knight 2 1",
+                "Knight 3 3", "King 2 3", "Knight 1 4", "Knight 0 6"};
+        try (Client client = new Client(port)) {
+            client.send("LOGIN bob");
+            client.send("START");
+            for (int i = 0; i < 4; i++) {
+                assertEquals("OK " + (i + 1), client.send("MOVE " + moves[i]));
+            }
+        }
+        try (Client client = new Client(port)) {
+            client.send("LOGIN bob");
+            assertEquals("STATE 1 2 2 1 4", client.send("STATE"));
+            for (int i = 4; i < 7; i++) {
+                assertEquals("OK " + (i + 1), client.send("MOVE " + moves[i]));
+            }
+            assertEquals("WON 8", client.send("MOVE " + moves[7]));
+            assertEquals("ILLEGAL", client.send("MOVE Knight 1 4"));
+        }
+        assertTrue(persistenceQueue.flush(5000));
+        assertEquals(1, leaderboardManager.rankOf("bob"));
+    }
+
+    @Test
+    void testIdleSessionsAreDiscarded() throws IOException, InterruptedException {
+        try (GameServer server = new GameServer(leaderboardManager, persistenceQueue, Duration.ofMillis(50))) {
+            int port = server.start(0);
+            try (Client connected = new Client(port)) {
+                assertEquals("OK", connected.send("LOGIN alice"));
+                try (Client client = new Client(port)) {
+                    assertEquals("OK", client.send("LOGIN bob"));
+                    assertEquals("STATE 2 1 2 2 0", client.send("START"));
+                }
+                long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while (server.getSessionCount() > 1 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertEquals(1, server.getSessionCount());
+                assertEquals("ERR no game", connected.send("STATE"));
+            }
+        }
+    }
+
+    @Test
+    void testInvalidSessionTimeout() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameServer(leaderboardManager, persistenceQueue, Duration.ZERO));
+    }
+
+    @Test
+    void testStartTwice() {
+        assertEquals(port, server.getPort());
+        assertThrows(IllegalStateException.class, () -> server.start(0));
+    }
+}
@@ -0,0 +1,37 @@
+package chess.server;
+
+import chess.model.LeaderboardManager;
+import chess.model.PersistenceQueue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadGeneratorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRun() throws Exception {
+        LeaderboardManager.FILE_PATH = tempDir.resolve("leaderboard.json").toString();
+        LeaderboardManager leaderboardManager = new LeaderboardManager();
+        try (PersistenceQueue persistenceQueue = new PersistenceQueue();
+             GameServer server = new GameServer(leaderboardManager, persistenceQueue)) {
+            int port = server.start(0);
+
+            LoadGenerator.Report report = new LoadGenerator("localhost", port, 50, 4).run();
+
+            assertEquals(0, report.errors());
+            assertEquals(200, report.games());
+            assertEquals(50 * (2 + 4 * 9), report.requests());
+            assertTrue(report.p99Nanos() >= report.p50Nanos());
+            assertTrue(report.maxNanos() >= report.p99Nanos());
+            assertTrue(report.throughput() > 0);
+            assertTrue(persistenceQueue.flush(5000));
+            assertEquals(50, leaderboardManager.size());
+            assertEquals(50, server.getSessionCount());
+        }
+    }
+}